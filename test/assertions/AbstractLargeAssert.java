@@ -0,0 +1,31 @@
+package com.att.tlv.training.test.assertions;
+
+import org.assertj.core.api.AbstractAssert;
+
+/**
+ * What {@link LargeIterableAssert} and {@link LargeMapAssert} share: failures report only the first differences
+ * found, as printing all of them would be as unreadable as printing the whole collections.
+ */
+public abstract class AbstractLargeAssert<SELF extends AbstractLargeAssert<SELF, ACTUAL>, ACTUAL>
+        extends AbstractAssert<SELF, ACTUAL> {
+
+    static final int DEFAULT_REPORTED_DIFFERENCES = 10;
+
+    private int maxReportedDifferences = DEFAULT_REPORTED_DIFFERENCES;
+
+    protected AbstractLargeAssert(ACTUAL actual, Class<?> selfType) {
+        super(actual, selfType);
+    }
+
+    public SELF withMaxReportedDifferences(int maxReportedDifferences) {
+        if (maxReportedDifferences <= 0) {
+            throw new IllegalArgumentException("Must report at least one difference: " + maxReportedDifferences);
+        }
+        this.maxReportedDifferences = maxReportedDifferences;
+        return myself;
+    }
+
+    int maxReportedDifferences() {
+        return maxReportedDifferences;
+    }
+}
@@ -0,0 +1,298 @@
+package com.att.tlv.training.test.assertions;
+
+import org.assertj.core.groups.Tuple;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Values projected out of a collection, one array per column - {@code int[]}, {@code long[]} and {@code double[]}
+ * for primitive getters, so nothing is boxed, and {@code Object[]} otherwise. Created by {@link Projection}, asserted
+ * on with {@link ColumnSetAssert}.
+ */
+public final class ColumnSet {
+
+    private final Column[] columns;
+    private final int rowCount;
+
+    ColumnSet(Column[] columns, int rowCount) {
+        this.columns = columns;
+        this.rowCount = rowCount;
+    }
+
+    public int rowCount() {
+        return rowCount;
+    }
+
+    public int columnCount() {
+        return columns.length;
+    }
+
+    /**
+     * The values of an {@code int} column - a copy.
+     */
+    public int[] getInts(int column) {
+        return Arrays.copyOf(column(column, IntColumn.class).values, rowCount);
+    }
+
+    public long[] getLongs(int column) {
+        return Arrays.copyOf(column(column, LongColumn.class).values, rowCount);
+    }
+
+    public double[] getDoubles(int column) {
+        return Arrays.copyOf(column(column, DoubleColumn.class).values, rowCount);
+    }
+
+    public Object[] getObjects(int column) {
+        return Arrays.copyOf(column(column, ObjectColumn.class).values, rowCount);
+    }
+
+    public IntStream intStream(int column) {
+        return Arrays.stream(column(column, IntColumn.class).values, 0, rowCount);
+    }
+
+    public LongStream longStream(int column) {
+        return Arrays.stream(column(column, LongColumn.class).values, 0, rowCount);
+    }
+
+    public DoubleStream doubleStream(int column) {
+        return Arrays.stream(column(column, DoubleColumn.class).values, 0, rowCount);
+    }
+
+    public Stream<Object> stream(int column) {
+        return Arrays.stream(column(column, ObjectColumn.class).values, 0, rowCount);
+    }
+
+    /**
+     * A row as a tuple - boxed, for reporting.
+     */
+    public Tuple row(int row) {
+        checkIndex(row, rowCount, "Row");
+        Object[] values = new Object[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            values[i] = columns[i].get(row);
+        }
+        return new Tuple(values);
+    }
+
+    /**
+     * Same as {@code Arrays.asList(row(row).toArray()).hashCode()}, without boxing.
+     */
+    int rowHash(int row) {
+        int hash = 1;
+        for (Column column : columns) {
+            hash = 31 * hash + column.hash(row);
+        }
+        return hash;
+    }
+
+    boolean rowEquals(int row, Object[] values) {
+        if (values.length != columns.length) {
+            return false;
+        }
+        for (int i = 0; i < columns.length; i++) {
+            if (!columns[i].matches(row, values[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Negative, zero or positive as the value of the column in the first row is less than, equal to or greater than
+     * in the second one. Object columns must hold {@code Comparable}s.
+     */
+    int compareRows(int column, int row, int otherRow) {
+        return columns[column].compare(row, otherRow);
+    }
+
+    private <C extends Column> C column(int column, Class<C> type) {
+        checkIndex(column, columns.length, "Column");
+        Column found = columns[column];
+        if (!type.isInstance(found)) {
+            throw new IllegalArgumentException("Column " + column + " is " + found.describe() + ", not "
+                    + type.getSimpleName().replace("Column", "").toLowerCase());
+        }
+        return type.cast(found);
+    }
+
+    private static void checkIndex(int index, int length, String what) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException(what + ": " + index + ", count: " + length);
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder description = new StringBuilder("ColumnSet[" + rowCount + " rows");
+        for (int row = 0; row < Math.min(rowCount, 5); row++) {
+            description.append(", ").append(row(row));
+        }
+        return description.append(rowCount > 5 ? ", ...]" : "]").toString();
+    }
+
+    /**
+     * One column, filled row by row and grown as needed.
+     */
+    abstract static class Column {
+
+        abstract void grow(int capacity);
+
+        abstract Object get(int row);
+
+        abstract int hash(int row);
+
+        abstract boolean matches(int row, Object value);
+
+        abstract int compare(int row, int otherRow);
+
+        abstract String describe();
+    }
+
+    static final class IntColumn extends Column {
+
+        int[] values;
+
+        @Override
+        void grow(int capacity) {
+            values = values == null ? new int[capacity] : Arrays.copyOf(values, capacity);
+        }
+
+        @Override
+        Object get(int row) {
+            return values[row];
+        }
+
+        @Override
+        int hash(int row) {
+            return Integer.hashCode(values[row]);
+        }
+
+        @Override
+        boolean matches(int row, Object value) {
+            return value instanceof Integer && values[row] == (Integer) value;
+        }
+
+        @Override
+        int compare(int row, int otherRow) {
+            return Integer.compare(values[row], values[otherRow]);
+        }
+
+        @Override
+        String describe() {
+            return "int";
+        }
+    }
+
+    static final class LongColumn extends Column {
+
+        long[] values;
+
+        @Override
+        void grow(int capacity) {
+            values = values == null ? new long[capacity] : Arrays.copyOf(values, capacity);
+        }
+
+        @Override
+        Object get(int row) {
+            return values[row];
+        }
+
+        @Override
+        int hash(int row) {
+            return Long.hashCode(values[row]);
+        }
+
+        @Override
+        boolean matches(int row, Object value) {
+            return value instanceof Long && values[row] == (Long) value;
+        }
+
+        @Override
+        int compare(int row, int otherRow) {
+            return Long.compare(values[row], values[otherRow]);
+        }
+
+        @Override
+        String describe() {
+            return "long";
+        }
+    }
+
+    static final class DoubleColumn extends Column {
+
+        double[] values;
+
+        @Override
+        void grow(int capacity) {
+            values = values == null ? new double[capacity] : Arrays.copyOf(values, capacity);
+        }
+
+        @Override
+        Object get(int row) {
+            return values[row];
+        }
+
+        @Override
+        int hash(int row) {
+            return Double.hashCode(values[row]);
+        }
+
+        // Like Double.equals()
+        @Override
+        boolean matches(int row, Object value) {
+            return value instanceof Double
+                    && Double.doubleToLongBits(values[row]) == Double.doubleToLongBits((Double) value);
+        }
+
+        @Override
+        int compare(int row, int otherRow) {
+            return Double.compare(values[row], values[otherRow]);
+        }
+
+        @Override
+        String describe() {
+            return "double";
+        }
+    }
+
+    static final class ObjectColumn extends Column {
+
+        Object[] values;
+
+        @Override
+        void grow(int capacity) {
+            values = values == null ? new Object[capacity] : Arrays.copyOf(values, capacity);
+        }
+
+        @Override
+        Object get(int row) {
+            return values[row];
+        }
+
+        @Override
+        int hash(int row) {
+            return Objects.hashCode(values[row]);
+        }
+
+        @Override
+        boolean matches(int row, Object value) {
+            return Objects.equals(values[row], value);
+        }
+
+        @Override
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        int compare(int row, int otherRow) {
+            return ((Comparable) values[row]).compareTo(values[otherRow]);
+        }
+
+        @Override
+        String describe() {
+            return "object";
+        }
+    }
+}
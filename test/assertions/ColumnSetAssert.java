@@ -0,0 +1,208 @@
+package com.att.tlv.training.test.assertions;
+
+import org.assertj.core.api.AbstractAssert;
+import org.assertj.core.groups.Tuple;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Assertions on the rows of a {@link ColumnSet}, given as AssertJ {@link Tuple}s like those of
+ * {@code extracting(Person::getAge, Person::getName)}. The rows are compared column by column, straight from the
+ * primitive arrays - only the expected tuples and the reported rows are boxed. Order-insensitive checks look the
+ * rows up by hash, so they are linear in the number of rows.
+ * <pre>
+ * assertThatColumns(ageAndName).containsExactlyInAnyOrder(tuple(20, "Carl"), tuple(30, "Jim"))
+ *         .isSortedBy(1);
+ * </pre>
+ */
+public class ColumnSetAssert extends AbstractAssert<ColumnSetAssert, ColumnSet> {
+
+    private static final int MAX_REPORTED_ROWS = 10;
+
+    public ColumnSetAssert(ColumnSet actual) {
+        super(actual, ColumnSetAssert.class);
+    }
+
+    public static ColumnSetAssert assertThatColumns(ColumnSet actual) {
+        return new ColumnSetAssert(actual);
+    }
+
+    public ColumnSetAssert hasRowCount(int expected) {
+        isNotNull();
+        if (actual.rowCount() != expected) {
+            failWithMessage("%nExpecting %d rows but was %d", expected, actual.rowCount());
+        }
+        return myself;
+    }
+
+    public ColumnSetAssert contains(Tuple... rows) {
+        Matches matches = match(rows);
+        return check(matches.missing(), "missing", "to contain", rows);
+    }
+
+    public ColumnSetAssert doesNotContain(Tuple... rows) {
+        Matches matches = match(rows);
+        List<Tuple> found = new ArrayList<>();
+        matches.counts.forEach((row, count) -> {
+            if (count[0] > 0) {
+                found.add(row);
+            }
+        });
+        return check(found, "found", "not to contain", rows);
+    }
+
+    /**
+     * The given rows and nothing else, regardless of duplicates.
+     */
+    public ColumnSetAssert containsOnly(Tuple... rows) {
+        Matches matches = match(rows);
+        if (matches.unexpectedCount == 0) {
+            return check(matches.missing(), "missing", "to contain only", rows);
+        }
+        return check(matches.unexpected, matches.unexpectedCount, "unexpected", "to contain only", rows);
+    }
+
+    /**
+     * The given rows, as many times each, in any order.
+     */
+    public ColumnSetAssert containsExactlyInAnyOrder(Tuple... rows) {
+        Matches matches = match(rows);
+        if (matches.unexpectedCount > 0) {
+            return check(matches.unexpected, matches.unexpectedCount, "unexpected", "to contain exactly in any order",
+                    rows);
+        }
+        List<Tuple> wrongCounts = new ArrayList<>();
+        matches.counts.forEach((row, count) -> {
+            if (count[0] != count[1]) {
+                wrongCounts.add(row);
+            }
+        });
+        return check(wrongCounts, "found a different number of times", "to contain exactly in any order", rows);
+    }
+
+    public ColumnSetAssert containsExactly(Tuple... rows) {
+        isNotNull();
+        hasRowCount(rows.length);
+        for (int row = 0; row < rows.length; row++) {
+            if (!actual.rowEquals(row, rows[row].toArray())) {
+                failWithMessage("%nExpecting row %d to be%n  <%s>%nbut was%n  <%s>", row, rows[row], actual.row(row));
+            }
+        }
+        return myself;
+    }
+
+    /**
+     * Sorted in ascending order by the given columns - by the first one, then by the second one for equal values in
+     * the first one, and so on. Object columns must hold {@code Comparable}s.
+     */
+    public ColumnSetAssert isSortedBy(int... columns) {
+        isNotNull();
+        if (columns.length == 0) {
+            throw new IllegalArgumentException("No columns to sort by");
+        }
+        for (int column : columns) {
+            if (column < 0 || column >= actual.columnCount()) {
+                throw new IndexOutOfBoundsException("Column: " + column + ", count: " + actual.columnCount());
+            }
+        }
+        for (int row = 1; row < actual.rowCount(); row++) {
+            if (compareRows(columns, row - 1, row) > 0) {
+                failWithMessage("%nExpecting rows sorted by columns %s, but row %d%n  <%s>%nis before row %d%n  <%s>",
+                        Arrays.toString(columns), row - 1, actual.row(row - 1), row, actual.row(row));
+            }
+        }
+        return myself;
+    }
+
+    private int compareRows(int[] columns, int row, int otherRow) {
+        for (int column : columns) {
+            int comparison = actual.compareRows(column, row, otherRow);
+            if (comparison != 0) {
+                return comparison;
+            }
+        }
+        return 0;
+    }
+
+    private ColumnSetAssert check(List<Tuple> differences, String kind, String expectation, Tuple[] rows) {
+        return check(differences, differences.size(), kind, expectation, rows);
+    }
+
+    private ColumnSetAssert check(List<Tuple> differences, long total, String kind, String expectation,
+            Tuple[] rows) {
+        if (total > 0) {
+            List<Tuple> reported = differences.subList(0, Math.min(differences.size(), MAX_REPORTED_ROWS));
+            failWithMessage("%nExpecting the %d rows%n%s the %d given rows, but %s:%n  <%s>%s", actual.rowCount(),
+                    expectation, rows.length, kind, reported,
+                    total > reported.size() ? String.format("%nand %d more", total - reported.size()) : "");
+        }
+        return myself;
+    }
+
+    /**
+     * Counts how many times each distinct expected row is in the column set, collecting the rows that are not
+     * expected.
+     */
+    private Matches match(Tuple[] rows) {
+        isNotNull();
+        Matches matches = new Matches();
+        for (Tuple row : rows) {
+            matches.counts.computeIfAbsent(row, key -> new long[2])[1]++;
+        }
+        // The distinct expected rows, sorted by hash so a row's candidates are found by binary search
+        Tuple[] expected = matches.counts.keySet().toArray(new Tuple[0]);
+        Arrays.sort(expected, Comparator.comparingInt(ColumnSetAssert::rowHash));
+        int[] hashes = Arrays.stream(expected).mapToInt(ColumnSetAssert::rowHash).toArray();
+        Object[][] values = Arrays.stream(expected).map(Tuple::toArray).toArray(Object[][]::new);
+        long[][] counts = Arrays.stream(expected).map(matches.counts::get).toArray(long[][]::new);
+        for (int row = 0; row < actual.rowCount(); row++) {
+            int hash = actual.rowHash(row);
+            int candidate = Arrays.binarySearch(hashes, hash);
+            if (candidate >= 0) {
+                while (candidate > 0 && hashes[candidate - 1] == hash) {
+                    candidate--;
+                }
+                while (candidate < hashes.length && hashes[candidate] == hash
+                        && !actual.rowEquals(row, values[candidate])) {
+                    candidate++;
+                }
+            }
+            if (candidate >= 0 && candidate < hashes.length && hashes[candidate] == hash) {
+                counts[candidate][0]++;
+            }
+            else if (matches.unexpectedCount++ < MAX_REPORTED_ROWS) {
+                matches.unexpected.add(actual.row(row));
+            }
+        }
+        return matches;
+    }
+
+    // Same as ColumnSet.rowHash() - not Tuple.hashCode(), which differs
+    private static int rowHash(Tuple row) {
+        return Arrays.hashCode(row.toArray());
+    }
+
+    private static class Matches {
+
+        // Expected row -> { times found, times expected }, in the given order
+        private final Map<Tuple, long[]> counts = new LinkedHashMap<>();
+        // Only the reported ones are boxed
+        private final List<Tuple> unexpected = new ArrayList<>();
+        private long unexpectedCount;
+
+        List<Tuple> missing() {
+            List<Tuple> missing = new ArrayList<>();
+            counts.forEach((row, count) -> {
+                if (count[0] == 0) {
+                    missing.add(row);
+                }
+            });
+            return missing;
+        }
+    }
+}
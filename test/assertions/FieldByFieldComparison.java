@@ -0,0 +1,112 @@
+package com.att.tlv.training.test.assertions;
+
+import com.att.tlv.training.test.data.Person;
+import com.att.tlv.training.test.data.Point;
+import org.assertj.core.internal.FieldByFieldComparator;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+
+import static com.att.tlv.training.test.assertions.FieldComparators.fieldByField;
+import static com.att.tlv.training.test.assertions.FieldComparators.fieldsEqual;
+import static com.google.common.collect.Lists.newArrayList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class FieldByFieldComparison {
+
+    @Test
+    public void dropInForFieldByFieldAssertions() {
+        Point oneTwo = new Point(1, 2);
+        Point oneThree = new Point(1, 3);
+        Iterable<Point> points = newArrayList(oneTwo, oneThree);
+
+        // Instead of usingFieldByFieldElementComparator()
+        assertThat(points).usingElementComparator(fieldByField())
+                .contains(new Point(1, 2))
+                .doesNotContain(new Point(2, 1));
+        // Instead of isEqualToComparingFieldByField()
+        assertThat(oneTwo).usingComparator(fieldByField())
+                .isEqualTo(new Point(1, 2))
+                .isNotEqualTo(oneThree);
+        assertThatThrownBy(() -> assertThat(oneTwo).usingComparator(fieldByField()).isEqualTo(oneThree))
+                .isInstanceOf(AssertionError.class);
+    }
+
+    @Test
+    public void sameResultsAsAssertJ() {
+        Comparator<Object> assertJ = new FieldByFieldComparator();
+        List<Object> objects = newArrayList(
+                new Person(444, "Jim", 30, 1.85d), new Person(444, "Jim", 30, 1.85d), new Person(444, "Jim", 31, 1.85d),
+                new Person(444, "Jim", 30, 1.86d), new Person(444, "Tim", 30, 1.85d), new Person(444, null, 30, 1.85d),
+                new Person(444, null, 30, 1.85d), new Point(1, 2), new Point(1, 2), new Point(2, 1));
+
+        for (Object actual : objects) {
+            for (Object other : objects) {
+                assertThat(fieldsEqual(actual, other)).as("%s vs %s", actual, other)
+                        .isEqualTo(assertJ.compare(actual, other) == 0);
+            }
+        }
+    }
+
+    @Test
+    public void inheritedFieldsAndArrays() {
+        assertThat(fieldsEqual(new Labeled(1, 2, "a", new int[] { 1 }), new Labeled(1, 2, "a", new int[] { 1 })))
+                .isTrue();
+        assertThat(fieldsEqual(new Labeled(1, 2, "a", new int[] { 1 }), new Labeled(1, 2, "a", new int[] { 2 })))
+                .isFalse();
+        assertThat(fieldsEqual(new Labeled(1, 2, "a", null), new Labeled(1, 3, "a", null))).isFalse();
+        // Same fields, different classes
+        assertThat(fieldsEqual(new Point(1, 2), new Labeled(1, 2, null, null))).isFalse();
+        assertThat(fieldsEqual(null, null)).isTrue();
+        assertThat(fieldsEqual(new Point(1, 2), null)).isFalse();
+    }
+
+    @Test
+    public void floatingPointLikeTheBoxes() {
+        assertThat(fieldsEqual(new Measure(Double.NaN), new Measure(Double.NaN))).isTrue();
+        assertThat(fieldsEqual(new Measure(0.0d), new Measure(-0.0d))).isFalse();
+    }
+
+    @Test
+    public void jdkClassesAndArraysWithEquals() {
+        // Their fields hold caches (String.hash, BigDecimal.stringCache) and aren't open to reflection since JDK 16
+        String hashed = new String("abc");
+        hashed.hashCode();
+        assertThat(fieldsEqual(hashed, new String("abc"))).isTrue();
+        BigDecimal printed = new BigDecimal("1.0");
+        printed.toString();
+        assertThat(fieldsEqual(printed, new BigDecimal("1.0"))).isTrue();
+        assertThat(fieldsEqual(new BigDecimal("1.0"), new BigDecimal("1.00"))).isFalse();
+        assertThat(fieldsEqual(LocalDate.of(2019, 1, 1), LocalDate.of(2019, 1, 1))).isTrue();
+        assertThat(fieldsEqual(LocalDate.of(2019, 1, 1), LocalDate.of(2019, 1, 2))).isFalse();
+        assertThat(fieldsEqual(new int[] { 1, 2 }, new int[] { 1, 2 })).isTrue();
+        assertThat(fieldsEqual(new int[] { 1, 2 }, new int[] { 2, 1 })).isFalse();
+        assertThat(newArrayList(LocalDate.of(2019, 1, 1))).usingElementComparator(fieldByField())
+                .contains(LocalDate.of(2019, 1, 1));
+    }
+
+    private static class Labeled extends Point {
+
+        private final String label;
+        private final int[] values;
+
+        Labeled(int x, int y, String label, int[] values) {
+            super(x, y);
+            this.label = label;
+            this.values = values;
+        }
+    }
+
+    private static class Measure {
+
+        private final double value;
+
+        Measure(double value) {
+            this.value = value;
+        }
+    }
+}
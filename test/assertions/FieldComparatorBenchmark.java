@@ -0,0 +1,58 @@
+package com.att.tlv.training.test.assertions;
+
+import com.att.tlv.training.test.data.Person;
+import com.att.tlv.training.test.data.Point;
+import org.assertj.core.internal.FieldByFieldComparator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Comparing two equal objects field by field, with AssertJ's reflective comparator against
+ * {@link FieldComparators#fieldByField()}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FieldComparatorBenchmark {
+
+    private final Comparator<Object> reflective = new FieldByFieldComparator();
+    private final Comparator<Object> methodHandles = FieldComparators.fieldByField();
+
+    private final Point point = new Point(1, 2);
+    private final Point samePoint = new Point(1, 2);
+    private final Person person = new Person(444, "Jim", 30, 1.85d);
+    private final Person samePerson = new Person(444, "Jim", 30, 1.85d);
+
+    @Benchmark
+    public int pointsReflective() {
+        return reflective.compare(point, samePoint);
+    }
+
+    @Benchmark
+    public int pointsMethodHandles() {
+        return methodHandles.compare(point, samePoint);
+    }
+
+    @Benchmark
+    public int personsReflective() {
+        return reflective.compare(person, samePerson);
+    }
+
+    @Benchmark
+    public int personsMethodHandles() {
+        return methodHandles.compare(person, samePerson);
+    }
+}
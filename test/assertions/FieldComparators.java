@@ -0,0 +1,172 @@
+package com.att.tlv.training.test.assertions;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Field by field comparison, like AssertJ's {@code usingFieldByFieldElementComparator()} and
+ * {@code isEqualToComparingFieldByField()}, with the fields read through method handles built once per class rather
+ * than looked up and read reflectively on every comparison:
+ * <pre>
+ * assertThat(points).usingElementComparator(fieldByField()).contains(oneTwoClone);
+ * assertThat(intPair).usingComparator(fieldByField()).isEqualTo(new IntPair(x, y));
+ * </pre>
+ * All the instance fields are compared, inherited ones included: primitives by value, as their boxes'
+ * {@code equals()} would, and references with {@link Objects#deepEquals}, so arrays by content. Objects of different
+ * classes are never equal. Like AssertJ's, the comparator only tells equal objects apart - it is not an ordering.
+ * <p>
+ * Arrays, JDK classes ({@code String}, {@code BigDecimal}, {@code LocalDate}...) and classes whose fields can't be made
+ * accessible are compared with {@link Objects#deepEquals} instead: the JDK's fields hold caches such as
+ * {@code String.hash} that differ between equal objects, and since JDK 16 the modules don't open them to reflection.
+ */
+public final class FieldComparators {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodHandle ALWAYS_EQUAL = MethodHandles.dropArguments(
+            MethodHandles.constant(boolean.class, true), 0, Object.class, Object.class);
+    private static final MethodHandle NEVER_EQUAL = MethodHandles.dropArguments(
+            MethodHandles.constant(boolean.class, false), 0, Object.class, Object.class);
+    private static final MethodHandle DEEP_EQUAL = equal(Object.class);
+
+    // (Object, Object) -> boolean per class, the fields compared one after the other
+    private static final ClassValue<MethodHandle> EQUALITIES = new ClassValue<MethodHandle>() {
+        @Override
+        protected MethodHandle computeValue(Class<?> type) {
+            return equality(type);
+        }
+    };
+
+    private static final Comparator<Object> FIELD_BY_FIELD = FieldComparators::compare;
+
+    private FieldComparators() {
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> Comparator<T> fieldByField() {
+        return (Comparator<T>) FIELD_BY_FIELD;
+    }
+
+    /**
+     * Whether the objects are of the same class and have equal fields.
+     */
+    public static boolean fieldsEqual(Object actual, Object other) {
+        if (actual == other) {
+            return true;
+        }
+        if (actual == null || other == null || actual.getClass() != other.getClass()) {
+            return false;
+        }
+        try {
+            return (boolean) EQUALITIES.get(actual.getClass()).invokeExact(actual, other);
+        }
+        catch (RuntimeException | Error e) {
+            throw e;
+        }
+        catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+
+    private static int compare(Object actual, Object other) {
+        return fieldsEqual(actual, other) ? 0 : 1;
+    }
+
+    private static MethodHandle equality(Class<?> type) {
+        if (type.isArray() || type.getName().startsWith("java.") || type.getName().startsWith("javax.")) {
+            return DEEP_EQUAL;
+        }
+        List<Field> fields = new ArrayList<>();
+        for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers())) {
+                    fields.add(field);
+                }
+            }
+        }
+        // Built from the last field back, so the first field is compared first: first && (second && (... && true))
+        MethodHandle equality = ALWAYS_EQUAL;
+        for (int i = fields.size() - 1; i >= 0; i--) {
+            MethodHandle getter = getter(fields.get(i));
+            if (getter == null) {
+                return DEEP_EQUAL;
+            }
+            MethodHandle fieldEquality = MethodHandles.filterArguments(equal(getter.type().returnType()), 0, getter, getter);
+            equality = MethodHandles.guardWithTest(fieldEquality, equality, NEVER_EQUAL);
+        }
+        return equality;
+    }
+
+    /**
+     * Object -> the field's value, as its primitive type or as Object, or null when the field can't be made accessible
+     * (InaccessibleObjectException since JDK 9, or a SecurityException).
+     */
+    private static MethodHandle getter(Field field) {
+        Class<?> fieldType = field.getType();
+        try {
+            field.setAccessible(true);
+            return LOOKUP.unreflectGetter(field)
+                    .asType(MethodType.methodType(fieldType.isPrimitive() ? fieldType : Object.class, Object.class));
+        }
+        catch (IllegalAccessException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * (type, type) -> boolean, one of the equal() methods below.
+     */
+    private static MethodHandle equal(Class<?> type) {
+        try {
+            return LOOKUP.findStatic(FieldComparators.class, "equal", MethodType.methodType(boolean.class, type, type));
+        }
+        catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("No equal() for " + type, e);
+        }
+    }
+
+    // One per field type, found by findStatic()
+
+    private static boolean equal(int a, int b) {
+        return a == b;
+    }
+
+    private static boolean equal(long a, long b) {
+        return a == b;
+    }
+
+    private static boolean equal(short a, short b) {
+        return a == b;
+    }
+
+    private static boolean equal(byte a, byte b) {
+        return a == b;
+    }
+
+    private static boolean equal(char a, char b) {
+        return a == b;
+    }
+
+    private static boolean equal(boolean a, boolean b) {
+        return a == b;
+    }
+
+    // Like Double.equals(): NaN equals NaN, 0.0 doesn't equal -0.0
+    private static boolean equal(double a, double b) {
+        return Double.doubleToLongBits(a) == Double.doubleToLongBits(b);
+    }
+
+    private static boolean equal(float a, float b) {
+        return Float.floatToIntBits(a) == Float.floatToIntBits(b);
+    }
+
+    private static boolean equal(Object a, Object b) {
+        return Objects.deepEquals(a, b);
+    }
+}
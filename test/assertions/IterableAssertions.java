@@ -118,6 +118,11 @@ public class IterableAssertions {
 
         assertThat(people).extracting(Person::getAge, Person::getName)
                 .containsExactlyInAnyOrder(tuple(20, "Carl"), tuple(30, "Jim"));
+
+        // The same without boxing the ages or creating a Tuple per person - see ProjectionAssertions
+        assertThat(Projection.ints(people, Person::getAge)).containsOnly(20, 30);
+        ColumnSetAssert.assertThatColumns(Projection.of(people).ints(Person::getAge).objects(Person::getName).project())
+                .containsExactlyInAnyOrder(tuple(20, "Carl"), tuple(30, "Jim"));
     }
 
     @Test
@@ -132,6 +137,9 @@ public class IterableAssertions {
         // But if we specify a field by field comparator:
         assertThat(points).usingFieldByFieldElementComparator()
                 .contains(oneTwoClone);
+        // The same, without reading the fields reflectively on every comparison
+        assertThat(points).usingElementComparator(FieldComparators.fieldByField())
+                .contains(oneTwoClone);
 
     }
 
@@ -0,0 +1,212 @@
+package com.att.tlv.training.test.assertions;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Order-insensitive assertions on iterables of millions of elements.
+ * <p>
+ * AssertJ's {@code containsExactlyInAnyOrder()}, {@code containsOnly()}, {@code doesNotHaveDuplicates()} and
+ * {@code isSubsetOf()} look every element up in the other iterable, which is quadratic. These count the elements of
+ * both sides in hash-based multisets instead, in parallel for large collections, and report only the first
+ * differences rather than both iterables.
+ * <p>
+ * Elements are compared with {@code equals()} and {@code hashCode()}. Instead of
+ * {@code usingElementComparator(comparingInt(Person::getAge))}, compare by a key:
+ * <pre>
+ * assertThatLarge(people).usingKey(Person::getAge).containsOnly(alice);
+ * </pre>
+ */
+public class LargeIterableAssert<T> extends AbstractLargeAssert<LargeIterableAssert<T>, Iterable<? extends T>> {
+
+    // Below this size, splitting the counting across threads costs more than it saves
+    static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    private Function<? super T, ?> key = Function.identity();
+    private String keyDescription = "";
+
+    public LargeIterableAssert(Iterable<? extends T> actual) {
+        super(actual, LargeIterableAssert.class);
+    }
+
+    public static <T> LargeIterableAssert<T> assertThatLarge(Iterable<? extends T> actual) {
+        return new LargeIterableAssert<>(actual);
+    }
+
+    /**
+     * Compares the elements by a key instead of by themselves - the key must implement {@code equals()} and
+     * {@code hashCode()}.
+     */
+    public LargeIterableAssert<T> usingKey(Function<? super T, ?> key) {
+        this.key = Objects.requireNonNull(key);
+        this.keyDescription = " (compared by key)";
+        return myself;
+    }
+
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    public final LargeIterableAssert<T> containsExactlyInAnyOrder(T... values) {
+        return containsExactlyInAnyOrderElementsOf(Arrays.asList(values));
+    }
+
+    /**
+     * Same elements as the given ones, as many times each, in any order.
+     */
+    public LargeIterableAssert<T> containsExactlyInAnyOrderElementsOf(Iterable<? extends T> values) {
+        isNotNull();
+        Map<Object, Count> actualCounts = count(actual);
+        Map<Object, Count> expectedCounts = count(values);
+        Differences differences = new Differences();
+        actualCounts.forEach((key, actualCount) -> {
+            Count expectedCount = expectedCounts.get(key);
+            long expected = expectedCount == null ? 0 : expectedCount.count;
+            if (actualCount.count > expected) {
+                differences.add("unexpected", actualCount.count - expected, actualCount.element);
+            }
+        });
+        expectedCounts.forEach((key, expectedCount) -> {
+            Count actualCount = actualCounts.get(key);
+            long actual = actualCount == null ? 0 : actualCount.count;
+            if (expectedCount.count > actual) {
+                differences.add("missing", expectedCount.count - actual, expectedCount.element);
+            }
+        });
+        return check(differences, "to contain exactly in any order " + describe(values, "given elements"));
+    }
+
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    public final LargeIterableAssert<T> containsOnly(T... values) {
+        return containsOnlyElementsOf(Arrays.asList(values));
+    }
+
+    /**
+     * All the given elements and nothing else, regardless of duplicates.
+     */
+    public LargeIterableAssert<T> containsOnlyElementsOf(Iterable<? extends T> values) {
+        isNotNull();
+        Map<Object, Count> actualCounts = count(actual);
+        Map<Object, Count> expectedCounts = count(values);
+        Differences differences = new Differences();
+        actualCounts.forEach((key, actualCount) -> {
+            if (!expectedCounts.containsKey(key)) {
+                differences.add("unexpected", actualCount.count, actualCount.element);
+            }
+        });
+        expectedCounts.forEach((key, expectedCount) -> {
+            if (!actualCounts.containsKey(key)) {
+                differences.add("missing", 1, expectedCount.element);
+            }
+        });
+        return check(differences, "to contain only " + describe(values, "given elements"));
+    }
+
+    public LargeIterableAssert<T> doesNotHaveDuplicates() {
+        isNotNull();
+        Differences differences = new Differences();
+        count(actual).forEach((key, count) -> {
+            if (count.count > 1) {
+                differences.add("duplicated", count.count, count.element);
+            }
+        });
+        return check(differences, "not to have duplicates");
+    }
+
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    public final LargeIterableAssert<T> isSubsetOf(T... values) {
+        return isSubsetOf(Arrays.asList(values));
+    }
+
+    public LargeIterableAssert<T> isSubsetOf(Iterable<? extends T> values) {
+        isNotNull();
+        Map<Object, Count> expectedCounts = count(values);
+        Differences differences = new Differences();
+        count(actual).forEach((key, actualCount) -> {
+            if (!expectedCounts.containsKey(key)) {
+                differences.add("unexpected", actualCount.count, actualCount.element);
+            }
+        });
+        return check(differences, "to be a subset of " + describe(values, "given elements"));
+    }
+
+    private LargeIterableAssert<T> check(Differences differences, String expectation) {
+        if (differences.total > 0) {
+            failWithMessage("%nExpecting %s%s%n%s,%nbut found %d difference(s)%s:%n%s", describe(actual, "elements"),
+                    keyDescription, expectation, differences.total,
+                    differences.total > differences.reported.size() ? ", the first " + differences.reported.size() : "",
+                    String.join(String.format("%n"), differences.reported));
+        }
+        return myself;
+    }
+
+    /**
+     * Counts the elements by key, in encounter order of the keys, keeping the first element of each key to report.
+     */
+    @SuppressWarnings("unchecked")
+    private Map<Object, Count> count(Iterable<? extends T> elements) {
+        Objects.requireNonNull(elements, "The given iterable must not be null");
+        Stream<? extends T> stream;
+        if (elements instanceof Collection && ((Collection<?>) elements).size() >= PARALLEL_THRESHOLD) {
+            stream = ((Collection<? extends T>) elements).parallelStream();
+        }
+        else {
+            stream = StreamSupport.stream(elements.spliterator(), false);
+        }
+        // Each thread counts its part of the elements in its own map, and the maps are merged in encounter order
+        return stream.collect(LinkedHashMap::new, this::add, LargeIterableAssert::merge);
+    }
+
+    private void add(Map<Object, Count> counts, T element) {
+        Object elementKey = key.apply(element);
+        Count count = counts.get(elementKey);
+        if (count == null) {
+            counts.put(elementKey, new Count(element));
+        }
+        else {
+            count.count++;
+        }
+    }
+
+    private static void merge(Map<Object, Count> counts, Map<Object, Count> more) {
+        more.forEach((key, count) -> counts.merge(key, count, (left, right) -> {
+            left.count += right.count;
+            return left;
+        }));
+    }
+
+    private static String describe(Iterable<?> elements, String what) {
+        return elements instanceof Collection ? "the " + ((Collection<?>) elements).size() + " " + what : "the " + what;
+    }
+
+    private static class Count {
+
+        private final Object element;
+        private long count = 1;
+
+        Count(Object element) {
+            this.element = element;
+        }
+    }
+
+    private class Differences {
+
+        private final List<String> reported = new ArrayList<>();
+        private long total;
+
+        void add(String kind, long times, Object element) {
+            total++;
+            if (reported.size() < maxReportedDifferences()) {
+                reported.add(String.format("  %s %d x <%s>", kind, times, element));
+            }
+        }
+    }
+}
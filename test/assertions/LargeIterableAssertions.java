@@ -0,0 +1,79 @@
+package com.att.tlv.training.test.assertions;
+
+import com.att.tlv.training.test.data.Person;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.att.tlv.training.test.assertions.LargeIterableAssert.assertThatLarge;
+import static com.google.common.collect.Lists.newArrayList;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class LargeIterableAssertions {
+
+    private static final int MILLION = 1_000_000;
+
+    @Test
+    public void millionsOfElementsInAnyOrder() {
+        List<Integer> numbers = IntStream.range(0, MILLION).boxed().collect(Collectors.toList());
+        List<Integer> shuffled = new ArrayList<>(numbers);
+        Collections.shuffle(shuffled, new Random(42));
+
+        // Each of these is quadratic with AssertJ's IterableAssert
+        assertThatLarge(numbers).containsExactlyInAnyOrderElementsOf(shuffled)
+                .containsOnlyElementsOf(shuffled)
+                .doesNotHaveDuplicates()
+                .isSubsetOf(shuffled);
+    }
+
+    @Test
+    public void duplicatesCount() {
+        Iterable<String> animals = newArrayList("dog", "cat", "pig", "pig");
+
+        assertThatLarge(animals).containsExactlyInAnyOrder("pig", "cat", "pig", "dog")
+                .containsOnly("cat", "dog", "pig")
+                .isSubsetOf("cat", "dog", "pig", "tiger");
+
+        assertThatThrownBy(() -> assertThatLarge(animals).containsExactlyInAnyOrder("pig", "cat", "dog"))
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("unexpected 1 x <pig>");
+        assertThatThrownBy(() -> assertThatLarge(animals).doesNotHaveDuplicates())
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("duplicated 2 x <pig>");
+    }
+
+    @Test
+    public void onlyTheFirstDifferencesAreReported() {
+        List<Integer> numbers = IntStream.range(0, MILLION).boxed().collect(Collectors.toList());
+        List<Integer> shifted = IntStream.range(1_000, MILLION + 1_000).boxed().collect(Collectors.toList());
+
+        assertThatThrownBy(() -> assertThatLarge(numbers).withMaxReportedDifferences(3).containsOnlyElementsOf(shifted))
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("found 2000 difference(s), the first 3:")
+                // In encounter order
+                .hasMessageEndingWith(String.format("  unexpected 1 x <0>%n  unexpected 1 x <1>%n  unexpected 1 x <2>"));
+    }
+
+    @Test
+    public void comparingByKey() {
+        Person jim = new Person(444, "Jim", 30, 1.85d);
+        Person carl = new Person(666, "Carl", 20, 1.95d);
+        Person alice = new Person(555, "Alice", 30, 1.65d);
+        Person bob = new Person(777, "Bob", 20, 1.75d);
+        Iterable<Person> people = newArrayList(jim, carl);
+
+        // Instead of usingElementComparator(comparingInt(Person::getAge))
+        assertThatLarge(people).usingKey(Person::getAge)
+                .containsExactlyInAnyOrder(bob, alice)
+                .isSubsetOf(alice, bob);
+        assertThatThrownBy(() -> assertThatLarge(people).usingKey(Person::getAge).containsOnly(alice))
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("compared by key")
+                .hasMessageContaining("unexpected 1 x <" + carl + ">");
+    }
+}
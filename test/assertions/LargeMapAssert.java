@@ -0,0 +1,57 @@
+package com.att.tlv.training.test.assertions;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiPredicate;
+
+/**
+ * Entry assertions on maps of tens of millions of entries, comparing them shard by shard in parallel without copying
+ * either map - see {@link MapDiff}. Failures describe the first few missing, extra and mismatched entries instead of
+ * printing both maps.
+ */
+public class LargeMapAssert<K, V> extends AbstractLargeAssert<LargeMapAssert<K, V>, Map<K, V>> {
+
+    private BiPredicate<? super V, ? super V> valueEquality = Objects::equals;
+
+    public LargeMapAssert(Map<K, V> actual) {
+        super(actual, LargeMapAssert.class);
+    }
+
+    public static <K, V> LargeMapAssert<K, V> assertThatLarge(Map<K, V> actual) {
+        return new LargeMapAssert<>(actual);
+    }
+
+    /**
+     * Compares the values with the given equality instead of {@code equals()}.
+     */
+    public LargeMapAssert<K, V> usingValueEquality(BiPredicate<? super V, ? super V> valueEquality) {
+        this.valueEquality = Objects.requireNonNull(valueEquality);
+        return myself;
+    }
+
+    /**
+     * All the given entries, and possibly others.
+     */
+    public LargeMapAssert<K, V> containsAllEntriesOf(Map<? extends K, ? extends V> other) {
+        isNotNull();
+        return check(MapDiff.entriesNotIn(actual, other, valueEquality, maxReportedDifferences()),
+                "to contain all the entries of");
+    }
+
+    /**
+     * All the given entries and nothing else.
+     */
+    public LargeMapAssert<K, V> containsOnlyEntriesOf(Map<? extends K, ? extends V> other) {
+        isNotNull();
+        return check(MapDiff.between(actual, other, valueEquality, maxReportedDifferences()),
+                "to contain only the entries of");
+    }
+
+    private LargeMapAssert<K, V> check(MapDiff<K, V> diff, String expectation) {
+        if (!diff.isEmpty()) {
+            failWithMessage("%nExpecting the map of %d entries%n%s the given map, but found:%n%s", actual.size(),
+                    expectation, diff);
+        }
+        return myself;
+    }
+}
@@ -0,0 +1,87 @@
+package com.att.tlv.training.test.assertions;
+
+import com.att.tlv.training.test.data.Person;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.LongStream;
+
+import static com.att.tlv.training.test.assertions.LargeMapAssert.assertThatLarge;
+import static java.util.stream.Collectors.toMap;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+
+public class LargeMapAssertions {
+
+    private static final int MILLION = 1_000_000;
+
+    @Test
+    public void millionsOfEntries() {
+        Map<Long, Person> persons = persons(MILLION);
+        Map<Long, Person> snapshot = new HashMap<>(persons);
+        Map<Long, Person> someOfThem = persons(MILLION / 2);
+
+        assertThatLarge(persons).containsOnlyEntriesOf(snapshot)
+                .containsAllEntriesOf(someOfThem);
+        assertThatThrownBy(() -> assertThatLarge(someOfThem).containsAllEntriesOf(persons))
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("500000 missing entries, the first 10:");
+    }
+
+    @Test
+    public void structuredDiff() {
+        Map<Long, Person> persons = persons(MILLION);
+        Map<Long, Person> snapshot = new HashMap<>(persons);
+        Person jim = new Person(-1, "Jim", 30, 1.85d);
+        Person alice = new Person(7, "Alice", 30, 1.65d);
+        snapshot.remove(5L);
+        snapshot.put(jim.getId(), jim);
+        snapshot.put(alice.getId(), alice);
+
+        MapDiff<Long, Person> diff = MapDiff.between(persons, snapshot, LargeMapAssertions::sameFields, 10);
+
+        assertThat(diff.isEmpty()).isFalse();
+        assertThat(diff.getMissing()).containsExactly(entry(-1L, jim));
+        assertThat(diff.getExtra()).containsExactly(entry(5L, persons.get(5L)));
+        // Person.equals() compares only the ids
+        assertThat(MapDiff.between(persons, snapshot, 10).getMismatchedCount()).isZero();
+        assertThat(diff.getMismatched()).hasSize(1);
+        assertThat(diff.getMismatched().get(0).getKey()).isEqualTo(7L);
+        assertThat(diff.getMismatched().get(0).getExpected()).isEqualTo(alice);
+        assertThat(diff.getMismatched().get(0).getActual()).isEqualTo(persons.get(7L));
+
+        assertThat(MapDiff.entriesNotIn(persons, snapshot, 10).getExtraCount()).isZero();
+        assertThat(MapDiff.between(persons, persons(MILLION), LargeMapAssertions::sameFields, 10).isEmpty()).isTrue();
+    }
+
+    @Test
+    public void onlyTheFirstDifferencesAreKept() {
+        Map<Long, Person> persons = persons(MILLION);
+        Map<Long, Person> older = new HashMap<>(persons);
+        older.replaceAll((id, person) -> new Person(id, person.getName(), person.getAge() + 1, person.getHeight()));
+
+        MapDiff<Long, Person> diff = MapDiff.between(persons, older, LargeMapAssertions::sameFields, 3);
+
+        assertThat(diff.getMismatchedCount()).isEqualTo(MILLION);
+        assertThat(diff.getMismatched()).hasSize(3);
+        assertThatThrownBy(() -> assertThatLarge(persons).usingValueEquality(LargeMapAssertions::sameFields)
+                .withMaxReportedDifferences(3)
+                .containsOnlyEntriesOf(older))
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("1000000 mismatched entries, the first 3:");
+    }
+
+    private static boolean sameFields(Person person, Person other) {
+        return person.getId() == other.getId() && person.getName().equals(other.getName())
+                && person.getAge() == other.getAge() && person.getHeight() == other.getHeight();
+    }
+
+    private static Map<Long, Person> persons(int count) {
+        return LongStream.range(0, count)
+                .mapToObj(id -> new Person(id, "Person " + id, (int) (id % 100), 1.5d + id % 50 / 100d))
+                .collect(toMap(Person::getId, Function.identity()));
+    }
+}
@@ -0,0 +1,230 @@
+package com.att.tlv.training.test.assertions;
+
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.BiPredicate;
+import java.util.stream.StreamSupport;
+
+/**
+ * The differences between an actual and an expected map: entries missing from the actual map, extra entries in it,
+ * and keys mapped to a different value. Only the first few of each are kept, with the total counts.
+ * <p>
+ * Neither map is copied. Each one is split into shards by its own spliterator - for a {@code HashMap}, ranges of its
+ * hash table - and large maps are compared shard by shard in parallel, looking every key up in the other map.
+ */
+public final class MapDiff<K, V> {
+
+    // Below this size, splitting the comparison across threads costs more than it saves
+    static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    private final int maxEntries;
+    private final List<Map.Entry<K, V>> missing = new ArrayList<>();
+    private final List<Map.Entry<K, V>> extra = new ArrayList<>();
+    private final List<Mismatch<K, V>> mismatched = new ArrayList<>();
+    private long missingCount;
+    private long extraCount;
+    private long mismatchedCount;
+
+    private MapDiff(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * All the differences between the maps.
+     */
+    public static <K, V> MapDiff<K, V> between(Map<? extends K, ? extends V> actual,
+            Map<? extends K, ? extends V> expected, int maxEntries) {
+        return between(actual, expected, Objects::equals, maxEntries);
+    }
+
+    /**
+     * All the differences between the maps, comparing values with the given equality - say, all the fields of
+     * values whose {@code equals()} compares only their ids.
+     */
+    public static <K, V> MapDiff<K, V> between(Map<? extends K, ? extends V> actual,
+            Map<? extends K, ? extends V> expected, BiPredicate<? super V, ? super V> valueEquality,
+            int maxEntries) {
+        MapDiff<K, V> diff = entriesNotIn(actual, expected, valueEquality, maxEntries);
+        diff.merge(extraEntries(actual, expected, maxEntries));
+        return diff;
+    }
+
+    /**
+     * The expected entries missing from, or mapped to a different value in, the actual map - ignoring extra entries.
+     */
+    public static <K, V> MapDiff<K, V> entriesNotIn(Map<? extends K, ? extends V> actual,
+            Map<? extends K, ? extends V> expected, int maxEntries) {
+        return entriesNotIn(actual, expected, Objects::equals, maxEntries);
+    }
+
+    public static <K, V> MapDiff<K, V> entriesNotIn(Map<? extends K, ? extends V> actual,
+            Map<? extends K, ? extends V> expected, BiPredicate<? super V, ? super V> valueEquality,
+            int maxEntries) {
+        Objects.requireNonNull(valueEquality);
+        checkMaxEntries(maxEntries);
+        return compare(expected, maxEntries, (diff, expectedEntry) -> {
+            K key = expectedEntry.getKey();
+            V actualValue = actual.get(key);
+            if (actualValue == null && !actual.containsKey(key)) {
+                diff.addMissing(key, expectedEntry.getValue());
+            }
+            else if (!valueEquality.test(actualValue, expectedEntry.getValue())) {
+                diff.addMismatched(key, expectedEntry.getValue(), actualValue);
+            }
+        });
+    }
+
+    private static <K, V> MapDiff<K, V> extraEntries(Map<? extends K, ? extends V> actual,
+            Map<? extends K, ? extends V> expected, int maxEntries) {
+        return compare(actual, maxEntries, (diff, actualEntry) -> {
+            if (!expected.containsKey(actualEntry.getKey())) {
+                diff.addExtra(actualEntry.getKey(), actualEntry.getValue());
+            }
+        });
+    }
+
+    private static <K, V> MapDiff<K, V> compare(Map<? extends K, ? extends V> map, int maxEntries,
+            EntryComparison<K, V> comparison) {
+        Objects.requireNonNull(map, "The maps to compare must not be null");
+        Spliterator<? extends Map.Entry<? extends K, ? extends V>> shards = map.entrySet().spliterator();
+        // Each thread collects the differences of its shards into its own diff, merged in encounter order
+        return StreamSupport.stream(shards, map.size() >= PARALLEL_THRESHOLD)
+                .collect(() -> new MapDiff<>(maxEntries), comparison::compare, MapDiff::merge);
+    }
+
+    private static void checkMaxEntries(int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Must keep at least one difference: " + maxEntries);
+        }
+    }
+
+    private void addMissing(K key, V value) {
+        if (missingCount++ < maxEntries) {
+            missing.add(new SimpleImmutableEntry<>(key, value));
+        }
+    }
+
+    private void addExtra(K key, V value) {
+        if (extraCount++ < maxEntries) {
+            extra.add(new SimpleImmutableEntry<>(key, value));
+        }
+    }
+
+    private void addMismatched(K key, V expected, V actual) {
+        if (mismatchedCount++ < maxEntries) {
+            mismatched.add(new Mismatch<>(key, expected, actual));
+        }
+    }
+
+    private void merge(MapDiff<K, V> other) {
+        missingCount += other.missingCount;
+        extraCount += other.extraCount;
+        mismatchedCount += other.mismatchedCount;
+        addFirst(missing, other.missing);
+        addFirst(extra, other.extra);
+        addFirst(mismatched, other.mismatched);
+    }
+
+    private <E> void addFirst(List<E> entries, List<E> more) {
+        entries.addAll(more.subList(0, Math.min(more.size(), maxEntries - entries.size())));
+    }
+
+    public boolean isEmpty() {
+        return missingCount == 0 && extraCount == 0 && mismatchedCount == 0;
+    }
+
+    /**
+     * The first expected entries whose key is not in the actual map.
+     */
+    public List<Map.Entry<K, V>> getMissing() {
+        return Collections.unmodifiableList(missing);
+    }
+
+    /**
+     * The first actual entries whose key is not in the expected map.
+     */
+    public List<Map.Entry<K, V>> getExtra() {
+        return Collections.unmodifiableList(extra);
+    }
+
+    /**
+     * The first keys mapped to different values.
+     */
+    public List<Mismatch<K, V>> getMismatched() {
+        return Collections.unmodifiableList(mismatched);
+    }
+
+    public long getMissingCount() {
+        return missingCount;
+    }
+
+    public long getExtraCount() {
+        return extraCount;
+    }
+
+    public long getMismatchedCount() {
+        return mismatchedCount;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder description = new StringBuilder();
+        describe(description, "missing", missingCount, missing);
+        describe(description, "extra", extraCount, extra);
+        describe(description, "mismatched", mismatchedCount, mismatched);
+        return description.length() == 0 ? "no differences" : description.toString();
+    }
+
+    private static void describe(StringBuilder description, String kind, long count, List<?> entries) {
+        if (count == 0) {
+            return;
+        }
+        if (description.length() > 0) {
+            description.append(String.format("%n"));
+        }
+        description.append(String.format("%d %s entries%s:", count, kind,
+                count > entries.size() ? ", the first " + entries.size() : ""));
+        entries.forEach(entry -> description.append(String.format("%n  <%s>", entry)));
+    }
+
+    public static final class Mismatch<K, V> {
+
+        private final K key;
+        private final V expected;
+        private final V actual;
+
+        Mismatch(K key, V expected, V actual) {
+            this.key = key;
+            this.expected = expected;
+            this.actual = actual;
+        }
+
+        public K getKey() {
+            return key;
+        }
+
+        public V getExpected() {
+            return expected;
+        }
+
+        public V getActual() {
+            return actual;
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + actual + " but expected " + expected;
+        }
+    }
+
+    @FunctionalInterface
+    private interface EntryComparison<K, V> {
+
+        void compare(MapDiff<K, V> diff, Map.Entry<? extends K, ? extends V> entry);
+    }
+}
@@ -0,0 +1,133 @@
+package com.att.tlv.training.test.assertions;
+
+import com.att.tlv.training.test.assertions.ColumnSet.Column;
+import com.att.tlv.training.test.assertions.ColumnSet.DoubleColumn;
+import com.att.tlv.training.test.assertions.ColumnSet.IntColumn;
+import com.att.tlv.training.test.assertions.ColumnSet.LongColumn;
+import com.att.tlv.training.test.assertions.ColumnSet.ObjectColumn;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Extracts values out of a collection without boxing the primitive ones - like AssertJ's {@code extracting()}, but
+ * into primitive arrays rather than lists of {@code Integer}s, and into a {@link ColumnSet} rather than a list of
+ * {@code Tuple}s:
+ * <pre>
+ * // Instead of extracting(Person::getAge) - AssertJ's int[] assertions don't box either
+ * assertThat(Projection.ints(people, Person::getAge)).containsOnly(20, 30);
+ * // Instead of extracting(Person::getAge, Person::getName)
+ * ColumnSet ageAndName = Projection.of(people).ints(Person::getAge).objects(Person::getName).project();
+ * assertThatColumns(ageAndName).containsExactlyInAnyOrder(tuple(20, "Carl"), tuple(30, "Jim"));
+ * </pre>
+ * All the columns are filled in a single pass over the collection.
+ */
+public final class Projection<T> {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private final Iterable<? extends T> elements;
+    private final List<Extractor<T>> extractors = new ArrayList<>();
+
+    private Projection(Iterable<? extends T> elements) {
+        this.elements = Objects.requireNonNull(elements);
+    }
+
+    public static <T> Projection<T> of(Iterable<? extends T> elements) {
+        return new Projection<>(elements);
+    }
+
+    public static <T> int[] ints(Iterable<? extends T> elements, ToIntFunction<? super T> getter) {
+        return of(elements).ints(getter).project().getInts(0);
+    }
+
+    public static <T> long[] longs(Iterable<? extends T> elements, ToLongFunction<? super T> getter) {
+        return of(elements).longs(getter).project().getLongs(0);
+    }
+
+    public static <T> double[] doubles(Iterable<? extends T> elements, ToDoubleFunction<? super T> getter) {
+        return of(elements).doubles(getter).project().getDoubles(0);
+    }
+
+    public Projection<T> ints(ToIntFunction<? super T> getter) {
+        Objects.requireNonNull(getter);
+        return add(IntColumn::new,
+                (column, row, element) -> ((IntColumn) column).values[row] = getter.applyAsInt(element));
+    }
+
+    public Projection<T> longs(ToLongFunction<? super T> getter) {
+        Objects.requireNonNull(getter);
+        return add(LongColumn::new,
+                (column, row, element) -> ((LongColumn) column).values[row] = getter.applyAsLong(element));
+    }
+
+    public Projection<T> doubles(ToDoubleFunction<? super T> getter) {
+        Objects.requireNonNull(getter);
+        return add(DoubleColumn::new,
+                (column, row, element) -> ((DoubleColumn) column).values[row] = getter.applyAsDouble(element));
+    }
+
+    public Projection<T> objects(Function<? super T, ?> getter) {
+        Objects.requireNonNull(getter);
+        return add(ObjectColumn::new,
+                (column, row, element) -> ((ObjectColumn) column).values[row] = getter.apply(element));
+    }
+
+    private Projection<T> add(Supplier<Column> columnType, Setter<T> setter) {
+        extractors.add(new Extractor<>(columnType, setter));
+        return this;
+    }
+
+    /**
+     * The columns, in the order they were added.
+     */
+    public ColumnSet project() {
+        if (extractors.isEmpty()) {
+            throw new IllegalStateException("No columns to project");
+        }
+        int capacity = elements instanceof Collection ? ((Collection<?>) elements).size() : DEFAULT_CAPACITY;
+        Column[] columns = new Column[extractors.size()];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = extractors.get(i).columnType.get();
+            columns[i].grow(capacity);
+        }
+        int rows = 0;
+        for (T element : elements) {
+            if (rows == capacity) {
+                capacity = Math.max(capacity * 2, DEFAULT_CAPACITY);
+                for (Column column : columns) {
+                    column.grow(capacity);
+                }
+            }
+            for (int i = 0; i < columns.length; i++) {
+                extractors.get(i).setter.set(columns[i], rows, element);
+            }
+            rows++;
+        }
+        return new ColumnSet(columns, rows);
+    }
+
+    @FunctionalInterface
+    private interface Setter<T> {
+
+        void set(Column column, int row, T element);
+    }
+
+    private static class Extractor<T> {
+
+        private final Supplier<Column> columnType;
+        private final Setter<T> setter;
+
+        Extractor(Supplier<Column> columnType, Setter<T> setter) {
+            this.columnType = columnType;
+            this.setter = setter;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.att.tlv.training.test.assertions;
+
+import com.att.tlv.training.test.data.Person;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.att.tlv.training.test.assertions.ColumnSetAssert.assertThatColumns;
+import static com.google.common.collect.Lists.newArrayList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+public class ProjectionAssertions {
+
+    private final Person jim = new Person(444, "Jim", 30, 1.85d);
+    private final Person carl = new Person(666, "Carl", 20, 1.95d);
+    private final Person alice = new Person(555, "Alice", 30, 1.65d);
+    private final List<Person> people = newArrayList(jim, carl, alice);
+
+    @Test
+    public void singleColumns() {
+        // Instead of extracting(Person::getAge) - AssertJ's primitive array assertions don't box either
+        assertThat(Projection.ints(people, Person::getAge)).containsOnly(20, 30)
+                .containsExactly(30, 20, 30);
+        assertThat(Projection.longs(people, Person::getId)).containsExactly(444L, 666L, 555L);
+        assertThat(Projection.doubles(people, Person::getHeight)).contains(1.95d);
+    }
+
+    @Test
+    public void columnSets() {
+        // Instead of extracting(Person::getAge, Person::getName)
+        ColumnSet ageAndName = Projection.of(people).ints(Person::getAge).objects(Person::getName).project();
+
+        assertThat(ageAndName.rowCount()).isEqualTo(3);
+        assertThat(ageAndName.intStream(0).sum()).isEqualTo(80);
+        assertThat(ageAndName.row(1)).isEqualTo(tuple(20, "Carl"));
+        assertThatColumns(ageAndName).containsExactlyInAnyOrder(tuple(20, "Carl"), tuple(30, "Jim"), tuple(30, "Alice"))
+                .containsExactly(tuple(30, "Jim"), tuple(20, "Carl"), tuple(30, "Alice"))
+                .contains(tuple(30, "Alice"))
+                .doesNotContain(tuple(20, "Jim"), tuple(30L, "Jim"))
+                .containsOnly(tuple(20, "Carl"), tuple(30, "Jim"), tuple(30, "Alice"), tuple(30, "Alice"));
+        assertThatThrownBy(() -> ageAndName.getLongs(0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Column 0 is int, not long");
+    }
+
+    @Test
+    public void failuresReportTheRows() {
+        ColumnSet ageAndName = Projection.of(people).ints(Person::getAge).objects(Person::getName).project();
+
+        assertThatThrownBy(() -> assertThatColumns(ageAndName).containsExactlyInAnyOrder(tuple(20, "Carl"),
+                tuple(30, "Jim"), tuple(30, "Bob")))
+                .hasMessageContaining("but unexpected:")
+                .hasMessageContaining("(30, \"Alice\")");
+        assertThatThrownBy(() -> assertThatColumns(ageAndName).containsExactlyInAnyOrder(tuple(20, "Carl"),
+                tuple(30, "Jim"), tuple(30, "Jim"), tuple(30, "Alice")))
+                .hasMessageContaining("found a different number of times:");
+        assertThatThrownBy(() -> assertThatColumns(ageAndName).contains(tuple(40, "Carl")))
+                .hasMessageContaining("but missing:");
+        assertThatThrownBy(() -> assertThatColumns(ageAndName).isSortedBy(0))
+                .hasMessageContaining("but row 0");
+    }
+
+    @Test
+    public void sortedByColumns() {
+        List<Person> sorted = newArrayList(carl, alice, jim);
+        ColumnSet columns = Projection.of(sorted).ints(Person::getAge).objects(Person::getName)
+                .doubles(Person::getHeight).project();
+
+        assertThatColumns(columns).isSortedBy(0)
+                .isSortedBy(0, 1);
+        assertThatThrownBy(() -> assertThatColumns(columns).isSortedBy(2)).isInstanceOf(AssertionError.class);
+    }
+
+    @Test
+    public void millionsOfRows() {
+        List<Person> many = IntStream.range(0, 1_000_000)
+                .mapToObj(id -> new Person(id, id % 2 == 0 ? "Even" : "Odd", id % 100, 1.5d))
+                .collect(Collectors.toList());
+        // Not a collection - the columns grow as they go
+        Iterable<Person> iterable = many::iterator;
+
+        ColumnSet columns = Projection.of(iterable).longs(Person::getId).ints(Person::getAge).project();
+
+        assertThat(columns.rowCount()).isEqualTo(1_000_000);
+        assertThatColumns(columns).isSortedBy(0)
+                .contains(tuple(999_999L, 99), tuple(0L, 0))
+                .doesNotContain(tuple(1_000_000L, 0));
+        assertThat(columns.longStream(0).sum()).isEqualTo(999_999L * 1_000_000L / 2);
+    }
+}
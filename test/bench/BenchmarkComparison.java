@@ -0,0 +1,130 @@
+package com.att.tlv.training.test.bench;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares two JMH CSV result files written by {@link Benchmarks} and prints the relative change of every
+ * score (time per operation, allocated bytes per operation, GC counts...). A change larger than the threshold
+ * (in percent, 10 by default) in the wrong direction is reported as a regression, and the process exits with 1
+ * if there is any - so it can fail a CI job.
+ * <p>
+ * All the benchmarks here are in {@code AverageTime} mode, so a larger score is worse - with the exception of
+ * throughput results ({@code ops/...} units), where a smaller one is.
+ */
+public class BenchmarkComparison {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BenchmarkComparison <baseline.csv> <current.csv> [threshold %]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10d;
+        Map<String, Score> baseline = read(args[0]);
+        Map<String, Score> current = read(args[1]);
+
+        int regressions = 0;
+        System.out.printf("%-90s %15s %15s %9s%n", "Benchmark", "Baseline", "Current", "Change");
+        for (Map.Entry<String, Score> entry : current.entrySet()) {
+            Score before = baseline.get(entry.getKey());
+            Score after = entry.getValue();
+            if (before == null) {
+                System.out.printf("%-90s %15s %15.3f %9s%n", entry.getKey(), "-", after.value, "new");
+                continue;
+            }
+            double change = before.value == 0 ? (after.value == 0 ? 0 : 100) : (after.value - before.value) / before.value * 100;
+            boolean worse = after.isThroughput() ? change < -threshold : change > threshold;
+            if (worse) {
+                regressions++;
+            }
+            System.out.printf("%-90s %15.3f %15.3f %+8.1f%% %s%n",
+                    entry.getKey(), before.value, after.value, change, worse ? "REGRESSION" : "");
+        }
+        for (String missing : baseline.keySet()) {
+            if (!current.containsKey(missing)) {
+                System.out.printf("%-90s %15.3f %15s %9s%n", missing, baseline.get(missing).value, "-", "removed");
+            }
+        }
+        System.out.printf("%d regression(s) above %.1f%%%n", regressions, threshold);
+        System.exit(regressions == 0 ? 0 : 1);
+    }
+
+    private static Map<String, Score> read(String file) throws IOException {
+        List<String> lines = Files.readAllLines(Paths.get(file), StandardCharsets.UTF_8);
+        Map<String, Score> scores = new LinkedHashMap<>();
+        if (lines.isEmpty()) {
+            return scores;
+        }
+        List<String> header = split(lines.get(0));
+        int scoreColumn = header.indexOf("Score");
+        int unitColumn = header.indexOf("Unit");
+        if (scoreColumn < 0 || unitColumn < 0) {
+            throw new IOException("Not a JMH CSV result file: " + file);
+        }
+        for (String line : lines.subList(1, lines.size())) {
+            if (line.trim().isEmpty()) {
+                continue;
+            }
+            List<String> columns = split(line);
+            StringBuilder key = new StringBuilder(columns.get(0));
+            // Parameter columns come after the unit
+            for (int i = unitColumn + 1; i < columns.size(); i++) {
+                if (!columns.get(i).isEmpty()) {
+                    key.append(' ').append(header.get(i).replace("Param: ", "")).append('=').append(columns.get(i));
+                }
+            }
+            String unit = columns.get(unitColumn);
+            scores.put(key.append(" [").append(unit).append(']').toString(),
+                    new Score(Double.parseDouble(columns.get(scoreColumn)), unit));
+        }
+        return scores;
+    }
+
+    private static List<String> split(String line) {
+        List<String> columns = new ArrayList<>();
+        StringBuilder column = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                if (quoted && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    column.append('"');
+                    i++;
+                }
+                else {
+                    quoted = !quoted;
+                }
+            }
+            else if (c == ',' && !quoted) {
+                columns.add(column.toString());
+                column.setLength(0);
+            }
+            else {
+                column.append(c);
+            }
+        }
+        columns.add(column.toString());
+        return columns;
+    }
+
+    private static class Score {
+
+        private final double value;
+        private final String unit;
+
+        Score(double value, String unit) {
+            this.value = value;
+            this.unit = unit;
+        }
+
+        boolean isThroughput() {
+            return unit.startsWith("ops/");
+        }
+    }
+}
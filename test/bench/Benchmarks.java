@@ -0,0 +1,42 @@
+package com.att.tlv.training.test.bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the JMH benchmarks of this project with the GC profiler attached and stores the results as CSV.
+ * <p>
+ * The benchmarks need the JMH annotation processor ({@code org.openjdk.jmh:jmh-generator-annprocess}) on the
+ * compile path and {@code jmh-core} on the run path, next to the usual test dependencies.
+ * <p>
+ * To check a change for regressions:
+ * <ol>
+ * <li>On the baseline: {@code java ... Benchmarks baseline.csv}</li>
+ * <li>With the change applied: {@code java ... Benchmarks current.csv}</li>
+ * <li>{@code java ... BenchmarkComparison baseline.csv current.csv 5}</li>
+ * </ol>
+ * An optional second argument limits the run to benchmarks matching a regular expression, e.g.
+ * {@code java ... Benchmarks person.csv Person}.
+ * Besides the score, every benchmark reports {@code gc.alloc.rate.norm} (bytes allocated per operation),
+ * {@code gc.count} and {@code gc.time}, all of which are compared as well.
+ */
+public class Benchmarks {
+
+    public static void main(String[] args) throws RunnerException {
+        if (args.length < 1) {
+            System.err.println("Usage: Benchmarks <result.csv> [include regex]");
+            System.exit(2);
+        }
+        Options options = new OptionsBuilder()
+                .include(args.length > 1 ? args[1] : "com\\.att\\.tlv\\.training\\.test\\..*Benchmark")
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.CSV)
+                .result(args[0])
+                .build();
+        new Runner(options).run();
+    }
+}
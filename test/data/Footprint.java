@@ -0,0 +1,108 @@
+package com.att.tlv.training.test.data;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Rough heap size estimates for a 64-bit JVM with compressed oops (12 byte headers, 4 byte references,
+ * 8 byte alignment). Good enough to compare layouts, not a replacement for a real heap analyzer.
+ */
+public final class Footprint {
+
+    static final int OBJECT_HEADER = 12;
+    static final int ARRAY_HEADER = 16;
+    static final int REFERENCE = 4;
+
+    private static final int PERSON = align(OBJECT_HEADER + Long.BYTES + REFERENCE + Integer.BYTES + Double.BYTES);
+    private static final int POOLED_PERSON = align(OBJECT_HEADER + Long.BYTES + REFERENCE + Integer.BYTES + Double.BYTES
+            + REFERENCE + Integer.BYTES);
+    private static final int HASH_MAP_NODE = align(OBJECT_HEADER + Integer.BYTES + 3 * REFERENCE);
+    private static final int INTEGER = align(OBJECT_HEADER + Integer.BYTES);
+
+    private Footprint() {
+    }
+
+    public static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+    private static int align(int bytes) {
+        return (bytes + 7) & ~7;
+    }
+
+    public static long array(int length, int elementBytes) {
+        return align(ARRAY_HEADER + (long) length * elementBytes);
+    }
+
+    public static long string(String value) {
+        // String object (hash, coder, value ref) + Latin-1 backing array
+        return align(OBJECT_HEADER + 2 * Integer.BYTES + REFERENCE) + array(value.length(), Byte.BYTES);
+    }
+
+    static long arrayList(int size) {
+        return align(OBJECT_HEADER + 2 * Integer.BYTES + REFERENCE) + array(size, REFERENCE);
+    }
+
+    static long hashMap(int size) {
+        int buckets = Integer.highestOneBit(Math.max(1, (int) (size / 0.75f)) * 2 - 1);
+        return align(OBJECT_HEADER + 4 * Integer.BYTES + 4 * REFERENCE)
+                + array(buckets, REFERENCE)
+                + (long) size * (HASH_MAP_NODE + INTEGER);
+    }
+
+    /**
+     * Estimated retained size of an {@code ArrayList<Person>}, counting every distinct {@code String} instance once.
+     */
+    public static long listOfPersons(Collection<Person> persons) {
+        long bytes = arrayList(persons.size()) + (long) persons.size() * PERSON;
+        Map<String, Boolean> seen = new IdentityHashMap<>();
+        for (Person person : persons) {
+            String name = person.getName();
+            if (name != null && seen.put(name, Boolean.TRUE) == null) {
+                bytes += string(name);
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Estimated retained size of an {@code ArrayList<PooledPerson>}, counting every distinct {@link NamePool} once.
+     */
+    public static long listOfPooledPersons(Collection<PooledPerson> persons) {
+        long bytes = arrayList(persons.size()) + (long) persons.size() * POOLED_PERSON;
+        Set<NamePool> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (PooledPerson person : persons) {
+            if (seen.add(person.getNamePool())) {
+                bytes += person.getNamePool().footprintBytes();
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * {@code count} persons sharing {@code distinctNames} names, each name a {@code String} of its own as it would be
+     * when parsed from an input file - the baseline the pooled layouts are measured against.
+     */
+    static List<Person> parsedPersons(int count, int distinctNames) {
+        List<Person> persons = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            persons.add(new Person(i, new String("Person " + (i % distinctNames)), 20 + i % 50, 1.5d + (i % 50) / 100d));
+        }
+        return persons;
+    }
+
+    /**
+     * Prints the {@link #listOfPersons} estimate next to {@code bytes}, the estimate for the same persons in
+     * {@code layout}, and returns the former.
+     */
+    static long printComparison(Collection<Person> persons, String layout, long bytes) {
+        long personBytes = listOfPersons(persons);
+        System.out.printf("List<Person>: %,d bytes, %s: %,d bytes%n", personBytes, layout, bytes);
+        return personBytes;
+    }
+}
@@ -0,0 +1,299 @@
+package com.att.tlv.training.test.data;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * A deduplicating pool of names, kept as bytes in one large array - Latin-1 when every character fits in a byte,
+ * UTF-8 otherwise, and UTF-16 for the odd name with an unpaired surrogate, which UTF-8 can't hold - and referenced by
+ * {@code int} handles. Each distinct name is stored once, with no {@code String}
+ * behind it: {@link #name(int)} builds one on every call, and {@link #matches(int, String)} compares without building
+ * one. Two handles of the same pool are equal exactly when their names are.
+ * <p>
+ * Handles are dense, from 0 to {@code size() - 1}, and the null name is {@link #NULL_NAME}. Names are never removed.
+ * Not thread-safe - fill the pool while ingesting, then share it read-only.
+ */
+public final class NamePool {
+
+    public static final int NULL_NAME = -1;
+    /**
+     * Returned by {@link #find(String)} for a name not in the pool.
+     */
+    public static final int ABSENT = -2;
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.75f;
+    private static final int LATIN1 = 0;
+    private static final int UTF8 = 1;
+    private static final int UTF16 = 2;
+    private static final int CODER_BITS = 2;
+    private static final int CODER_MASK = (1 << CODER_BITS) - 1;
+
+    private byte[] bytes;
+    private int byteCount;
+    // Per handle: where its bytes start, their count shifted left with the coder in the low bits, and the
+    // name's String.hashCode() - kept to skip most byte comparisons and to rehash without decoding
+    private int[] offsets;
+    private int[] lengths;
+    private int[] hashes;
+    private int size;
+    // Handle + 1 per slot, 0 for a free one
+    private int[] table;
+    private int mask;
+    private int shift;
+    private int threshold;
+
+    public NamePool() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public NamePool(int expectedNames) {
+        if (expectedNames < 0) {
+            throw new IllegalArgumentException("Negative size: " + expectedNames);
+        }
+        int capacity = Math.max(expectedNames, DEFAULT_CAPACITY);
+        bytes = new byte[capacity * 8];
+        offsets = new int[capacity];
+        lengths = new int[capacity];
+        hashes = new int[capacity];
+        allocateTable(tableSizeFor(capacity));
+    }
+
+    /**
+     * The handle of the name, adding it to the pool the first time it is seen.
+     */
+    public int intern(String name) {
+        if (name == null) {
+            return NULL_NAME;
+        }
+        int hash = name.hashCode();
+        int slot = slot(hash);
+        for (int entry; (entry = table[slot]) != 0; slot = (slot + 1) & mask) {
+            if (hashes[entry - 1] == hash && matches(entry - 1, name)) {
+                return entry - 1;
+            }
+        }
+        int handle = add(name, hash);
+        table[slot] = handle + 1;
+        if (size > threshold) {
+            allocateTable(table.length * 2);
+        }
+        return handle;
+    }
+
+    /**
+     * The handle of the name, or {@link #ABSENT} if it was never interned.
+     */
+    public int find(String name) {
+        if (name == null) {
+            return NULL_NAME;
+        }
+        int hash = name.hashCode();
+        for (int slot = slot(hash), entry; (entry = table[slot]) != 0; slot = (slot + 1) & mask) {
+            if (hashes[entry - 1] == hash && matches(entry - 1, name)) {
+                return entry - 1;
+            }
+        }
+        return ABSENT;
+    }
+
+    /**
+     * A new {@code String} of the name behind the handle, or null for {@link #NULL_NAME}.
+     */
+    public String name(int handle) {
+        if (handle == NULL_NAME) {
+            return null;
+        }
+        checkHandle(handle);
+        int length = lengths[handle] >>> CODER_BITS;
+        int offset = offsets[handle];
+        switch (lengths[handle] & CODER_MASK) {
+            case LATIN1:
+                return new String(bytes, offset, length, StandardCharsets.ISO_8859_1);
+            case UTF8:
+                return new String(bytes, offset, length, StandardCharsets.UTF_8);
+            default:
+                // Not through a UTF-16 decoder, which would replace the unpaired surrogates
+                char[] chars = new char[length / 2];
+                for (int i = 0; i < chars.length; i++) {
+                    chars[i] = utf16Char(offset + 2 * i);
+                }
+                return new String(chars);
+        }
+    }
+
+    /**
+     * Whether the handle is the given name's, without creating a {@code String}.
+     */
+    public boolean matches(int handle, String name) {
+        if (handle == NULL_NAME || name == null) {
+            return handle == NULL_NAME && name == null;
+        }
+        checkHandle(handle);
+        int length = lengths[handle] >>> CODER_BITS;
+        int offset = offsets[handle];
+        int coder = lengths[handle] & CODER_MASK;
+        if (coder == UTF8) {
+            // Only names with a character above Latin-1 are in UTF-8, and those are rare - encoding is fine
+            return coder(name) == UTF8 && bytesEqual(name.getBytes(StandardCharsets.UTF_8), offset, length);
+        }
+        if (coder == UTF16) {
+            if (name.length() * 2 != length) {
+                return false;
+            }
+            for (int i = 0; i < name.length(); i++) {
+                if (name.charAt(i) != utf16Char(offset + 2 * i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (name.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (name.charAt(i) != (bytes[offset + i] & 0xFF)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Number of distinct names.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Approximate retained size of the pool in bytes, assuming a 64-bit JVM with compressed oops.
+     */
+    public long footprintBytes() {
+        return Footprint.align(Footprint.OBJECT_HEADER + 5 * Footprint.REFERENCE + 5 * Integer.BYTES)
+                + Footprint.array(bytes.length, Byte.BYTES)
+                + 3 * Footprint.array(offsets.length, Integer.BYTES)
+                + Footprint.array(table.length, Integer.BYTES);
+    }
+
+    private int add(String name, int hash) {
+        int coder = coder(name);
+        byte[] encoded = coder == UTF8 ? name.getBytes(StandardCharsets.UTF_8) : null;
+        int length = coder == LATIN1 ? name.length() : coder == UTF16 ? name.length() * 2 : encoded.length;
+        if (size == offsets.length) {
+            int capacity = size + (size >> 1);
+            offsets = Arrays.copyOf(offsets, capacity);
+            lengths = Arrays.copyOf(lengths, capacity);
+            hashes = Arrays.copyOf(hashes, capacity);
+        }
+        ensureBytes(length);
+        if (coder == LATIN1) {
+            for (int i = 0; i < length; i++) {
+                bytes[byteCount + i] = (byte) name.charAt(i);
+            }
+        }
+        else if (coder == UTF16) {
+            for (int i = 0; i < name.length(); i++) {
+                bytes[byteCount + 2 * i] = (byte) (name.charAt(i) >> 8);
+                bytes[byteCount + 2 * i + 1] = (byte) name.charAt(i);
+            }
+        }
+        else {
+            System.arraycopy(encoded, 0, bytes, byteCount, length);
+        }
+        int handle = size++;
+        offsets[handle] = byteCount;
+        lengths[handle] = length << CODER_BITS | coder;
+        hashes[handle] = hash;
+        byteCount += length;
+        return handle;
+    }
+
+    private void ensureBytes(int more) {
+        long needed = (long) byteCount + more;
+        if (needed <= bytes.length) {
+            return;
+        }
+        if (needed > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("Name pool is full: " + byteCount + " bytes");
+        }
+        long grown = Math.min(Integer.MAX_VALUE - 8, (long) bytes.length + (bytes.length >> 1));
+        bytes = Arrays.copyOf(bytes, (int) Math.max(needed, grown));
+    }
+
+    private boolean bytesEqual(byte[] encoded, int offset, int length) {
+        if (encoded.length != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (encoded[i] != bytes[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private char utf16Char(int offset) {
+        return (char) ((bytes[offset] & 0xFF) << 8 | bytes[offset + 1] & 0xFF);
+    }
+
+    /**
+     * How the name is stored - a function of the name alone, so equal names are always stored alike.
+     */
+    private static int coder(String name) {
+        int coder = LATIN1;
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c > 0xFF) {
+                if (Character.isHighSurrogate(c) && i + 1 < name.length()
+                        && Character.isLowSurrogate(name.charAt(i + 1))) {
+                    i++;
+                }
+                else if (Character.isSurrogate(c)) {
+                    // getBytes() would turn it into '?', making different names look the same
+                    return UTF16;
+                }
+                coder = UTF8;
+            }
+        }
+        return coder;
+    }
+
+    private void allocateTable(int capacity) {
+        table = new int[capacity];
+        mask = capacity - 1;
+        shift = Integer.numberOfLeadingZeros(capacity) + 1;
+        threshold = (int) (capacity * LOAD_FACTOR);
+        for (int handle = 0; handle < size; handle++) {
+            int slot = slot(hashes[handle]);
+            while (table[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = handle + 1;
+        }
+    }
+
+    // Fibonacci hashing - String.hashCode() of similar names differs mostly in the low bits
+    private int slot(int hash) {
+        return (hash * 0x9E3779B9) >>> shift;
+    }
+
+    private void checkHandle(int handle) {
+        if (handle < 0 || handle >= size) {
+            throw new IndexOutOfBoundsException("Handle: " + handle + ", size: " + size);
+        }
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        long needed = Math.max(DEFAULT_CAPACITY, (long) Math.ceil(expectedSize / LOAD_FACTOR) + 1);
+        if (needed > 1 << 30) {
+            throw new IllegalArgumentException("Too many names: " + expectedSize);
+        }
+        return Integer.highestOneBit((int) needed - 1) << 1;
+    }
+
+    @Override
+    public String toString() {
+        return "NamePool[" + size + " names, " + byteCount + " bytes]";
+    }
+}
@@ -0,0 +1,128 @@
+package com.att.tlv.training.test.data;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+public class NamePoolBasics {
+
+    @Test
+    public void internFindAndName() {
+        NamePool names = new NamePool();
+        int john = names.intern("John");
+        int jane = names.intern("Jane");
+
+        assertThat(names.intern(new String("John"))).isEqualTo(john);
+        assertThat(jane).isNotEqualTo(john);
+        assertThat(names.size()).isEqualTo(2);
+        assertThat(names.find("Jane")).isEqualTo(jane);
+        assertThat(names.find("Jim")).isEqualTo(NamePool.ABSENT);
+        assertThat(names.intern(null)).isEqualTo(NamePool.NULL_NAME);
+
+        assertThat(names.name(john)).isEqualTo("John");
+        assertThat(names.name(NamePool.NULL_NAME)).isNull();
+        assertThat(names.matches(john, "John")).isTrue();
+        assertThat(names.matches(john, "Johnny")).isFalse();
+        assertThat(names.matches(john, null)).isFalse();
+        assertThat(names.matches(NamePool.NULL_NAME, null)).isTrue();
+
+        assertThatExceptionOfType(IndexOutOfBoundsException.class).isThrownBy(() -> names.name(2));
+    }
+
+    @Test
+    public void namesBeyondLatin1() {
+        NamePool names = new NamePool();
+        String latin1 = "Zo\u00eb \u00c5ngstr\u00f6m";
+        String hebrew = "\u05d9\u05d5\u05e1\u05d9";
+        String emoji = "Jo \ud83d\ude00";
+        int latin1Handle = names.intern(latin1);
+        int hebrewHandle = names.intern(hebrew);
+        int emojiHandle = names.intern(emoji);
+
+        assertThat(names.name(latin1Handle)).isEqualTo(latin1);
+        assertThat(names.name(hebrewHandle)).isEqualTo(hebrew);
+        assertThat(names.name(emojiHandle)).isEqualTo(emoji);
+        assertThat(names.intern(new String(hebrew))).isEqualTo(hebrewHandle);
+        assertThat(names.matches(hebrewHandle, "\u05d9\u05d5\u05e1")).isFalse();
+        assertThat(names.matches(latin1Handle, hebrew)).isFalse();
+    }
+
+    @Test
+    public void unpairedSurrogatesAreKept() {
+        NamePool names = new NamePool();
+        // UTF-8 would turn each unpaired surrogate into '?'
+        String high = "\ud800";
+        String low = "Jo \u05d9\udc00";
+        int highHandle = names.intern(high);
+        int lowHandle = names.intern(low);
+        int questionHandle = names.intern("?");
+        int encodedLowHandle = names.intern("Jo \u05d9?");
+
+        assertThat(names.size()).isEqualTo(4);
+        assertThat(names.name(highHandle)).isEqualTo(high);
+        assertThat(names.name(lowHandle)).isEqualTo(low);
+        assertThat(names.find(new String(low))).isEqualTo(lowHandle);
+        assertThat(names.matches(highHandle, "\udc00")).isFalse();
+        assertThat(names.matches(questionHandle, high)).isFalse();
+        assertThat(names.matches(encodedLowHandle, low)).isFalse();
+        assertThat(names.matches(lowHandle, "Jo \u05d9?")).isFalse();
+        // Reversed, the pair is two unpaired surrogates
+        assertThat(names.name(names.intern("\ude00\ud83d"))).isEqualTo("\ude00\ud83d");
+    }
+
+    @Test
+    public void sameAsAHashMap() {
+        NamePool names = new NamePool(1);
+        Map<String, Integer> expected = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            String name = "Name " + random.nextInt(20_000) + (random.nextInt(10) == 0 ? "\u05d0" : "");
+            int handle = names.intern(name);
+            assertThat(expected.computeIfAbsent(name, key -> handle)).isEqualTo(handle);
+        }
+        assertThat(names.size()).isEqualTo(expected.size());
+        expected.forEach((name, handle) -> {
+            assertThat(names.name(handle)).isEqualTo(name);
+            assertThat(names.find(name)).isEqualTo(handle);
+        });
+    }
+
+    @Test
+    public void pooledPersons() {
+        NamePool names = new NamePool();
+        PooledPerson john = new PooledPerson(names, 123, "John", 30, 1.88d);
+        PooledPerson otherJohn = PooledPerson.of(names, new Person(124, "John", 40, 1.78d));
+        PooledPerson nameless = new PooledPerson(names, 125, (String) null, 50, 1.68d);
+
+        assertThat(john).isEqualToComparingFieldByField(new PooledPerson(names, 123, "John", 30, 1.88d));
+        assertThat(john.getName()).isEqualTo("John");
+        assertThat(john.hasName("John")).isTrue();
+        assertThat(john.hasSameName(otherJohn)).isTrue();
+        assertThat(john.hasSameName(PooledPerson.of(new NamePool(), john))).isTrue();
+        assertThat(john.hasSameName(nameless)).isFalse();
+        assertThat(nameless.getName()).isNull();
+        assertThat(nameless.hasName(null)).isTrue();
+        assertThat(names.size()).isEqualTo(1);
+
+        assertThatIllegalArgumentException().isThrownBy(() -> new PooledPerson(names, 126, 1, 30, 1.88d));
+    }
+
+    @Test
+    public void smallerThanPersonsWithTheirOwnNames() {
+        List<Person> persons = Footprint.parsedPersons(100_000, 1000);
+        NamePool names = new NamePool();
+        List<PooledPerson> pooled = persons.stream().map(person -> PooledPerson.of(names, person)).collect(toList());
+
+        long pooledBytes = Footprint.listOfPooledPersons(pooled);
+        long personBytes = Footprint.printComparison(persons, "List<PooledPerson>", pooledBytes);
+        assertThat(pooledBytes).isLessThan(personBytes * 6 / 10);
+    }
+}
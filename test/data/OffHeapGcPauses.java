@@ -0,0 +1,128 @@
+package com.att.tlv.training.test.data;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+
+import javax.management.NotificationEmitter;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongPredicate;
+
+/**
+ * Measures the GC pauses of an application holding millions of {@link Person}s - in a {@link PersonIndex} on the heap
+ * or in an {@link OffHeapPersonStore} - while it looks them up and allocates short-lived garbage. Run each store in
+ * its own JVM, with the same fixed heap size:
+ * <pre>
+ * java -Xms3g -Xmx3g -cp ... com.att.tlv.training.test.data.OffHeapGcPauses heap 10000000 15
+ * java -Xms3g -Xmx3g -cp ... com.att.tlv.training.test.data.OffHeapGcPauses offheap 10000000 15
+ * </pre>
+ * The arguments are the store, the number of persons and the seconds of churn. Without {@code -Xms} the nearly
+ * empty heap of the off-heap run is kept small, and its young collections are many more and longer - compare young
+ * collections at the same heap size. Young collections cost about the same for both stores, since they don't trace
+ * the old generation; what the off-heap store saves is the full collections, and the heap they have to mark.
+ */
+public class OffHeapGcPauses {
+
+    private static final List<Long> PAUSES = new ArrayList<>();
+
+    public static void main(String[] args) throws InterruptedException {
+        String store = args.length > 0 ? args[0] : "offheap";
+        int count = args.length > 1 ? Integer.parseInt(args[1]) : 5_000_000;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+        listenToCollections();
+
+        long start = System.nanoTime();
+        LongPredicate lookup = load(store, count);
+        System.out.printf("Loaded %,d persons %s in %.1f s%n", count, store, secondsSince(start));
+
+        System.gc();
+        long used = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+        System.out.printf("Heap used after a full GC: %,d MB%n", used >> 20);
+        long fullStart = System.nanoTime();
+        System.gc();
+        System.out.printf("Full GC: %.1f ms%n", (System.nanoTime() - fullStart) / 1e6);
+        // Leave the notifications of the loading and the full GCs out of the churn
+        Thread.sleep(500);
+        synchronized (PAUSES) {
+            PAUSES.clear();
+        }
+
+        churn(lookup, count, seconds);
+        report();
+    }
+
+    private static LongPredicate load(String store, int count) {
+        Random random = new Random(42);
+        switch (store) {
+            case "heap": {
+                PersonIndex index = new PersonIndex(count);
+                for (int id = 0; id < count; id++) {
+                    index.put(newPerson(id, random));
+                }
+                return index::containsKey;
+            }
+            case "offheap": {
+                OffHeapPersonStore offHeap = new OffHeapPersonStore(count);
+                for (int id = 0; id < count; id++) {
+                    offHeap.insert(newPerson(id, random));
+                }
+                return offHeap::contains;
+            }
+            default:
+                throw new IllegalArgumentException("Unknown store, use heap or offheap: " + store);
+        }
+    }
+
+    private static Person newPerson(long id, Random random) {
+        return new Person(id, "Person " + id, random.nextInt(100), 1.5d + random.nextDouble() / 2);
+    }
+
+    /**
+     * Looks up random persons, keeping a window of recent garbage alive long enough for some of it to be promoted.
+     */
+    private static void churn(LongPredicate lookup, int count, int seconds) {
+        Random random = new Random(7);
+        Object[] window = new Object[100_000];
+        long found = 0;
+        long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        for (long i = 0; (i & 0xFFFF) != 0 || System.nanoTime() < end; i++) {
+            if (lookup.test(random.nextInt(count))) {
+                found++;
+            }
+            window[(int) (i % window.length)] = new byte[64 + random.nextInt(256)];
+        }
+        System.out.printf("Churned for %d s, %,d lookups found%n", seconds, found);
+    }
+
+    private static void listenToCollections() {
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            ((NotificationEmitter) collector).addNotificationListener((notification, handback) -> {
+                if (GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+                    GarbageCollectionNotificationInfo info =
+                            GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+                    synchronized (PAUSES) {
+                        PAUSES.add(info.getGcInfo().getDuration());
+                    }
+                }
+            }, null, null);
+        }
+    }
+
+    private static void report() throws InterruptedException {
+        // Notifications are delivered asynchronously
+        Thread.sleep(500);
+        synchronized (PAUSES) {
+            long total = PAUSES.stream().mapToLong(Long::longValue).sum();
+            long max = PAUSES.stream().mapToLong(Long::longValue).max().orElse(0);
+            System.out.printf("GC pauses while churning: %d, total %d ms, max %d ms%n", PAUSES.size(), total, max);
+        }
+    }
+
+    private static double secondsSince(long start) {
+        return (System.nanoTime() - start) / 1e9;
+    }
+}
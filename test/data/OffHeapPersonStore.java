@@ -0,0 +1,387 @@
+package com.att.tlv.training.test.data;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * {@link Person}s stored outside the Java heap, so the garbage collector has nothing to trace or copy however many
+ * there are - the heap holds this object and a few buffers.
+ * <p>
+ * Three direct buffers:
+ * <ul>
+ * <li>slots - a fixed size slot per person: id, height, age, and the offset and length of its name. Deleted slots
+ * are chained in a free list and reused first.</li>
+ * <li>names - the UTF-8 bytes of the names, one after the other. A name that no longer fits its place is written
+ * at the end; the names are compacted when more than half their area is garbage.</li>
+ * <li>index - an open-addressing hash table from id to slot, like {@link PersonIndex}'s but off-heap.</li>
+ * </ul>
+ * Buffers are indexed by {@code int}, which caps the store at 2 GB of names and - the index can't grow past 2^26
+ * entries, three quarters of them used - at about 50 million persons. Direct memory counts against
+ * {@code -XX:MaxDirectMemorySize}, and is freed when the store is garbage collected. Not thread safe.
+ */
+public class OffHeapPersonStore {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.75f;
+
+    // Slot layout
+    private static final int ID = 0;
+    private static final int HEIGHT = 8;
+    private static final int AGE = 16;
+    private static final int NAME_OFFSET = 20;
+    private static final int NAME_LENGTH = 24;
+    // The next free slot (-1 at the end of the list) for a free slot, LIVE for a used one
+    private static final int NEXT_FREE = 28;
+    private static final int SLOT_BYTES = 32;
+    private static final int LIVE = -2;
+    private static final int NULL_NAME = -1;
+
+    // Index entry layout: the id, then the slot + 1, so an all-zero entry is free
+    private static final int INDEX_ID = 0;
+    private static final int INDEX_SLOT = 8;
+    private static final int INDEX_BYTES = 16;
+
+    private ByteBuffer slots;
+    private int slotCapacity;
+    // Slots below this one have been used at some point
+    private int highWater;
+    private int freeHead = -1;
+    private int size;
+
+    private ByteBuffer names;
+    private int namesEnd;
+    private int garbageNameBytes;
+
+    private ByteBuffer index;
+    private int mask;
+    private int shift;
+    private int threshold;
+
+    public OffHeapPersonStore() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public OffHeapPersonStore(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Negative size: " + expectedSize);
+        }
+        slotCapacity = Math.max(expectedSize, DEFAULT_CAPACITY);
+        slots = allocate((long) slotCapacity * SLOT_BYTES);
+        // About 8 bytes per name to start with
+        names = allocate((long) slotCapacity * 8);
+        allocateIndex(tableSizeFor(expectedSize));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Stores a person whose id is not stored yet.
+     *
+     * @throws IllegalStateException if the id is already stored
+     */
+    public void insert(Person person) {
+        Objects.requireNonNull(person);
+        if (findEntry(person.getId()) >= 0) {
+            throw new IllegalStateException(String.format("Duplicate key %s", person.getId()));
+        }
+        // Grown before anything is written, so a full index or store leaves it as it was
+        if (size + 1 > threshold) {
+            rehash();
+        }
+        int slot = allocateSlot();
+        slots.putLong(slot * SLOT_BYTES + ID, person.getId());
+        slots.putInt(slot * SLOT_BYTES + NEXT_FREE, LIVE);
+        slots.putInt(slot * SLOT_BYTES + NAME_LENGTH, NULL_NAME);
+        write(slot, person);
+        addEntry(person.getId(), slot);
+        size++;
+    }
+
+    /**
+     * Replaces the person stored with the same id, returning false if there is none.
+     */
+    public boolean update(Person person) {
+        Objects.requireNonNull(person);
+        int entry = findEntry(person.getId());
+        if (entry < 0) {
+            return false;
+        }
+        write(slotOf(entry), person);
+        return true;
+    }
+
+    public boolean delete(long id) {
+        int entry = findEntry(id);
+        if (entry < 0) {
+            return false;
+        }
+        int slot = slotOf(entry);
+        garbageNameBytes += Math.max(slots.getInt(slot * SLOT_BYTES + NAME_LENGTH), 0);
+        slots.putInt(slot * SLOT_BYTES + NEXT_FREE, freeHead);
+        freeHead = slot;
+        removeEntry(entry);
+        size--;
+        return true;
+    }
+
+    public boolean contains(long id) {
+        return findEntry(id) >= 0;
+    }
+
+    /**
+     * The stored person, materialized on the heap, or null.
+     */
+    public Person get(long id) {
+        int entry = findEntry(id);
+        if (entry < 0) {
+            return null;
+        }
+        int base = slotOf(entry) * SLOT_BYTES;
+        return new Person(id, readName(base), slots.getInt(base + AGE), slots.getDouble(base + HEIGHT));
+    }
+
+    /**
+     * The age of the stored person, read without creating a {@code Person}.
+     */
+    public int getAge(long id) {
+        return slots.getInt(existingSlot(id) * SLOT_BYTES + AGE);
+    }
+
+    public double getHeight(long id) {
+        return slots.getDouble(existingSlot(id) * SLOT_BYTES + HEIGHT);
+    }
+
+    /**
+     * Direct memory taken by the store, used or not.
+     */
+    public long offHeapBytes() {
+        return (long) slots.capacity() + names.capacity() + index.capacity();
+    }
+
+    private int existingSlot(long id) {
+        int entry = findEntry(id);
+        if (entry < 0) {
+            throw new NoSuchElementException("No person with id " + id);
+        }
+        return slotOf(entry);
+    }
+
+    private void write(int slot, Person person) {
+        int base = slot * SLOT_BYTES;
+        slots.putDouble(base + HEIGHT, person.getHeight());
+        slots.putInt(base + AGE, person.getAge());
+        writeName(base, person.getName());
+    }
+
+    private String readName(int base) {
+        int length = slots.getInt(base + NAME_LENGTH);
+        if (length == NULL_NAME) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        ByteBuffer name = names.duplicate();
+        name.position(slots.getInt(base + NAME_OFFSET));
+        name.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private void writeName(int base, String name) {
+        int oldLength = slots.getInt(base + NAME_LENGTH);
+        if (name == null) {
+            garbageNameBytes += Math.max(oldLength, 0);
+            slots.putInt(base + NAME_LENGTH, NULL_NAME);
+            return;
+        }
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        int offset;
+        if (bytes.length <= oldLength) {
+            // Fits where the old name was
+            offset = slots.getInt(base + NAME_OFFSET);
+            garbageNameBytes += oldLength - bytes.length;
+        }
+        else {
+            garbageNameBytes += Math.max(oldLength, 0);
+            slots.putInt(base + NAME_LENGTH, NULL_NAME);
+            offset = reserveNameBytes(bytes.length);
+        }
+        ByteBuffer target = names.duplicate();
+        target.position(offset);
+        target.put(bytes);
+        slots.putInt(base + NAME_OFFSET, offset);
+        slots.putInt(base + NAME_LENGTH, bytes.length);
+    }
+
+    private int reserveNameBytes(int length) {
+        if (namesEnd + length > names.capacity()) {
+            if (garbageNameBytes > namesEnd / 2) {
+                compactNames();
+            }
+            if (namesEnd + length > names.capacity()) {
+                long needed = (long) namesEnd + length;
+                names = grow(names, namesEnd, Math.max(needed, (long) names.capacity() * 2));
+            }
+        }
+        int offset = namesEnd;
+        namesEnd += length;
+        return offset;
+    }
+
+    /**
+     * Copies the names of the live slots to a new area, one after the other.
+     */
+    private void compactNames() {
+        ByteBuffer compacted = allocate(names.capacity());
+        ByteBuffer source = names.duplicate();
+        int end = 0;
+        for (int slot = 0; slot < highWater; slot++) {
+            int base = slot * SLOT_BYTES;
+            int length = slots.getInt(base + NAME_LENGTH);
+            if (slots.getInt(base + NEXT_FREE) != LIVE || length <= 0) {
+                continue;
+            }
+            int offset = slots.getInt(base + NAME_OFFSET);
+            source.limit(offset + length).position(offset);
+            compacted.position(end);
+            compacted.put(source);
+            source.limit(source.capacity());
+            slots.putInt(base + NAME_OFFSET, end);
+            end += length;
+        }
+        names = compacted;
+        namesEnd = end;
+        garbageNameBytes = 0;
+    }
+
+    private int allocateSlot() {
+        if (freeHead >= 0) {
+            int slot = freeHead;
+            freeHead = slots.getInt(slot * SLOT_BYTES + NEXT_FREE);
+            return slot;
+        }
+        if (highWater == slotCapacity) {
+            long newCapacity = Math.min((long) slotCapacity * 2, Integer.MAX_VALUE / SLOT_BYTES);
+            if (newCapacity == slotCapacity) {
+                throw new IllegalStateException("Store is full: " + size + " persons");
+            }
+            slots = grow(slots, highWater * SLOT_BYTES, newCapacity * SLOT_BYTES);
+            slotCapacity = (int) newCapacity;
+        }
+        return highWater++;
+    }
+
+    // Index - the same linear probing and backward-shift deletion as PersonIndex
+
+    private int findEntry(long id) {
+        int entry = home(id);
+        while (isUsed(entry)) {
+            if (index.getLong(entry * INDEX_BYTES + INDEX_ID) == id) {
+                return entry;
+            }
+            entry = (entry + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void addEntry(long id, int slot) {
+        int entry = home(id);
+        while (isUsed(entry)) {
+            entry = (entry + 1) & mask;
+        }
+        index.putLong(entry * INDEX_BYTES + INDEX_ID, id);
+        index.putInt(entry * INDEX_BYTES + INDEX_SLOT, slot + 1);
+    }
+
+    private void removeEntry(int free) {
+        int current = free;
+        while (true) {
+            current = (current + 1) & mask;
+            if (!isUsed(current)) {
+                break;
+            }
+            int home = home(index.getLong(current * INDEX_BYTES + INDEX_ID));
+            // Move the entry back only if its home entry is not in the (cyclic) range (free, current]
+            if (((current - home) & mask) >= ((current - free) & mask)) {
+                index.putLong(free * INDEX_BYTES + INDEX_ID, index.getLong(current * INDEX_BYTES + INDEX_ID));
+                index.putInt(free * INDEX_BYTES + INDEX_SLOT, index.getInt(current * INDEX_BYTES + INDEX_SLOT));
+                free = current;
+            }
+        }
+        index.putLong(free * INDEX_BYTES + INDEX_ID, 0);
+        index.putInt(free * INDEX_BYTES + INDEX_SLOT, 0);
+    }
+
+    private boolean isUsed(int entry) {
+        return index.getInt(entry * INDEX_BYTES + INDEX_SLOT) != 0;
+    }
+
+    private int slotOf(int entry) {
+        return index.getInt(entry * INDEX_BYTES + INDEX_SLOT) - 1;
+    }
+
+    private int home(long id) {
+        // Fibonacci hashing: take the top bits of the product so sequential ids spread out
+        return (int) ((id * 0x9E3779B97F4A7C15L) >>> shift);
+    }
+
+    private void rehash() {
+        ByteBuffer oldIndex = index;
+        int oldCapacity = mask + 1;
+        if ((long) oldCapacity * 2 * INDEX_BYTES > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Index is full: " + size + " persons");
+        }
+        allocateIndex(oldCapacity * 2);
+        for (int entry = 0; entry < oldCapacity; entry++) {
+            int slotPlusOne = oldIndex.getInt(entry * INDEX_BYTES + INDEX_SLOT);
+            if (slotPlusOne != 0) {
+                long id = oldIndex.getLong(entry * INDEX_BYTES + INDEX_ID);
+                int target = home(id);
+                while (isUsed(target)) {
+                    target = (target + 1) & mask;
+                }
+                index.putLong(target * INDEX_BYTES + INDEX_ID, id);
+                index.putInt(target * INDEX_BYTES + INDEX_SLOT, slotPlusOne);
+            }
+        }
+    }
+
+    private void allocateIndex(int capacity) {
+        index = allocate((long) capacity * INDEX_BYTES);
+        mask = capacity - 1;
+        shift = 64 - Integer.numberOfTrailingZeros(capacity);
+        threshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        long needed = Math.max(DEFAULT_CAPACITY, (long) Math.ceil(expectedSize / LOAD_FACTOR) + 1);
+        if (needed * INDEX_BYTES > 1 << 30) {
+            throw new IllegalArgumentException("Too many persons: " + expectedSize);
+        }
+        return Integer.highestOneBit((int) needed - 1) << 1;
+    }
+
+    private static ByteBuffer allocate(long bytes) {
+        if (bytes > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Buffer too large: " + bytes + " bytes");
+        }
+        // Zeroed, so the index starts out with all entries free
+        return ByteBuffer.allocateDirect((int) bytes).order(ByteOrder.nativeOrder());
+    }
+
+    private static ByteBuffer grow(ByteBuffer buffer, int used, long newCapacity) {
+        ByteBuffer grown = allocate(newCapacity);
+        ByteBuffer source = buffer.duplicate();
+        source.position(0).limit(used);
+        grown.put(source);
+        grown.clear();
+        return grown;
+    }
+}
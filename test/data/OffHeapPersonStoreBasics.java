@@ -0,0 +1,109 @@
+package com.att.tlv.training.test.data;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class OffHeapPersonStoreBasics {
+
+    @Test
+    public void insertUpdateDelete() {
+        OffHeapPersonStore store = new OffHeapPersonStore();
+        Person jim = new Person(444, "Jim", 30, 1.85d);
+
+        store.insert(jim);
+        assertThat(store.contains(444)).isTrue();
+        // A copy, compared field by field - Person.equals() compares only ids
+        assertThat(store.get(444)).isNotSameAs(jim).isEqualToComparingFieldByField(jim);
+        assertThat(store.getAge(444)).isEqualTo(30);
+        assertThat(store.getHeight(444)).isEqualTo(1.85d);
+        assertThatIllegalStateException().isThrownBy(() -> store.insert(new Person(444, "Jimmy", 31, 1.85d)));
+
+        assertThat(store.update(new Person(444, "Jimmy", 31, 1.86d))).isTrue();
+        assertThat(store.get(444)).isEqualToComparingFieldByField(new Person(444, "Jimmy", 31, 1.86d));
+        assertThat(store.update(new Person(555, "Alice", 30, 1.65d))).isFalse();
+
+        assertThat(store.delete(444)).isTrue();
+        assertThat(store.delete(444)).isFalse();
+        assertThat(store.get(444)).isNull();
+        assertThat(store.isEmpty()).isTrue();
+        assertThatThrownBy(() -> store.getAge(444)).isInstanceOf(NoSuchElementException.class);
+    }
+
+    @Test
+    public void namesOfAnyLength() {
+        OffHeapPersonStore store = new OffHeapPersonStore();
+        store.insert(new Person(1, null, 30, 1.85d));
+        store.insert(new Person(2, "", 30, 1.85d));
+        store.insert(new Person(3, "Zo\u00eb \u00c5ngstr\u00f6m", 30, 1.85d));
+
+        assertThat(store.get(1).getName()).isNull();
+        assertThat(store.get(2).getName()).isEmpty();
+        assertThat(store.get(3).getName()).isEqualTo("Zo\u00eb \u00c5ngstr\u00f6m");
+
+        store.update(new Person(1, "A much longer name than before", 30, 1.85d));
+        store.update(new Person(3, null, 30, 1.85d));
+        assertThat(store.get(1).getName()).isEqualTo("A much longer name than before");
+        assertThat(store.get(3).getName()).isNull();
+    }
+
+    @Test
+    public void deletedSlotsAreReused() {
+        OffHeapPersonStore store = new OffHeapPersonStore(1_000);
+        LongStream.range(0, 1_000).forEach(id -> store.insert(new Person(id, "P" + id, 30, 1.80d)));
+        long bytes = store.offHeapBytes();
+
+        for (int round = 0; round < 10; round++) {
+            LongStream.range(0, 1_000).forEach(store::delete);
+            LongStream.range(0, 1_000).forEach(id -> store.insert(new Person(id, "Q" + id, 31, 1.80d)));
+        }
+
+        assertThat(store.size()).isEqualTo(1_000);
+        // Same slots, and the names compacted rather than grown
+        assertThat(store.offHeapBytes()).isEqualTo(bytes);
+        assertThat(store.get(999)).isEqualToComparingFieldByField(new Person(999, "Q999", 31, 1.80d));
+    }
+
+    @Test
+    public void sameAsAHashMap() {
+        OffHeapPersonStore store = new OffHeapPersonStore();
+        Map<Long, Person> expected = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 200_000; i++) {
+            long id = random.nextInt(20_000);
+            Person person = new Person(id, "Person " + random.nextInt(1_000_000), random.nextInt(100),
+                    random.nextDouble());
+            switch (random.nextInt(3)) {
+                case 0:
+                    if (expected.putIfAbsent(id, person) == null) {
+                        store.insert(person);
+                    }
+                    break;
+                case 1:
+                    assertThat(store.update(person)).isEqualTo(expected.replace(id, person) != null);
+                    break;
+                default:
+                    assertThat(store.delete(id)).isEqualTo(expected.remove(id) != null);
+            }
+        }
+
+        assertThat(store.size()).isEqualTo(expected.size());
+        LongStream.range(0, 20_000).forEach(id -> {
+            Person person = expected.get(id);
+            if (person == null) {
+                assertThat(store.contains(id)).isFalse();
+            }
+            else {
+                assertThat(store.get(id)).isEqualToComparingFieldByField(person);
+            }
+        });
+    }
+}
@@ -32,6 +32,13 @@ public class Person {
         return id;
     }
 
+    /**
+     * Same as {@code Objects.equals(getName(), name)}, but may compare without creating the name.
+     */
+    public boolean hasName(String name) {
+        return Objects.equals(getName(), name);
+    }
+
     @Override
     public boolean equals(final Object other) {
         if (this == other) {
@@ -41,11 +48,11 @@ public class Person {
             return false;
         }
         Person castOther = (Person) other;
-        return id == castOther.id;
+        return getId() == castOther.getId();
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(id);
+        return Objects.hash(getId());
     }
 }
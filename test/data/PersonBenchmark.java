@@ -0,0 +1,65 @@
+package com.att.tlv.training.test.data;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hashing and equality of a single {@link Person}. {@code longHashCode} is the floor {@code hashCode} is compared to:
+ * {@code Objects.hash(id)} boxes the id and allocates a varargs array, which shows up in {@code gc.alloc.rate.norm}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PersonBenchmark {
+
+    private Person jim;
+    private Person jimClone;
+    private Person alice;
+    private Object notAPerson;
+
+    @Setup
+    public void setUp() {
+        jim = new Person(444, "Jim", 30, 1.85d);
+        jimClone = new Person(444, "Jim", 30, 1.85d);
+        alice = new Person(555, "Alice", 30, 1.65d);
+        notAPerson = "Jim";
+    }
+
+    @Benchmark
+    public int hashCodeOfPerson() {
+        return jim.hashCode();
+    }
+
+    @Benchmark
+    public int longHashCode() {
+        return Long.hashCode(jim.getId());
+    }
+
+    @Benchmark
+    public boolean equalsSameId() {
+        return jim.equals(jimClone);
+    }
+
+    @Benchmark
+    public boolean equalsOtherId() {
+        return jim.equals(alice);
+    }
+
+    @Benchmark
+    public boolean equalsOtherType() {
+        return jim.equals(notAPerson);
+    }
+}
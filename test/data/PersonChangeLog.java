@@ -0,0 +1,836 @@
+package com.att.tlv.training.test.data;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import static com.att.tlv.training.test.data.PersonLogFormat.AGE_OFFSET;
+import static com.att.tlv.training.test.data.PersonLogFormat.COMPACTED;
+import static com.att.tlv.training.test.data.PersonLogFormat.COUNT_OFFSET;
+import static com.att.tlv.training.test.data.PersonLogFormat.CRC_OFFSET;
+import static com.att.tlv.training.test.data.PersonLogFormat.FLAGS_OFFSET;
+import static com.att.tlv.training.test.data.PersonLogFormat.HEADER_SIZE;
+import static com.att.tlv.training.test.data.PersonLogFormat.HEIGHT_OFFSET;
+import static com.att.tlv.training.test.data.PersonLogFormat.ID_OFFSET;
+import static com.att.tlv.training.test.data.PersonLogFormat.LENGTH_OFFSET;
+import static com.att.tlv.training.test.data.PersonLogFormat.MAGIC;
+import static com.att.tlv.training.test.data.PersonLogFormat.MAGIC_OFFSET;
+import static com.att.tlv.training.test.data.PersonLogFormat.MAX_NAME_LENGTH;
+import static com.att.tlv.training.test.data.PersonLogFormat.MAX_RECORD_SIZE;
+import static com.att.tlv.training.test.data.PersonLogFormat.NAME_LENGTH_OFFSET;
+import static com.att.tlv.training.test.data.PersonLogFormat.NAME_OFFSET;
+import static com.att.tlv.training.test.data.PersonLogFormat.NULL_NAME;
+import static com.att.tlv.training.test.data.PersonLogFormat.NUMBER_OFFSET;
+import static com.att.tlv.training.test.data.PersonLogFormat.ORDER;
+import static com.att.tlv.training.test.data.PersonLogFormat.PUT;
+import static com.att.tlv.training.test.data.PersonLogFormat.RECORD_HEADER_SIZE;
+import static com.att.tlv.training.test.data.PersonLogFormat.REMOVE;
+import static com.att.tlv.training.test.data.PersonLogFormat.REMOVE_SIZE;
+import static com.att.tlv.training.test.data.PersonLogFormat.SUFFIX;
+import static com.att.tlv.training.test.data.PersonLogFormat.TYPE_OFFSET;
+import static com.att.tlv.training.test.data.PersonLogFormat.VERSION;
+import static com.att.tlv.training.test.data.PersonLogFormat.VERSION_OFFSET;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Durable {@link Person}s without a database: an append-only log of put and remove records keyed by
+ * {@link Person#getId()}, written to memory-mapped segment files in the {@link PersonLogFormat segment format}, with
+ * the current state in a {@link PersonIndex}.
+ * <pre>
+ * try (PersonChangeLog log = PersonChangeLog.open(directory)) {
+ *     log.put(jim);
+ *     long position = log.remove(666);
+ *     log.commit(position);
+ * }
+ * </pre>
+ * Appending copies the record into the mapped segment, and it is durable once {@link #commit(long)} returns.
+ * Threads committing at the same time share one {@code force()} - one of them forces everything appended so far
+ * while the others wait for it - so commits don't limit the rate of appends. A segment is forced before the log rolls
+ * over to the next one, so only the last segment can end with torn records.
+ * <p>
+ * Opening the log replays it into the index. A torn tail of the last segment is dropped, a bad record anywhere else
+ * fails with an {@link IOException}. Replay reads the segments twice - first only the ids, to find the latest put of
+ * every person, then decoding just those - so superseded and removed persons never make it to the heap. Both passes
+ * map the segments and go through them in parallel, in the common fork-join pool.
+ * {@link #compact()} rewrites the sealed segments as one holding only the latest put of every person, without
+ * blocking appends.
+ * <p>
+ * Thread-safe, but one log per directory - nothing stops a second one from corrupting it. As with
+ * {@link PersonFileReader}, segments stay mapped until their buffers are garbage collected.
+ */
+public class PersonChangeLog implements Closeable {
+
+    public static final int DEFAULT_SEGMENT_SIZE = 64 << 20;
+
+    private static final int IO_BUFFER_SIZE = 1 << 20;
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final Path directory;
+    private final int segmentSize;
+    // The index and everything below are guarded by this
+    private PersonIndex index;
+    private final CRC32 crc = new CRC32();
+    private final ByteBuffer record = ByteBuffer.allocate(MAX_RECORD_SIZE).order(ORDER);
+    private long firstSegment;
+    private long activeSegment;
+    private MappedByteBuffer active;
+    private int end;
+    private boolean closed;
+
+    private final Object commitLock = new Object();
+    // Guarded by commitLock
+    private long durable;
+    private boolean committing;
+
+    private final Object compactionLock = new Object();
+
+    private PersonChangeLog(Path directory, int segmentSize) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+    }
+
+    public static PersonChangeLog open(Path directory) throws IOException {
+        return open(directory, DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * Opens the log in the directory, creating it if needed, and replays it. Existing segments keep their size.
+     */
+    public static PersonChangeLog open(Path directory, int segmentSize) throws IOException {
+        if (segmentSize < HEADER_SIZE + MAX_RECORD_SIZE) {
+            throw new IllegalArgumentException(String.format("Segment size %d is too small, the minimum is %d",
+                    segmentSize, HEADER_SIZE + MAX_RECORD_SIZE));
+        }
+        Files.createDirectories(directory);
+        PersonChangeLog log = new PersonChangeLog(directory, segmentSize);
+        log.recover();
+        return log;
+    }
+
+    /**
+     * Appends a put of the person, which replaces any person with the same id. The person is kept in the index as
+     * is, so it should be immutable.
+     *
+     * @return the position to {@link #commit(long)} to make the put durable
+     */
+    public long put(Person person) throws IOException {
+        Objects.requireNonNull(person);
+        byte[] name = nameBytes(person.getId(), person.getName());
+        synchronized (this) {
+            checkOpen();
+            long position = append(PersonLogFormat.writePut(record, 0, crc, person.getId(), name, person.getAge(),
+                    person.getHeight()));
+            index.put(person);
+            return position;
+        }
+    }
+
+    /**
+     * Appends a remove of the person with the id, if there is one.
+     *
+     * @return the position to {@link #commit(long)} to make the remove durable
+     */
+    public long remove(long id) throws IOException {
+        synchronized (this) {
+            checkOpen();
+            if (!index.containsKey(id)) {
+                return position();
+            }
+            long position = append(PersonLogFormat.writeRemove(record, 0, crc, id));
+            index.remove(id);
+            return position;
+        }
+    }
+
+    /**
+     * Waits until everything appended up to the position is on disk, forcing it if no other thread is.
+     */
+    public void commit(long position) throws IOException {
+        synchronized (commitLock) {
+            while (committing && durable < position) {
+                try {
+                    commitLock.wait();
+                }
+                catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while waiting for a commit");
+                }
+            }
+            if (durable >= position) {
+                return;
+            }
+            committing = true;
+        }
+        long target = 0;
+        boolean forced = false;
+        try {
+            MappedByteBuffer segment;
+            synchronized (this) {
+                segment = active;
+                target = position();
+            }
+            // Earlier segments were forced when the log rolled over
+            segment.force();
+            forced = true;
+        }
+        finally {
+            synchronized (commitLock) {
+                if (forced) {
+                    durable = Math.max(durable, target);
+                }
+                committing = false;
+                commitLock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Commits everything appended so far.
+     */
+    public void commit() throws IOException {
+        long position;
+        synchronized (this) {
+            position = position();
+        }
+        commit(position);
+    }
+
+    public synchronized Person get(long id) {
+        return index.get(id);
+    }
+
+    public synchronized boolean containsKey(long id) {
+        return index.containsKey(id);
+    }
+
+    public synchronized int size() {
+        return index.size();
+    }
+
+    public synchronized int segmentCount() {
+        return (int) (activeSegment - firstSegment + 1);
+    }
+
+    /**
+     * Rolls over to a new segment, and rewrites all the older ones as a single segment with the latest put of every
+     * person that is still there. Appends go on meanwhile. The records are copied as they are, without decoding
+     * them, so only the ids and the locations of the latest puts are kept in memory.
+     * <p>
+     * The rewritten segment replaces the last old one and is marked compacted, so replay starts from it even if
+     * the log is reopened before the segments before it are deleted.
+     */
+    public void compact() throws IOException {
+        synchronized (compactionLock) {
+            long first;
+            long last;
+            synchronized (this) {
+                checkOpen();
+                roll();
+                first = firstSegment;
+                last = activeSegment - 1;
+            }
+            List<Path> sealed = new ArrayList<>();
+            for (long number = first; number <= last; number++) {
+                sealed.add(segmentFile(number));
+            }
+            Locations latest = new Locations(compactedCount(checkHeader(first)));
+            long[] ends = findLatest(sealed, latest, false);
+            Path compacted = segmentFile(last);
+            Path temp = directory.resolve(compacted.getFileName() + TEMP_SUFFIX);
+            writeCompacted(temp, last, sealed, ends, latest);
+            Files.move(temp, compacted, ATOMIC_MOVE);
+            syncDirectory();
+            for (long number = first; number < last; number++) {
+                Files.delete(segmentFile(number));
+            }
+            syncDirectory();
+            synchronized (this) {
+                firstSegment = last;
+            }
+        }
+    }
+
+    /**
+     * Commits everything appended so far. Waits for a running compaction to finish.
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (compactionLock) {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+            }
+            commit();
+        }
+    }
+
+    // Segment numbers are the high half of a position and offsets the low one, so positions only grow
+    private long position() {
+        return activeSegment << 32 | end;
+    }
+
+    private long append(int size) throws IOException {
+        if (end + size > active.capacity()) {
+            roll();
+        }
+        active.position(end);
+        active.put(record.array(), 0, size);
+        end += size;
+        return position();
+    }
+
+    private void roll() throws IOException {
+        active.force();
+        startSegment(activeSegment + 1);
+    }
+
+    private void startSegment(long number) throws IOException {
+        MappedByteBuffer segment;
+        try (FileChannel channel = FileChannel.open(segmentFile(number), CREATE_NEW, READ, WRITE)) {
+            segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        }
+        segment.order(ORDER)
+                .putInt(MAGIC_OFFSET, MAGIC)
+                .putInt(VERSION_OFFSET, VERSION)
+                .putLong(NUMBER_OFFSET, number);
+        segment.force();
+        syncDirectory();
+        active = segment;
+        activeSegment = number;
+        end = HEADER_SIZE;
+    }
+
+    private void recover() throws IOException {
+        List<Long> numbers;
+        try (Stream<Path> files = Files.list(directory)) {
+            numbers = files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.matches("\\d{19}\\" + SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(0, 19)))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+        deleteTemporaryFiles();
+        // Created, but the log stopped before its header was written
+        if (!numbers.isEmpty() && readHeader(numbers.get(numbers.size() - 1)).getInt(MAGIC_OFFSET) == 0) {
+            Files.delete(segmentFile(numbers.remove(numbers.size() - 1)));
+        }
+        if (numbers.isEmpty()) {
+            index = new PersonIndex();
+            firstSegment = 0;
+            startSegment(0);
+            return;
+        }
+
+        int first = numbers.size() - 1;
+        while (first > 0 && (checkHeader(numbers.get(first)).getInt(FLAGS_OFFSET) & COMPACTED) == 0) {
+            first--;
+        }
+        // Left behind by a compaction that stopped before deleting them
+        for (int i = 0; i < first; i++) {
+            Files.delete(segmentFile(numbers.get(i)));
+        }
+        int last = numbers.size() - 1;
+        for (int i = first + 1; i <= last; i++) {
+            if (numbers.get(i) != numbers.get(i - 1) + 1) {
+                throw new IOException("Missing log segment: " + segmentFile(numbers.get(i - 1) + 1));
+            }
+        }
+        List<Path> segments = new ArrayList<>();
+        for (int i = first; i <= last; i++) {
+            segments.add(segmentFile(numbers.get(i)));
+        }
+        Locations latest = new Locations(compactedCount(checkHeader(numbers.get(first))));
+        long[] ends = findLatest(segments, latest, true);
+        // Only the latest puts are decoded, then put into an index of the right size
+        List<List<Person>> decoded = inParallel(segments, (i, file) -> {
+            long segment = (long) i << 32;
+            List<Person> persons = new ArrayList<>();
+            scan(file, ends[i], false, (buffer, offset, size) -> {
+                if (buffer.get(offset + TYPE_OFFSET) == PUT
+                        && latest.get(buffer.getLong(offset + ID_OFFSET)) == (segment | offset)) {
+                    persons.add(decode(buffer, offset));
+                }
+                return true;
+            });
+            return persons;
+        });
+        index = new PersonIndex(latest.size());
+        for (List<Person> persons : decoded) {
+            persons.forEach(index::put);
+        }
+        long recoveredEnd = ends[ends.length - 1];
+
+        firstSegment = numbers.get(first);
+        long lastNumber = numbers.get(last);
+        if ((checkHeader(lastNumber).getInt(FLAGS_OFFSET) & COMPACTED) != 0) {
+            // Written to its exact size - there is no room to append
+            startSegment(lastNumber + 1);
+        }
+        else {
+            reopenSegment(lastNumber, (int) recoveredEnd);
+        }
+        durable = position();
+    }
+
+    private void reopenSegment(long number, int recoveredEnd) throws IOException {
+        MappedByteBuffer segment;
+        try (FileChannel channel = FileChannel.open(segmentFile(number), READ, WRITE)) {
+            segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+        }
+        segment.order(ORDER);
+        // Records after a torn one may have made it to disk - they must not show up behind the next appends
+        boolean zeroed = false;
+        int offset = recoveredEnd;
+        for (; offset < segment.capacity() && (offset & 7) != 0; offset++) {
+            if (segment.get(offset) != 0) {
+                segment.put(offset, (byte) 0);
+                zeroed = true;
+            }
+        }
+        for (; offset + Long.BYTES <= segment.capacity(); offset += Long.BYTES) {
+            if (segment.getLong(offset) != 0) {
+                segment.putLong(offset, 0);
+                zeroed = true;
+            }
+        }
+        for (; offset < segment.capacity(); offset++) {
+            if (segment.get(offset) != 0) {
+                segment.put(offset, (byte) 0);
+                zeroed = true;
+            }
+        }
+        if (zeroed) {
+            segment.force();
+        }
+        active = segment;
+        activeSegment = number;
+        end = recoveredEnd;
+    }
+
+    /**
+     * The first pass over the segments: checks their records, finding where they end and the location of the latest
+     * put of every person that is still there. Only the ids are decoded. The first segment is scanned straight into
+     * the table, the others into tables of their own, merged in segment order.
+     */
+    private static long[] findLatest(List<Path> segments, Locations latest, boolean tornTail) throws IOException {
+        int last = segments.size() - 1;
+        List<SegmentScan> scans = inParallel(segments, (i, file) -> {
+            Locations locations = i == 0 ? latest : new Locations(0);
+            long end = scan(file, -1, tornTail && i == last, (buffer, offset, size) -> {
+                long id = buffer.getLong(offset + ID_OFFSET);
+                switch (buffer.get(offset + TYPE_OFFSET)) {
+                    case PUT:
+                        if (!isPut(buffer, offset, size)) {
+                            return false;
+                        }
+                        locations.put(id, offset);
+                        return true;
+                    case REMOVE:
+                        if (size != REMOVE_SIZE) {
+                            return false;
+                        }
+                        // Nothing before the first segment to remove a person from
+                        if (i == 0) {
+                            locations.remove(id);
+                        }
+                        else {
+                            locations.put(id, Locations.REMOVED);
+                        }
+                        return true;
+                    default:
+                        return false;
+                }
+            });
+            return new SegmentScan(end, locations);
+        });
+        long[] ends = new long[segments.size()];
+        for (int i = 0; i < ends.length; i++) {
+            ends[i] = scans.get(i).end;
+            if (i > 0) {
+                latest.merge(scans.get(i).locations, (long) i << 32);
+            }
+        }
+        return ends;
+    }
+
+    /**
+     * Runs the task on every segment in the common fork-join pool, returning the results in segment order.
+     */
+    private static <T> List<T> inParallel(List<Path> segments, SegmentTask<T> task) throws IOException {
+        try {
+            return IntStream.range(0, segments.size())
+                    .parallel()
+                    .mapToObj(i -> {
+                        try {
+                            return task.run(i, segments.get(i));
+                        }
+                        catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    })
+                    .collect(Collectors.toList());
+        }
+        catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Visits the records of a segment up to the end offset, or - with a negative end - checks them on the way and
+     * returns the offset where they end. A bad record ends a segment that may have a torn tail, and fails any other.
+     */
+    private static long scan(Path file, long end, boolean tornTail, RecordVisitor visitor) throws IOException {
+        boolean check = end < 0;
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        buffer.order(ORDER);
+        // Moved over each record body for its checksum
+        ByteBuffer body = buffer.duplicate();
+        CRC32 crc = new CRC32();
+        int offset = HEADER_SIZE;
+        while (check || offset < end) {
+            if (buffer.capacity() - offset < RECORD_HEADER_SIZE) {
+                // A full segment may end with a few bytes too short for a record
+                return zeros(buffer, offset) ? offset : badRecord(file, offset, tornTail);
+            }
+            int bodyLength = buffer.getInt(offset + LENGTH_OFFSET);
+            if (bodyLength == 0) {
+                return offset;
+            }
+            int size = RECORD_HEADER_SIZE + bodyLength;
+            if (size < REMOVE_SIZE || size > MAX_RECORD_SIZE || size > buffer.capacity() - offset) {
+                return badRecord(file, offset, tornTail);
+            }
+            if (check && PersonLogFormat.crc(body, offset + TYPE_OFFSET, bodyLength, crc)
+                    != buffer.getInt(offset + CRC_OFFSET)) {
+                return badRecord(file, offset, tornTail);
+            }
+            if (!visitor.visit(buffer, offset, size)) {
+                return badRecord(file, offset, tornTail);
+            }
+            offset += size;
+        }
+        return offset;
+    }
+
+    private static int compactedCount(ByteBuffer header) throws IOException {
+        if ((header.getInt(FLAGS_OFFSET) & COMPACTED) == 0) {
+            return 0;
+        }
+        long count = header.getLong(COUNT_OFFSET);
+        if (count < 0 || count > Integer.MAX_VALUE) {
+            throw new IOException("Bad person count in a compacted log segment: " + count);
+        }
+        return (int) count;
+    }
+
+    private static boolean isPut(ByteBuffer buffer, int start, int size) {
+        if (size < NAME_OFFSET) {
+            return false;
+        }
+        int nameLength = buffer.getShort(start + NAME_LENGTH_OFFSET);
+        return nameLength == NULL_NAME ? size == NAME_OFFSET : nameLength >= 0 && size == NAME_OFFSET + nameLength;
+    }
+
+    private static Person decode(ByteBuffer buffer, int start) {
+        int nameLength = buffer.getShort(start + NAME_LENGTH_OFFSET);
+        String name = null;
+        if (nameLength != NULL_NAME) {
+            byte[] bytes = new byte[nameLength];
+            for (int i = 0; i < nameLength; i++) {
+                bytes[i] = buffer.get(start + NAME_OFFSET + i);
+            }
+            name = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return new Person(buffer.getLong(start + ID_OFFSET), name, buffer.getInt(start + AGE_OFFSET),
+                buffer.getDouble(start + HEIGHT_OFFSET));
+    }
+
+    private static boolean zeros(ByteBuffer buffer, int from) {
+        for (int i = from; i < buffer.capacity(); i++) {
+            if (buffer.get(i) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long badRecord(Path file, long offset, boolean last) throws IOException {
+        if (last) {
+            return offset;
+        }
+        throw new IOException(String.format("Bad record in %s at offset %d", file, offset));
+    }
+
+    /**
+     * The second pass of a compaction: copies the latest put of every person into a new compacted segment.
+     */
+    private static void writeCompacted(Path file, long number, List<Path> segments, long[] ends, Locations latest)
+            throws IOException {
+        try (FileChannel channel = FileChannel.open(file, CREATE_NEW, WRITE)) {
+            ByteBuffer out = ByteBuffer.allocate(IO_BUFFER_SIZE).order(ORDER);
+            out.putInt(MAGIC_OFFSET, MAGIC)
+                    .putInt(VERSION_OFFSET, VERSION)
+                    .putLong(NUMBER_OFFSET, number)
+                    .putInt(FLAGS_OFFSET, COMPACTED)
+                    .putLong(COUNT_OFFSET, latest.size())
+                    .position(HEADER_SIZE);
+            for (int i = 0; i < segments.size(); i++) {
+                long segment = (long) i << 32;
+                scan(segments.get(i), ends[i], false, (buffer, offset, size) -> {
+                    if (buffer.get(offset + TYPE_OFFSET) == PUT
+                            && latest.get(buffer.getLong(offset + ID_OFFSET)) == (segment | offset)) {
+                        if (out.remaining() < size) {
+                            write(channel, out);
+                        }
+                        ByteBuffer record = buffer.duplicate();
+                        record.limit(offset + size);
+                        record.position(offset);
+                        out.put(record);
+                    }
+                    return true;
+                });
+            }
+            write(channel, out);
+            channel.force(true);
+        }
+    }
+
+    private static void write(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private ByteBuffer readHeader(long number) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ORDER);
+        try (FileChannel channel = FileChannel.open(segmentFile(number), READ)) {
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // A shorter file reads as zeros
+            }
+        }
+        return header;
+    }
+
+    private ByteBuffer checkHeader(long number) throws IOException {
+        ByteBuffer header = readHeader(number);
+        if (header.getInt(MAGIC_OFFSET) != MAGIC || header.getLong(NUMBER_OFFSET) != number) {
+            throw new IOException("Not a person log segment: " + segmentFile(number));
+        }
+        if (header.getInt(VERSION_OFFSET) != VERSION) {
+            throw new IOException("Unsupported person log version: " + header.getInt(VERSION_OFFSET));
+        }
+        return header;
+    }
+
+    private void deleteTemporaryFiles() throws IOException {
+        List<Path> temporary;
+        try (Stream<Path> files = Files.list(directory)) {
+            temporary = files.filter(file -> file.getFileName().toString().endsWith(SUFFIX + TEMP_SUFFIX))
+                    .collect(Collectors.toList());
+        }
+        for (Path file : temporary) {
+            Files.delete(file);
+        }
+    }
+
+    // Makes created, renamed and deleted segments durable
+    private void syncDirectory() throws IOException {
+        try (FileChannel channel = FileChannel.open(directory, READ)) {
+            channel.force(true);
+        }
+    }
+
+    private Path segmentFile(long number) {
+        return directory.resolve(PersonLogFormat.segmentName(number));
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("The log is closed");
+        }
+    }
+
+    private static byte[] nameBytes(long id, String name) {
+        if (name == null) {
+            return null;
+        }
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_NAME_LENGTH) {
+            throw new IllegalArgumentException(String.format("Name of person %d is %d bytes long, the limit is %d",
+                    id, bytes.length, MAX_NAME_LENGTH));
+        }
+        return bytes;
+    }
+
+    @FunctionalInterface
+    private interface RecordVisitor {
+        /**
+         * Visits the record at the offset in the mapped segment, returning false if it is bad.
+         */
+        boolean visit(ByteBuffer buffer, int offset, int size) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface SegmentTask<T> {
+        T run(int index, Path file) throws IOException;
+    }
+
+    /**
+     * What the first pass found in one segment.
+     */
+    private static final class SegmentScan {
+
+        final long end;
+        final Locations locations;
+
+        SegmentScan(long end, Locations locations) {
+            this.end = end;
+            this.locations = locations;
+        }
+    }
+
+    /**
+     * Where the latest put of each person is - the index of its segment in the high half, the offset in the low one -
+     * in an open-addressing table like {@link PersonIndex}'s. No record starts at offset 0, so 0 marks a free slot.
+     */
+    private static final class Locations {
+
+        /**
+         * The last record of the person in a segment scanned on its own is a remove.
+         */
+        static final long REMOVED = -1;
+
+        private long[] ids;
+        private long[] locations;
+        private int size;
+        private int mask;
+        private int shift;
+        private int threshold;
+
+        Locations(int expectedSize) {
+            allocate(PersonIndex.tableSizeFor(expectedSize));
+        }
+
+        int size() {
+            return size;
+        }
+
+        long get(long id) {
+            for (int slot = slot(id); locations[slot] != 0; slot = (slot + 1) & mask) {
+                if (ids[slot] == id) {
+                    return locations[slot];
+                }
+            }
+            return 0;
+        }
+
+        void put(long id, long location) {
+            int slot = slot(id);
+            for (; locations[slot] != 0; slot = (slot + 1) & mask) {
+                if (ids[slot] == id) {
+                    locations[slot] = location;
+                    return;
+                }
+            }
+            ids[slot] = id;
+            locations[slot] = location;
+            if (++size > threshold) {
+                rehash(locations.length << 1);
+            }
+        }
+
+        /**
+         * Applies what a later segment scanned on its own holds, as offsets or {@link #REMOVED}.
+         */
+        void merge(Locations later, long segment) {
+            // Its slots, visited in order, would pile up in a smaller table with the same hash - so grow first
+            int capacity = Math.max(PersonIndex.tableSizeFor(size + later.size), later.locations.length);
+            if (capacity > locations.length) {
+                rehash(capacity);
+            }
+            for (int i = 0; i < later.locations.length; i++) {
+                long location = later.locations[i];
+                if (location == REMOVED) {
+                    remove(later.ids[i]);
+                }
+                else if (location != 0) {
+                    put(later.ids[i], segment | location);
+                }
+            }
+        }
+
+        void remove(long id) {
+            int free = slot(id);
+            while (locations[free] == 0 || ids[free] != id) {
+                if (locations[free] == 0) {
+                    return;
+                }
+                free = (free + 1) & mask;
+            }
+            // Backward-shift deletion as in PersonIndex, so lookups never need tombstones
+            for (int current = (free + 1) & mask; locations[current] != 0; current = (current + 1) & mask) {
+                int home = slot(ids[current]);
+                if (((current - home) & mask) >= ((current - free) & mask)) {
+                    ids[free] = ids[current];
+                    locations[free] = locations[current];
+                    free = current;
+                }
+            }
+            locations[free] = 0;
+            size--;
+        }
+
+        private int slot(long id) {
+            // Fibonacci hashing, as in PersonIndex
+            return (int) ((id * 0x9E3779B97F4A7C15L) >>> shift);
+        }
+
+        private void rehash(int capacity) {
+            long[] oldIds = ids;
+            long[] oldLocations = locations;
+            allocate(capacity);
+            for (int i = 0; i < oldLocations.length; i++) {
+                if (oldLocations[i] != 0) {
+                    int slot = slot(oldIds[i]);
+                    while (locations[slot] != 0) {
+                        slot = (slot + 1) & mask;
+                    }
+                    ids[slot] = oldIds[i];
+                    locations[slot] = oldLocations[i];
+                }
+            }
+        }
+
+        private void allocate(int capacity) {
+            ids = new long[capacity];
+            locations = new long[capacity];
+            mask = capacity - 1;
+            shift = 64 - Integer.numberOfTrailingZeros(capacity);
+            threshold = capacity / 4 * 3;
+        }
+    }
+}
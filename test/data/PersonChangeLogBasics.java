@@ -0,0 +1,278 @@
+package com.att.tlv.training.test.data;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+public class PersonChangeLogBasics {
+
+    private static final int SEGMENT_SIZE = 64 << 10;
+
+    @Rule
+    public final TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void putRemoveAndReopen() throws IOException {
+        Path directory = tempFolder.getRoot().toPath();
+        try (PersonChangeLog log = PersonChangeLog.open(directory)) {
+            log.put(new Person(444, "Jim", 30, 1.85d));
+            log.put(new Person(555, "Alice", 30, 1.65d));
+            log.put(new Person(666, null, 20, 1.95d));
+            log.put(new Person(444, "Jimmy", 31, 1.85d));
+            long position = log.remove(555);
+            log.commit(position);
+
+            assertThat(log.size()).isEqualTo(2);
+            assertThat(log.get(444).getName()).isEqualTo("Jimmy");
+            assertThat(log.containsKey(555)).isFalse();
+        }
+
+        try (PersonChangeLog log = PersonChangeLog.open(directory)) {
+            assertThat(log.size()).isEqualTo(2);
+            // Person.equals() compares ids, so compare field by field to make sure nothing got lost
+            assertThat(log.get(444)).isEqualToComparingFieldByField(new Person(444, "Jimmy", 31, 1.85d));
+            assertThat(log.get(666)).isEqualToComparingFieldByField(new Person(666, null, 20, 1.95d));
+            assertThat(log.get(555)).isNull();
+        }
+    }
+
+    @Test
+    public void rollsOverToNewSegments() throws IOException {
+        Path directory = tempFolder.getRoot().toPath();
+        try (PersonChangeLog log = PersonChangeLog.open(directory, SEGMENT_SIZE)) {
+            for (int i = 0; i < 10_000; i++) {
+                log.put(new Person(i, "Person" + i, i % 100, 1.5d));
+            }
+            assertThat(log.segmentCount()).isGreaterThan(5);
+        }
+        for (Path segment : segments(directory)) {
+            assertThat(Files.size(segment)).isEqualTo(SEGMENT_SIZE);
+        }
+
+        try (PersonChangeLog log = PersonChangeLog.open(directory, SEGMENT_SIZE)) {
+            assertThat(log.size()).isEqualTo(10_000);
+            assertThat(log.get(9_999).getName()).isEqualTo("Person9999");
+        }
+    }
+
+    @Test
+    public void tornTailIsDropped() throws IOException {
+        Path directory = tempFolder.getRoot().toPath();
+        try (PersonChangeLog log = PersonChangeLog.open(directory, SEGMENT_SIZE)) {
+            log.put(new Person(444, "Jim", 30, 1.85d));
+            log.put(new Person(555, "Alice", 30, 1.65d));
+        }
+        corruptLastRecord(directory);
+
+        try (PersonChangeLog log = PersonChangeLog.open(directory, SEGMENT_SIZE)) {
+            assertThat(log.size()).isEqualTo(1);
+            assertThat(log.containsKey(555)).isFalse();
+            // Appends go where the dropped record was
+            log.put(new Person(666, "Carl", 20, 1.95d));
+        }
+        try (PersonChangeLog log = PersonChangeLog.open(directory, SEGMENT_SIZE)) {
+            assertThat(log.size()).isEqualTo(2);
+            assertThat(log.get(666).getName()).isEqualTo("Carl");
+        }
+    }
+
+    @Test
+    public void badRecordBeforeTheLastSegmentFails() throws IOException {
+        Path directory = tempFolder.getRoot().toPath();
+        try (PersonChangeLog log = PersonChangeLog.open(directory, SEGMENT_SIZE)) {
+            for (int i = 0; i < 10_000; i++) {
+                log.put(new Person(i, "Person" + i, i % 100, 1.5d));
+            }
+        }
+        Path first = segments(directory).get(0);
+        byte[] bytes = Files.readAllBytes(first);
+        bytes[PersonLogFormat.HEADER_SIZE + PersonLogFormat.NAME_OFFSET]++;
+        Files.write(first, bytes);
+
+        assertThatExceptionOfType(IOException.class)
+                .isThrownBy(() -> PersonChangeLog.open(directory, SEGMENT_SIZE))
+                .withMessageContaining("Bad record in " + first);
+    }
+
+    @Test
+    public void compactionDropsSupersededRecords() throws IOException {
+        Path directory = tempFolder.getRoot().toPath();
+        try (PersonChangeLog log = PersonChangeLog.open(directory, SEGMENT_SIZE)) {
+            for (int version = 0; version < 10; version++) {
+                for (int i = 0; i < 1000; i++) {
+                    log.put(new Person(i, "Person" + i, version, 1.5d));
+                }
+            }
+            for (int i = 0; i < 1000; i += 2) {
+                log.remove(i);
+            }
+            long before = bytes(directory);
+            int segmentsBefore = log.segmentCount();
+
+            log.compact();
+            // The compacted segment and the new one
+            assertThat(log.segmentCount()).isEqualTo(2).isLessThan(segmentsBefore);
+            assertThat(bytes(directory)).isLessThan(before / 2);
+            log.put(new Person(1000, "Person1000", 0, 1.5d));
+        }
+
+        try (PersonChangeLog log = PersonChangeLog.open(directory, SEGMENT_SIZE)) {
+            assertThat(log.size()).isEqualTo(501);
+            assertThat(log.containsKey(0)).isFalse();
+            assertThat(log.get(999).getAge()).isEqualTo(9);
+            // Compacting a compacted log
+            log.remove(999);
+            log.compact();
+        }
+        try (PersonChangeLog log = PersonChangeLog.open(directory, SEGMENT_SIZE)) {
+            assertThat(log.size()).isEqualTo(500);
+            assertThat(log.containsKey(999)).isFalse();
+        }
+    }
+
+    @Test
+    public void segmentsLeftBehindByACompactionAreIgnored() throws IOException {
+        Path directory = tempFolder.newFolder("log").toPath();
+        Path saved = tempFolder.newFolder("saved").toPath();
+        try (PersonChangeLog log = PersonChangeLog.open(directory, SEGMENT_SIZE)) {
+            log.put(new Person(444, "Jim", 30, 1.85d));
+            log.put(new Person(555, "Alice", 30, 1.65d));
+            log.commit();
+            Path first = segments(directory).get(0);
+            Files.copy(first, saved.resolve(first.getFileName()));
+
+            log.remove(444);
+            log.compact();
+            log.compact();
+            // As if the compaction stopped before deleting the first segment
+            Files.copy(saved.resolve(first.getFileName()), first);
+        }
+
+        try (PersonChangeLog log = PersonChangeLog.open(directory, SEGMENT_SIZE)) {
+            assertThat(log.size()).isEqualTo(1);
+            assertThat(log.containsKey(444)).isFalse();
+        }
+        assertThat(segments(directory)).hasSize(2);
+    }
+
+    @Test
+    public void groupCommit() throws Exception {
+        Path directory = tempFolder.getRoot().toPath();
+        int threads = 8;
+        int perThread = 2000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try (PersonChangeLog log = PersonChangeLog.open(directory, SEGMENT_SIZE)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < threads; thread++) {
+                int first = thread * perThread;
+                futures.add(executor.submit(() -> {
+                    for (int id = first; id < first + perThread; id++) {
+                        log.commit(log.put(new Person(id, "Person" + id, 30, 1.8d)));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        finally {
+            executor.shutdownNow();
+        }
+
+        try (PersonChangeLog log = PersonChangeLog.open(directory, SEGMENT_SIZE)) {
+            assertThat(log.size()).isEqualTo(threads * perThread);
+        }
+    }
+
+    @Test
+    public void closedLogRejectsAppends() throws IOException {
+        PersonChangeLog log = PersonChangeLog.open(tempFolder.getRoot().toPath());
+        log.close();
+        assertThatIllegalStateException().isThrownBy(() -> log.put(new Person(444, "Jim", 30, 1.85d)));
+    }
+
+    @Test
+    public void sameAsAHashMap() throws IOException {
+        Path directory = tempFolder.getRoot().toPath();
+        Map<Long, Person> expected = new HashMap<>();
+        Random random = new Random(42);
+        PersonChangeLog log = PersonChangeLog.open(directory, SEGMENT_SIZE);
+        try {
+            for (int i = 0; i < 50_000; i++) {
+                long id = random.nextInt(2000);
+                int operation = random.nextInt(100);
+                if (operation < 60) {
+                    Person person = new Person(id, random.nextInt(10) == 0 ? null : "Person" + i, i, 1.5d);
+                    expected.put(id, person);
+                    log.put(person);
+                }
+                else if (operation < 95) {
+                    expected.remove(id);
+                    log.remove(id);
+                }
+                else if (operation < 99) {
+                    log.close();
+                    log = PersonChangeLog.open(directory, SEGMENT_SIZE);
+                }
+                else {
+                    log.compact();
+                }
+            }
+            log.close();
+            log = PersonChangeLog.open(directory, SEGMENT_SIZE);
+            assertThat(log.size()).isEqualTo(expected.size());
+            for (Person person : expected.values()) {
+                assertThat(log.get(person.getId())).isEqualToComparingFieldByField(person);
+            }
+        }
+        finally {
+            log.close();
+        }
+    }
+
+    private static List<Path> segments(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.toString().endsWith(".log")).sorted().collect(Collectors.toList());
+        }
+    }
+
+    private static long bytes(Path directory) throws IOException {
+        long bytes = 0;
+        for (Path segment : segments(directory)) {
+            bytes += Files.size(segment);
+        }
+        return bytes;
+    }
+
+    // Segments are zero-filled past the last record - flip its last byte
+    private static void corruptLastRecord(Path directory) throws IOException {
+        List<Path> segments = segments(directory);
+        Path last = segments.get(segments.size() - 1);
+        byte[] bytes = Files.readAllBytes(last);
+        int end = bytes.length - 1;
+        while (bytes[end] == 0) {
+            end--;
+        }
+        bytes[end]++;
+        Files.write(last, bytes);
+    }
+}
@@ -0,0 +1,111 @@
+package com.att.tlv.training.test.data;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+/**
+ * Measures a {@link PersonChangeLog} on a real disk: appends without and with commits from several threads, then
+ * recovery of the whole log and its compaction. Run on the disk to measure, with an empty or missing directory:
+ * <pre>
+ * java -Xmx4g -cp ... com.att.tlv.training.test.data.PersonChangeLogThroughput /data/person-log 100000000 16
+ * </pre>
+ * The arguments are the log directory, the number of appends and the number of committing threads. The appends are
+ * puts of ids picked out of a quarter of the number of appends, with one in ten a remove, so compaction has
+ * superseded records to drop.
+ */
+public class PersonChangeLogThroughput {
+
+    public static void main(String[] args) throws Exception {
+        Path directory = Paths.get(args.length > 0 ? args[0] : "person-log");
+        int count = args.length > 1 ? Integer.parseInt(args[1]) : 10_000_000;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : 16;
+        if (Files.exists(directory) && bytes(directory) > 0) {
+            throw new IllegalArgumentException("Not an empty log directory: " + directory);
+        }
+
+        try (PersonChangeLog log = PersonChangeLog.open(directory)) {
+            Random random = new Random(42);
+            long start = System.nanoTime();
+            for (int i = 0; i < count; i++) {
+                append(log, random, count);
+            }
+            log.commit();
+            report("Appended", count, start);
+
+            int committed = Math.max(threads, count / 100);
+            start = System.nanoTime();
+            appendAndCommit(log, committed, threads);
+            report("Appended and committed from " + threads + " threads", committed, start);
+        }
+
+        long bytes = bytes(directory);
+        long start = System.nanoTime();
+        try (PersonChangeLog log = PersonChangeLog.open(directory)) {
+            double seconds = secondsSince(start);
+            System.out.printf("Recovered %,d persons from %,d MB in %.1f s, %.0f MB/s%n", log.size(), bytes >> 20,
+                    seconds, (bytes >> 20) / seconds);
+
+            start = System.nanoTime();
+            log.compact();
+            System.out.printf("Compacted to %,d MB in %.1f s%n", bytes(directory) >> 20, secondsSince(start));
+        }
+    }
+
+    private static void append(PersonChangeLog log, Random random, int count) throws IOException {
+        long id = random.nextInt(Math.max(1, count / 4));
+        if (random.nextInt(10) == 0) {
+            log.remove(id);
+        }
+        else {
+            log.put(new Person(id, "Person " + id, random.nextInt(100), 1.5d + random.nextDouble() / 2));
+        }
+    }
+
+    private static void appendAndCommit(PersonChangeLog log, int count, int threads) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < threads; thread++) {
+                int seed = thread;
+                futures.add(executor.submit(() -> {
+                    Random random = new Random(seed);
+                    for (int i = 0; i < count / threads; i++) {
+                        long id = random.nextInt(Math.max(1, count / 4));
+                        log.commit(log.put(new Person(id, "Person " + id, random.nextInt(100), 1.8d)));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void report(String what, int count, long start) {
+        double seconds = secondsSince(start);
+        System.out.printf("%s %,d records in %.1f s, %,.0f per second%n", what, count, seconds, count / seconds);
+    }
+
+    private static long bytes(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.mapToLong(file -> file.toFile().length()).sum();
+        }
+    }
+
+    private static double secondsSince(long start) {
+        return (System.nanoTime() - start) / 1e9;
+    }
+}
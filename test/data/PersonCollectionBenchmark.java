@@ -0,0 +1,102 @@
+package com.att.tlv.training.test.data;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static com.att.tlv.training.test.data.PersonIndex.toPersonIndex;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toMap;
+
+/**
+ * Building collections of {@link Person}s: map insertion keyed by id, collecting a stream the way
+ * {@code MapAssertions} does, and the primitive alternatives in this package.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PersonCollectionBenchmark {
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    private Person[] persons;
+
+    @Setup
+    public void setUp() {
+        persons = new Person[size];
+        for (int i = 0; i < size; i++) {
+            persons[i] = new Person(i * 7L, "Person" + (i % 1000), 20 + i % 50, 1.5d + (i % 50) / 100d);
+        }
+    }
+
+    @Benchmark
+    public Map<Long, Person> hashMapPut() {
+        Map<Long, Person> map = new HashMap<>();
+        for (Person person : persons) {
+            map.put(person.getId(), person);
+        }
+        return map;
+    }
+
+    @Benchmark
+    public PersonIndex personIndexPut() {
+        PersonIndex index = new PersonIndex();
+        for (Person person : persons) {
+            index.put(person);
+        }
+        return index;
+    }
+
+    @Benchmark
+    public Map<Long, Person> collectToMap() {
+        return Arrays.stream(persons).collect(toMap(Person::getId, Function.identity()));
+    }
+
+    @Benchmark
+    public PersonIndex collectToPersonIndex() {
+        return Arrays.stream(persons).collect(toPersonIndex());
+    }
+
+    @Benchmark
+    public List<Person> collectToList() {
+        return Arrays.stream(persons).collect(toList());
+    }
+
+    @Benchmark
+    public List<Person> arrayListAdd() {
+        List<Person> list = new ArrayList<>();
+        for (Person person : persons) {
+            list.add(person);
+        }
+        return list;
+    }
+
+    @Benchmark
+    public PersonTable personTableAppend() {
+        PersonTable table = new PersonTable();
+        for (Person person : persons) {
+            table.append(person);
+        }
+        return table;
+    }
+}
@@ -0,0 +1,126 @@
+package com.att.tlv.training.test.data;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+public class PersonFileBasics {
+
+    @Rule
+    public final TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void writeAndMap() throws IOException {
+        Path file = tempFolder.newFile("persons.bin").toPath();
+        try (PersonFileWriter writer = new PersonFileWriter(file)) {
+            writer.write(new Person(444, "Jim", 30, 1.85d));
+            writer.write(new Person(555, "Alice", 30, 1.65d));
+            writer.write(new Person(666, null, 20, 1.95d));
+        }
+
+        try (PersonFileReader reader = PersonFileReader.open(file)) {
+            assertThat(reader.size()).isEqualTo(3);
+
+            PersonFileReader.View view = reader.view(1);
+            assertThat(view.getId()).isEqualTo(555L);
+            assertThat(view.getName()).isEqualTo("Alice");
+            assertThat(view.getAge()).isEqualTo(30);
+            assertThat(view.getHeight()).isEqualTo(1.65d);
+            // Person.equals() compares ids - a view equals the Person it was written from
+            assertThat(view).isEqualTo(new Person(555, "Alice", 30, 1.65d));
+
+            // The same view, moved
+            assertThat(view.moveTo(2).getName()).isNull();
+            assertThat(view.getAge()).isEqualTo(20);
+        }
+    }
+
+    @Test
+    public void scans() throws IOException {
+        Path file = tempFolder.newFile("persons.bin").toPath();
+        try (PersonFileWriter writer = new PersonFileWriter(file)) {
+            for (int i = 0; i < 10_000; i++) {
+                writer.write(i, "Person" + i, i % 100, 1.5d);
+            }
+        }
+
+        try (PersonFileReader reader = PersonFileReader.open(file)) {
+            List<Person> copies = new ArrayList<>();
+            reader.forEach(person -> {
+                if (person.getAge() == 42) {
+                    copies.add(((PersonFileReader.View) person).copy());
+                }
+            });
+            assertThat(copies).hasSize(100)
+                    .extracting(Person::getName)
+                    .startsWith("Person42", "Person142");
+
+            long[] ageSum = new long[1];
+            reader.forEachRecord((index, id, age, height) -> ageSum[0] += age);
+            assertThat(ageSum[0]).isEqualTo(100L * (99 * 100 / 2));
+        }
+    }
+
+    @Test
+    public void nameLongerThanTheRecordAllowsIsRejected() throws IOException {
+        Path file = tempFolder.newFile("persons.bin").toPath();
+        try (PersonFileWriter writer = new PersonFileWriter(file, 4)) {
+            writer.write(1, "John", 30, 1.80d);
+            assertThatIllegalArgumentException().isThrownBy(() -> writer.write(2, "Johnny", 30, 1.80d));
+        }
+    }
+
+    @Test
+    public void corruptFilesFailWithAnIOException() throws IOException {
+        Path file = tempFolder.newFile("persons.bin").toPath();
+        try (PersonFileWriter writer = new PersonFileWriter(file)) {
+            writer.write(new Person(444, "Jim", 30, 1.85d));
+            writer.write(new Person(555, "Alice", 30, 1.65d));
+        }
+        byte[] bytes = Files.readAllBytes(file);
+
+        Path badNameWidth = tempFolder.newFile().toPath();
+        Files.write(badNameWidth, copy(bytes, buffer -> buffer.putInt(PersonRecordFormat.NAME_WIDTH_OFFSET, -3)));
+        assertThatExceptionOfType(IOException.class)
+                .isThrownBy(() -> PersonFileReader.open(badNameWidth))
+                .withMessageContaining("name width -3");
+
+        Path truncated = tempFolder.newFile().toPath();
+        Files.write(truncated, Arrays.copyOf(bytes, bytes.length - 1));
+        assertThatExceptionOfType(IOException.class)
+                .isThrownBy(() -> PersonFileReader.open(truncated))
+                .withMessageContaining("Truncated person file");
+
+        Path badNameLength = tempFolder.newFile().toPath();
+        int secondName = PersonRecordFormat.HEADER_SIZE
+                + PersonRecordFormat.recordSize(PersonRecordFormat.DEFAULT_NAME_WIDTH)
+                + PersonRecordFormat.NAME_LENGTH_OFFSET;
+        Files.write(badNameLength, copy(bytes, buffer -> buffer.putShort(secondName, (short) -7)));
+        try (PersonFileReader reader = PersonFileReader.open(badNameLength)) {
+            assertThat(reader.getName(0)).isEqualTo("Jim");
+            assertThatExceptionOfType(UncheckedIOException.class)
+                    .isThrownBy(() -> reader.getName(1))
+                    .withMessageContaining("record 1 has a name of -7 bytes");
+        }
+    }
+
+    private static byte[] copy(byte[] bytes, Consumer<ByteBuffer> change) {
+        byte[] copy = bytes.clone();
+        change.accept(ByteBuffer.wrap(copy).order(PersonRecordFormat.ORDER));
+        return copy;
+    }
+}
@@ -0,0 +1,236 @@
+package com.att.tlv.training.test.data;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+import static com.att.tlv.training.test.data.PersonRecordFormat.AGE_OFFSET;
+import static com.att.tlv.training.test.data.PersonRecordFormat.COUNT_OFFSET;
+import static com.att.tlv.training.test.data.PersonRecordFormat.HEADER_SIZE;
+import static com.att.tlv.training.test.data.PersonRecordFormat.HEIGHT_OFFSET;
+import static com.att.tlv.training.test.data.PersonRecordFormat.ID_OFFSET;
+import static com.att.tlv.training.test.data.PersonRecordFormat.MAGIC;
+import static com.att.tlv.training.test.data.PersonRecordFormat.MAGIC_OFFSET;
+import static com.att.tlv.training.test.data.PersonRecordFormat.MAX_NAME_WIDTH;
+import static com.att.tlv.training.test.data.PersonRecordFormat.NAME_LENGTH_OFFSET;
+import static com.att.tlv.training.test.data.PersonRecordFormat.NAME_OFFSET;
+import static com.att.tlv.training.test.data.PersonRecordFormat.NAME_WIDTH_OFFSET;
+import static com.att.tlv.training.test.data.PersonRecordFormat.NULL_NAME;
+import static com.att.tlv.training.test.data.PersonRecordFormat.ORDER;
+import static com.att.tlv.training.test.data.PersonRecordFormat.VERSION;
+import static com.att.tlv.training.test.data.PersonRecordFormat.VERSION_OFFSET;
+import static java.nio.file.StandardOpenOption.READ;
+
+/**
+ * Memory-maps a file written by {@link PersonFileWriter} and reads records in place.
+ * Opening only maps the file - nothing is read until a record is accessed, so opening costs the same for any file size.
+ * <p>
+ * A single {@link MappedByteBuffer} cannot exceed 2GB, so the file is mapped in chunks holding a whole number of
+ * records each. The mapping stays valid until the buffers are garbage collected, even after {@link #close()}.
+ * Reads are absolute, so one reader can be shared between threads - but every thread needs its own {@link View}.
+ */
+public class PersonFileReader implements Closeable {
+
+    private final FileChannel channel;
+    private final long count;
+    private final int nameWidth;
+    private final int recordSize;
+    private final int recordsPerChunk;
+    private final ByteBuffer[] chunks;
+
+    private PersonFileReader(FileChannel channel) throws IOException {
+        this.channel = channel;
+        if (channel.size() < HEADER_SIZE) {
+            throw new IOException(String.format("Truncated person file: the header needs %d bytes, file has %d",
+                    HEADER_SIZE, channel.size()));
+        }
+        ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE).order(ORDER);
+        if (header.getInt(MAGIC_OFFSET) != MAGIC) {
+            throw new IOException("Not a person file");
+        }
+        if (header.getInt(VERSION_OFFSET) != VERSION) {
+            throw new IOException("Unsupported person file version: " + header.getInt(VERSION_OFFSET));
+        }
+        this.nameWidth = header.getInt(NAME_WIDTH_OFFSET);
+        if (nameWidth < 0 || nameWidth > MAX_NAME_WIDTH) {
+            throw new IOException("Corrupt person file header: name width " + nameWidth);
+        }
+        this.count = header.getLong(COUNT_OFFSET);
+        if (count < 0) {
+            throw new IOException("Corrupt person file header: record count " + count);
+        }
+        this.recordSize = PersonRecordFormat.recordSize(nameWidth);
+        // Divided rather than multiplied, so a corrupt count can't overflow
+        if (count > (channel.size() - HEADER_SIZE) / recordSize) {
+            throw new IOException(String.format("Truncated person file: %d records of %d bytes, file has %d bytes",
+                    count, recordSize, channel.size()));
+        }
+        this.recordsPerChunk = Integer.MAX_VALUE / recordSize;
+        int chunkCount = (int) ((count + recordsPerChunk - 1) / recordsPerChunk);
+        this.chunks = new ByteBuffer[chunkCount];
+        for (int i = 0; i < chunkCount; i++) {
+            long first = (long) i * recordsPerChunk;
+            long records = Math.min(recordsPerChunk, count - first);
+            chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE + first * recordSize, records * recordSize)
+                    .order(ORDER);
+        }
+    }
+
+    public static PersonFileReader open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, READ);
+        try {
+            return new PersonFileReader(channel);
+        }
+        catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public long size() {
+        return count;
+    }
+
+    public long getId(long index) {
+        return chunk(index).getLong(offset(index) + ID_OFFSET);
+    }
+
+    public int getAge(long index) {
+        return chunk(index).getInt(offset(index) + AGE_OFFSET);
+    }
+
+    public double getHeight(long index) {
+        return chunk(index).getDouble(offset(index) + HEIGHT_OFFSET);
+    }
+
+    public String getName(long index) {
+        ByteBuffer chunk = chunk(index);
+        int offset = offset(index);
+        int length = chunk.getShort(offset + NAME_LENGTH_OFFSET);
+        if (length == NULL_NAME) {
+            return null;
+        }
+        if (length < 0 || length > nameWidth) {
+            throw new UncheckedIOException(new IOException(String.format(
+                    "Corrupt person file: record %d has a name of %d bytes, the name width is %d",
+                    index, length, nameWidth)));
+        }
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = chunk.get(offset + NAME_OFFSET + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * A {@link Person} reading its fields straight from the mapped file. Move it with {@link View#moveTo(long)}.
+     */
+    public View view(long index) {
+        return new View().moveTo(index);
+    }
+
+    /**
+     * Hands the same {@link View}, moved to each record in turn, to the action. Copy the person
+     * ({@link View#copy()}) if it needs to outlive the call.
+     */
+    public void forEach(Consumer<? super Person> action) {
+        Objects.requireNonNull(action);
+        if (count == 0) {
+            return;
+        }
+        View view = new View();
+        for (long index = 0; index < count; index++) {
+            action.accept(view.moveTo(index));
+        }
+    }
+
+    /**
+     * Sequential scan of the numeric fields, walking each mapped chunk record by record.
+     */
+    public void forEachRecord(RecordConsumer consumer) {
+        Objects.requireNonNull(consumer);
+        long index = 0;
+        for (ByteBuffer chunk : chunks) {
+            int end = chunk.limit();
+            for (int offset = 0; offset < end; offset += recordSize) {
+                consumer.accept(index++, chunk.getLong(offset + ID_OFFSET), chunk.getInt(offset + AGE_OFFSET),
+                        chunk.getDouble(offset + HEIGHT_OFFSET));
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private ByteBuffer chunk(long index) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + count);
+        }
+        return chunks[(int) (index / recordsPerChunk)];
+    }
+
+    private int offset(long index) {
+        return (int) (index % recordsPerChunk) * recordSize;
+    }
+
+    /**
+     * A reusable flyweight over one record. Being a {@link Person}, it can be handed to existing code,
+     * but it changes whenever it is moved - don't keep it in collections.
+     */
+    public class View extends Person {
+
+        private long index;
+
+        private View() {
+            super(0, null, 0, 0);
+        }
+
+        public View moveTo(long index) {
+            chunk(index);
+            this.index = index;
+            return this;
+        }
+
+        public long index() {
+            return index;
+        }
+
+        @Override
+        public long getId() {
+            return PersonFileReader.this.getId(index);
+        }
+
+        @Override
+        public String getName() {
+            return PersonFileReader.this.getName(index);
+        }
+
+        @Override
+        public int getAge() {
+            return PersonFileReader.this.getAge(index);
+        }
+
+        @Override
+        public double getHeight() {
+            return PersonFileReader.this.getHeight(index);
+        }
+
+        public Person copy() {
+            return new Person(getId(), getName(), getAge(), getHeight());
+        }
+    }
+
+    @FunctionalInterface
+    public interface RecordConsumer {
+        void accept(long index, long id, int age, double height);
+    }
+}
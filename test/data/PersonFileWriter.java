@@ -0,0 +1,124 @@
+package com.att.tlv.training.test.data;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Objects;
+
+import static com.att.tlv.training.test.data.PersonRecordFormat.AGE_OFFSET;
+import static com.att.tlv.training.test.data.PersonRecordFormat.COUNT_OFFSET;
+import static com.att.tlv.training.test.data.PersonRecordFormat.HEADER_SIZE;
+import static com.att.tlv.training.test.data.PersonRecordFormat.HEIGHT_OFFSET;
+import static com.att.tlv.training.test.data.PersonRecordFormat.ID_OFFSET;
+import static com.att.tlv.training.test.data.PersonRecordFormat.MAGIC;
+import static com.att.tlv.training.test.data.PersonRecordFormat.MAGIC_OFFSET;
+import static com.att.tlv.training.test.data.PersonRecordFormat.NAME_LENGTH_OFFSET;
+import static com.att.tlv.training.test.data.PersonRecordFormat.NAME_OFFSET;
+import static com.att.tlv.training.test.data.PersonRecordFormat.NAME_WIDTH_OFFSET;
+import static com.att.tlv.training.test.data.PersonRecordFormat.NULL_NAME;
+import static com.att.tlv.training.test.data.PersonRecordFormat.ORDER;
+import static com.att.tlv.training.test.data.PersonRecordFormat.VERSION;
+import static com.att.tlv.training.test.data.PersonRecordFormat.VERSION_OFFSET;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Writes {@link Person}s in the {@link PersonRecordFormat fixed-width record format}.
+ * The record count in the header is only written on {@link #close()}, so an unclosed file reads as empty.
+ */
+public class PersonFileWriter implements Closeable {
+
+    private static final int RECORDS_PER_WRITE = 4096;
+
+    private final FileChannel channel;
+    private final int nameWidth;
+    private final int recordSize;
+    private final ByteBuffer buffer;
+    private long count;
+
+    public PersonFileWriter(Path file) throws IOException {
+        this(file, PersonRecordFormat.DEFAULT_NAME_WIDTH);
+    }
+
+    public PersonFileWriter(Path file, int nameWidth) throws IOException {
+        if (nameWidth < 0 || nameWidth > PersonRecordFormat.MAX_NAME_WIDTH) {
+            throw new IllegalArgumentException("Invalid name width: " + nameWidth);
+        }
+        this.nameWidth = nameWidth;
+        this.recordSize = PersonRecordFormat.recordSize(nameWidth);
+        this.buffer = ByteBuffer.allocateDirect(recordSize * RECORDS_PER_WRITE).order(ORDER);
+        this.channel = FileChannel.open(file, CREATE, TRUNCATE_EXISTING, WRITE);
+        writeHeader();
+        channel.position(HEADER_SIZE);
+    }
+
+    public void write(Person person) throws IOException {
+        Objects.requireNonNull(person);
+        write(person.getId(), person.getName(), person.getAge(), person.getHeight());
+    }
+
+    public void write(long id, String name, int age, double height) throws IOException {
+        byte[] nameBytes = name == null ? null : name.getBytes(StandardCharsets.UTF_8);
+        if (nameBytes != null && nameBytes.length > nameWidth) {
+            throw new IllegalArgumentException(String.format("Name of person %d is %d bytes long, the limit is %d",
+                    id, nameBytes.length, nameWidth));
+        }
+        if (buffer.remaining() < recordSize) {
+            flush();
+        }
+        int record = buffer.position();
+        buffer.putLong(record + ID_OFFSET, id);
+        buffer.putDouble(record + HEIGHT_OFFSET, height);
+        buffer.putInt(record + AGE_OFFSET, age);
+        buffer.putShort(record + NAME_LENGTH_OFFSET, (short) (nameBytes == null ? NULL_NAME : nameBytes.length));
+        int nameLength = nameBytes == null ? 0 : nameBytes.length;
+        for (int i = 0; i < nameLength; i++) {
+            buffer.put(record + NAME_OFFSET + i, nameBytes[i]);
+        }
+        // Zero the padding so files are reproducible
+        for (int i = nameLength; i < nameWidth; i++) {
+            buffer.put(record + NAME_OFFSET + i, (byte) 0);
+        }
+        buffer.position(record + recordSize);
+        count++;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+            writeHeader();
+        }
+        finally {
+            channel.close();
+        }
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private void writeHeader() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ORDER);
+        header.putInt(MAGIC_OFFSET, MAGIC)
+                .putInt(VERSION_OFFSET, VERSION)
+                .putInt(NAME_WIDTH_OFFSET, nameWidth)
+                .putLong(COUNT_OFFSET, count);
+        long position = 0;
+        while (header.hasRemaining()) {
+            position += channel.write(header, position);
+        }
+    }
+}
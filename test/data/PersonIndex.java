@@ -0,0 +1,306 @@
+package com.att.tlv.training.test.data;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collector;
+
+/**
+ * An open-addressing hash index of {@link Person}s by {@link Person#getId()}.
+ * Keys are kept in a {@code long[]} (no boxing, no per-entry nodes) and collisions are resolved by linear probing,
+ * with backward-shift deletion so no tombstones are left behind.
+ */
+public class PersonIndex {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.75f;
+
+    private long[] keys;
+    // A null value marks a free slot, so null persons are not accepted
+    private Person[] values;
+    private int size;
+    private int mask;
+    private int shift;
+    private int threshold;
+
+    private Map<Long, Person> mapView;
+
+    public PersonIndex() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public PersonIndex(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Negative size: " + expectedSize);
+        }
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    /**
+     * Like {@code toMap(Person::getId, identity())}: fails with {@link IllegalStateException} on a duplicate id.
+     */
+    public static Collector<Person, ?, PersonIndex> toPersonIndex() {
+        return Collector.of(PersonIndex::new,
+                PersonIndex::putUnique,
+                (left, right) -> {
+                    right.forEach(left::putUnique);
+                    return left;
+                },
+                Collector.Characteristics.IDENTITY_FINISH);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public Person get(long id) {
+        int slot = find(id);
+        return slot < 0 ? null : values[slot];
+    }
+
+    public boolean containsKey(long id) {
+        return find(id) >= 0;
+    }
+
+    /**
+     * Indexes the person by its id, returning the person previously stored under that id (or null).
+     */
+    public Person put(Person person) {
+        Objects.requireNonNull(person);
+        return put(person.getId(), person);
+    }
+
+    public Person put(long id, Person person) {
+        Objects.requireNonNull(person);
+        int slot = slot(id);
+        while (values[slot] != null) {
+            if (keys[slot] == id) {
+                Person previous = values[slot];
+                values[slot] = person;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = id;
+        values[slot] = person;
+        if (++size > threshold) {
+            rehash(values.length << 1);
+        }
+        return null;
+    }
+
+    public Person remove(long id) {
+        int slot = find(id);
+        if (slot < 0) {
+            return null;
+        }
+        Person previous = values[slot];
+        shiftBack(slot);
+        size--;
+        return previous;
+    }
+
+    public void clear() {
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    public void forEach(Consumer<? super Person> action) {
+        Objects.requireNonNull(action);
+        for (Person person : values) {
+            if (person != null) {
+                action.accept(person);
+            }
+        }
+    }
+
+    /**
+     * A live {@code Map<Long, Person>} view for code (and assertions) written against the map interface.
+     * Lookups unbox once per call; iteration boxes every key it returns.
+     */
+    public Map<Long, Person> asMap() {
+        if (mapView == null) {
+            mapView = new MapView();
+        }
+        return mapView;
+    }
+
+    private void putUnique(Person person) {
+        Person previous = put(person);
+        if (previous != null) {
+            throw new IllegalStateException(String.format("Duplicate key %s", previous.getId()));
+        }
+    }
+
+    private int find(long id) {
+        int slot = slot(id);
+        while (values[slot] != null) {
+            if (keys[slot] == id) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private int slot(long id) {
+        // Fibonacci hashing: take the top bits of the product so sequential ids spread out
+        return (int) ((id * 0x9E3779B97F4A7C15L) >>> shift);
+    }
+
+    private void shiftBack(int free) {
+        int current = free;
+        while (true) {
+            current = (current + 1) & mask;
+            if (values[current] == null) {
+                break;
+            }
+            int home = slot(keys[current]);
+            // Move the entry back only if its home slot is not in the (cyclic) range (free, current]
+            if (((current - home) & mask) >= ((current - free) & mask)) {
+                keys[free] = keys[current];
+                values[free] = values[current];
+                free = current;
+            }
+        }
+        values[free] = null;
+    }
+
+    private void rehash(int newCapacity) {
+        long[] oldKeys = keys;
+        Person[] oldValues = values;
+        allocate(newCapacity);
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != null) {
+                int slot = slot(oldKeys[i]);
+                while (values[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Person[capacity];
+        mask = capacity - 1;
+        shift = 64 - Integer.numberOfTrailingZeros(capacity);
+        threshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    static int tableSizeFor(int expectedSize) {
+        long needed = Math.max(DEFAULT_CAPACITY, (long) Math.ceil(expectedSize / LOAD_FACTOR) + 1);
+        if (needed > 1 << 30) {
+            throw new IllegalArgumentException("Too many entries: " + expectedSize);
+        }
+        return Integer.highestOneBit((int) needed - 1) << 1;
+    }
+
+    private class MapView extends AbstractMap<Long, Person> {
+
+        private final Set<Entry<Long, Person>> entrySet = new EntrySet();
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return key instanceof Long && PersonIndex.this.containsKey((Long) key);
+        }
+
+        @Override
+        public Person get(Object key) {
+            return key instanceof Long ? PersonIndex.this.get((Long) key) : null;
+        }
+
+        @Override
+        public Person put(Long key, Person value) {
+            return PersonIndex.this.put(key, value);
+        }
+
+        @Override
+        public Person remove(Object key) {
+            return key instanceof Long ? PersonIndex.this.remove((Long) key) : null;
+        }
+
+        @Override
+        public void clear() {
+            PersonIndex.this.clear();
+        }
+
+        @Override
+        public Set<Entry<Long, Person>> entrySet() {
+            return entrySet;
+        }
+    }
+
+    private class EntrySet extends AbstractSet<Map.Entry<Long, Person>> {
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+            Map.Entry<?, ?> entry = (Map.Entry<?, ?>) o;
+            Object key = entry.getKey();
+            return key instanceof Long && entry.getValue() != null && entry.getValue().equals(get((Long) key));
+        }
+
+        @Override
+        public void clear() {
+            PersonIndex.this.clear();
+        }
+
+        @Override
+        public Iterator<Map.Entry<Long, Person>> iterator() {
+            // Removal through the iterator is not supported: backward shifting could move
+            // entries that were not visited yet into slots that were
+            return new Iterator<Map.Entry<Long, Person>>() {
+
+                private int next = advance(0);
+
+                @Override
+                public boolean hasNext() {
+                    return next < values.length;
+                }
+
+                @Override
+                public Map.Entry<Long, Person> next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    Map.Entry<Long, Person> entry = new AbstractMap.SimpleImmutableEntry<>(keys[next], values[next]);
+                    next = advance(next + 1);
+                    return entry;
+                }
+            };
+        }
+
+        private int advance(int from) {
+            int slot = from;
+            while (slot < values.length && values[slot] == null) {
+                slot++;
+            }
+            return slot;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.att.tlv.training.test.data;
+
+import org.junit.Test;
+
+import java.util.Map;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static com.att.tlv.training.test.data.PersonIndex.toPersonIndex;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.assertj.core.api.Assertions.entry;
+
+public class PersonIndexBasics {
+
+    @Test
+    public void putGetRemove() {
+        PersonIndex index = new PersonIndex();
+        Person jim = new Person(444, "Jim", 30, 1.85d);
+        Person otherJim = new Person(444, "Jimmy", 31, 1.85d);
+
+        assertThat(index.put(jim)).isNull();
+        assertThat(index.containsKey(444)).isTrue();
+        assertThat(index.get(444)).isSameAs(jim);
+
+        // Same id - replaces the previous person and returns it
+        assertThat(index.put(otherJim)).isSameAs(jim);
+        assertThat(index.size()).isEqualTo(1);
+
+        assertThat(index.remove(444)).isSameAs(otherJim);
+        assertThat(index.remove(444)).isNull();
+        assertThat(index.containsKey(444)).isFalse();
+        assertThat(index.isEmpty()).isTrue();
+    }
+
+    @Test
+    public void removeKeepsCollidingEntriesReachable() {
+        PersonIndex index = new PersonIndex();
+        LongStream.range(0, 10_000).forEach(id -> index.put(new Person(id, "P" + id, 30, 1.80d)));
+
+        LongStream.range(0, 10_000).filter(id -> id % 3 == 0).forEach(index::remove);
+
+        assertThat(index.size()).isEqualTo(6_666);
+        LongStream.range(0, 10_000).forEach(id -> assertThat(index.containsKey(id)).isEqualTo(id % 3 != 0));
+    }
+
+    @Test
+    public void collectLikeToMap() {
+        Person jim = new Person(444, "Jim", 30, 1.85d);
+        Person alice = new Person(555, "Alice", 30, 1.65d);
+        Person carl = new Person(666, "Carl", 20, 1.95d);
+
+        PersonIndex index = Stream.of(jim, alice, carl).collect(toPersonIndex());
+        assertThat(index.get(555)).isSameAs(alice);
+
+        // Just like toMap(), duplicate keys are rejected
+        assertThatIllegalStateException()
+                .isThrownBy(() -> Stream.of(jim, new Person(444, "Jimmy", 31, 1.85d)).collect(toPersonIndex()));
+    }
+
+    @Test
+    public void mapView() {
+        Person jim = new Person(444, "Jim", 30, 1.85d);
+        Person alice = new Person(555, "Alice", 30, 1.65d);
+        Person carl = new Person(666, "Carl", 20, 1.95d);
+        Map<Long, Person> persons = Stream.of(jim, alice, carl).collect(toPersonIndex()).asMap();
+
+        // The same assertions as in MapAssertions work on the view
+        assertThat(persons).hasSize(3)
+                .contains(entry(444L, jim), entry(555L, alice))
+                .containsOnlyKeys(444L, 555L, 666L)
+                .doesNotContainKey(777L)
+                .containsValues(jim, alice);
+
+        persons.remove(555L);
+        assertThat(persons).containsOnly(entry(444L, jim), entry(666L, carl));
+
+        persons.clear();
+        assertThat(persons).isEmpty();
+    }
+}
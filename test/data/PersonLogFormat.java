@@ -0,0 +1,124 @@
+package com.att.tlv.training.test.data;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.zip.CRC32;
+
+/**
+ * Layout of the segment files of a {@link PersonChangeLog}, named by their 19 digit segment number
+ * ({@code 0000000000000000042.log}).
+ * <p>
+ * Every segment starts with a {@value #HEADER_SIZE} byte header:
+ * <pre>
+ *  0  int   magic ("PLOG")
+ *  4  int   format version
+ *  8  long  segment number
+ * 16  int   flags - {@link #COMPACTED} for a segment holding the whole state as of its end, which makes all the
+ *           segments before it obsolete
+ * 24  long  number of persons, in compacted segments
+ * </pre>
+ * followed by records, each a {@value #RECORD_HEADER_SIZE} byte record header and a body:
+ * <pre>
+ *  0  int     body length, 0 where no record was written yet
+ *  4  int     CRC32 of the body
+ *  8  byte    type, {@link #PUT} or {@link #REMOVE}
+ *  9  long    id
+ *     put records only:
+ * 17  double  height
+ * 25  int     age
+ * 29  short   name length in bytes, -1 for a null name
+ * 31  byte[]  name, UTF-8
+ * </pre>
+ * Segments are created at their full size and filled with zeros, so the records end at the first zero length - or
+ * at the first record failing its checksum, if the log was not closed cleanly. Everything is little-endian.
+ */
+final class PersonLogFormat {
+
+    static final int MAGIC = 0x504C4F47;
+    static final int VERSION = 1;
+    static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+    static final String SUFFIX = ".log";
+
+    static final int HEADER_SIZE = 64;
+    static final int MAGIC_OFFSET = 0;
+    static final int VERSION_OFFSET = 4;
+    static final int NUMBER_OFFSET = 8;
+    static final int FLAGS_OFFSET = 16;
+    static final int COUNT_OFFSET = 24;
+    static final int COMPACTED = 1;
+
+    static final int RECORD_HEADER_SIZE = 8;
+    static final int LENGTH_OFFSET = 0;
+    static final int CRC_OFFSET = 4;
+    static final int TYPE_OFFSET = 8;
+    static final int ID_OFFSET = 9;
+    static final int HEIGHT_OFFSET = 17;
+    static final int AGE_OFFSET = 25;
+    static final int NAME_LENGTH_OFFSET = 29;
+    static final int NAME_OFFSET = 31;
+
+    static final byte PUT = 1;
+    static final byte REMOVE = 2;
+    static final int NULL_NAME = -1;
+    static final int MAX_NAME_LENGTH = Short.MAX_VALUE;
+    static final int REMOVE_SIZE = ID_OFFSET + Long.BYTES;
+    static final int MAX_RECORD_SIZE = NAME_OFFSET + MAX_NAME_LENGTH;
+
+    private PersonLogFormat() {
+    }
+
+    static String segmentName(long number) {
+        return String.format("%019d%s", number, SUFFIX);
+    }
+
+    static int putSize(byte[] name) {
+        return NAME_OFFSET + (name == null ? 0 : name.length);
+    }
+
+    /**
+     * Writes a put record at the offset of an array-backed buffer, returning its size.
+     */
+    static int writePut(ByteBuffer buffer, int offset, CRC32 crc, long id, byte[] name, int age, double height) {
+        int size = putSize(name);
+        buffer.put(offset + TYPE_OFFSET, PUT)
+                .putLong(offset + ID_OFFSET, id)
+                .putDouble(offset + HEIGHT_OFFSET, height)
+                .putInt(offset + AGE_OFFSET, age)
+                .putShort(offset + NAME_LENGTH_OFFSET, (short) (name == null ? NULL_NAME : name.length));
+        if (name != null) {
+            System.arraycopy(name, 0, buffer.array(), buffer.arrayOffset() + offset + NAME_OFFSET, name.length);
+        }
+        return seal(buffer, offset, size, crc);
+    }
+
+    static int writeRemove(ByteBuffer buffer, int offset, CRC32 crc, long id) {
+        buffer.put(offset + TYPE_OFFSET, REMOVE)
+                .putLong(offset + ID_OFFSET, id);
+        return seal(buffer, offset, REMOVE_SIZE, crc);
+    }
+
+    static int crc(byte[] bytes, int offset, int length, CRC32 crc) {
+        crc.reset();
+        crc.update(bytes, offset, length);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * The checksum of the bytes at the offset, moving the buffer's limit and position over them.
+     */
+    static int crc(ByteBuffer buffer, int offset, int length, CRC32 crc) {
+        buffer.limit(offset + length);
+        buffer.position(offset);
+        crc.reset();
+        crc.update(buffer);
+        return (int) crc.getValue();
+    }
+
+    private static int seal(ByteBuffer buffer, int offset, int size, CRC32 crc) {
+        int bodyLength = size - RECORD_HEADER_SIZE;
+        buffer.putInt(offset + LENGTH_OFFSET, bodyLength)
+                .putInt(offset + CRC_OFFSET,
+                        crc(buffer.array(), buffer.arrayOffset() + offset + TYPE_OFFSET, bodyLength, crc));
+        return size;
+    }
+}
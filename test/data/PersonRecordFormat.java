@@ -0,0 +1,54 @@
+package com.att.tlv.training.test.data;
+
+import java.nio.ByteOrder;
+
+/**
+ * Layout of the fixed-width binary {@link Person} file written by {@link PersonFileWriter} and read by
+ * {@link PersonFileReader}.
+ * <p>
+ * The file starts with a {@value #HEADER_SIZE} byte header:
+ * <pre>
+ *  0  int   magic ("PRSN")
+ *  4  int   format version
+ *  8  int   name width - bytes reserved for the UTF-8 name in every record
+ * 16  long  record count
+ * </pre>
+ * followed by {@code count} records of {@code 22 + nameWidth} bytes each (64 with the default name width):
+ * <pre>
+ *  0  long    id
+ *  8  double  height
+ * 16  int     age
+ * 20  short   name length in bytes, -1 for a null name
+ * 22  byte[]  name, UTF-8, zero padded to the name width
+ * </pre>
+ * Everything is little-endian.
+ */
+final class PersonRecordFormat {
+
+    static final int MAGIC = 0x5052534E;
+    static final int VERSION = 1;
+    static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    static final int HEADER_SIZE = 64;
+    static final int MAGIC_OFFSET = 0;
+    static final int VERSION_OFFSET = 4;
+    static final int NAME_WIDTH_OFFSET = 8;
+    static final int COUNT_OFFSET = 16;
+
+    static final int ID_OFFSET = 0;
+    static final int HEIGHT_OFFSET = 8;
+    static final int AGE_OFFSET = 16;
+    static final int NAME_LENGTH_OFFSET = 20;
+    static final int NAME_OFFSET = 22;
+
+    static final int DEFAULT_NAME_WIDTH = 42;
+    static final int MAX_NAME_WIDTH = Short.MAX_VALUE;
+    static final int NULL_NAME = -1;
+
+    private PersonRecordFormat() {
+    }
+
+    static int recordSize(int nameWidth) {
+        return NAME_OFFSET + nameWidth;
+    }
+}
@@ -0,0 +1,317 @@
+package com.att.tlv.training.test.data;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * A concurrent registry of {@link Person}s by id, with a secondary index on age.
+ * <p>
+ * Writers only contend when they hit the same lock stripe (ids are spread over the stripes by hash).
+ * Every write gets a stamp from a global clock and is added as a new version of the person, so readers work on
+ * {@link Snapshot}s that take no locks at all: a snapshot sees, for every id, the newest version stamped no later
+ * than the snapshot itself.
+ * <p>
+ * The age index may hold more ids than match a given age (versions still visible to open snapshots, or about to
+ * become visible) but never fewer: a writer indexes the new age before publishing the version. Queries resolve every
+ * indexed id against the snapshot and keep only the ones whose visible version really has that age, so the primary
+ * and secondary views of a snapshot always agree. Old versions and stale index entries are dropped once no open
+ * snapshot can see them.
+ * <p>
+ * Each write touches a single person, so a snapshot is consistent per person: it never returns the same person
+ * twice, or two versions of it, and repeated reads of an id give the same answer. Snapshots must be closed - an open
+ * snapshot keeps the versions it can see alive.
+ */
+public class PersonRegistry {
+
+    private static final long PENDING = Long.MAX_VALUE;
+
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicLong snapshotSerials = new AtomicLong();
+    private final ConcurrentHashMap<Long, Version> heads = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<Integer, Set<Long>> byAge = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListSet<Snapshot> openSnapshots = new ConcurrentSkipListSet<>(
+            Comparator.<Snapshot>comparingLong(snapshot -> snapshot.floor).thenComparingLong(snapshot -> snapshot.serial));
+    private final Queue<Reclaim> pendingReclaims = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock[] stripes;
+
+    public PersonRegistry() {
+        this(Runtime.getRuntime().availableProcessors() * 16);
+    }
+
+    public PersonRegistry(int concurrencyLevel) {
+        if (concurrencyLevel <= 0) {
+            throw new IllegalArgumentException("Concurrency level must be positive: " + concurrencyLevel);
+        }
+        stripes = new ReentrantLock[Integer.highestOneBit(concurrencyLevel * 2 - 1)];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Adds or replaces the person with the same id, returning the replaced one (or null).
+     */
+    public Person put(Person person) {
+        Objects.requireNonNull(person);
+        return write(person.getId(), person);
+    }
+
+    public Person remove(long id) {
+        return write(id, null);
+    }
+
+    /**
+     * The latest version of the person - no snapshot needed for a single read.
+     */
+    public Person get(long id) {
+        Version version = heads.get(id);
+        if (version != null && version.stamp == PENDING) {
+            // Still being written - the previous version is the latest one
+            version = version.previous;
+        }
+        return version == null ? null : version.person;
+    }
+
+    public Snapshot snapshot() {
+        return new Snapshot();
+    }
+
+    public List<Person> agedBetween(int minAge, int maxAge) {
+        try (Snapshot snapshot = snapshot()) {
+            return snapshot.agedBetween(minAge, maxAge);
+        }
+    }
+
+    private Person write(long id, Person person) {
+        ReentrantLock lock = stripe(id);
+        Reclaim reclaim = null;
+        Person previous;
+        lock.lock();
+        try {
+            Version head = heads.get(id);
+            previous = head == null ? null : head.person;
+            if (person == null && previous == null) {
+                return null;
+            }
+            if (person != null) {
+                // Index first: a version must never be visible before its age entry
+                byAge.computeIfAbsent(person.getAge(), age -> ConcurrentHashMap.newKeySet()).add(id);
+            }
+            Version version = new Version(person, head);
+            heads.put(id, version);
+            version.stamp = clock.incrementAndGet();
+
+            long oldest = oldestVisibleStamp();
+            prune(version, oldest);
+            boolean ageChanged = previous != null && (person == null || person.getAge() != previous.getAge());
+            if (ageChanged || person == null) {
+                reclaim = new Reclaim(id, previous == null ? null : previous.getAge(), version.stamp);
+                if (reclaimLocked(reclaim, oldest)) {
+                    reclaim = null;
+                }
+            }
+        }
+        finally {
+            lock.unlock();
+        }
+        if (reclaim != null) {
+            pendingReclaims.add(reclaim);
+        }
+        return previous;
+    }
+
+    private Person resolve(long id, long stamp) {
+        for (Version version = heads.get(id); version != null; version = version.previous) {
+            long versionStamp = version.stamp;
+            while (versionStamp == PENDING) {
+                // The writer is between publishing the version and stamping it - a matter of nanoseconds
+                Thread.yield();
+                versionStamp = version.stamp;
+            }
+            if (versionStamp <= stamp) {
+                return version.person;
+            }
+        }
+        return null;
+    }
+
+    private long oldestVisibleStamp() {
+        Iterator<Snapshot> iterator = openSnapshots.iterator();
+        return iterator.hasNext() ? iterator.next().floor : Long.MAX_VALUE;
+    }
+
+    /**
+     * Drops the versions older than the newest one every open snapshot can see.
+     */
+    private static void prune(Version head, long oldest) {
+        for (Version version = head; version != null; version = version.previous) {
+            if (version.stamp <= oldest) {
+                version.previous = null;
+                return;
+            }
+        }
+    }
+
+    private boolean reclaimLocked(Reclaim reclaim, long oldest) {
+        if (reclaim.stamp > oldest) {
+            return false;
+        }
+        Version head = heads.get(reclaim.id);
+        if (head == null) {
+            return true;
+        }
+        prune(head, oldest);
+        if (reclaim.staleAge != null) {
+            boolean stillVisible = false;
+            for (Version version = head; version != null; version = version.previous) {
+                stillVisible |= version.person != null && version.person.getAge() == reclaim.staleAge;
+            }
+            if (!stillVisible) {
+                Set<Long> ids = byAge.get(reclaim.staleAge);
+                if (ids != null) {
+                    ids.remove(reclaim.id);
+                }
+            }
+        }
+        if (head.person == null && head.previous == null) {
+            heads.remove(reclaim.id, head);
+        }
+        return true;
+    }
+
+    private void reclaimPending() {
+        for (int i = pendingReclaims.size(); i > 0; i--) {
+            Reclaim reclaim = pendingReclaims.poll();
+            if (reclaim == null) {
+                return;
+            }
+            ReentrantLock lock = stripe(reclaim.id);
+            boolean done;
+            lock.lock();
+            try {
+                done = reclaimLocked(reclaim, oldestVisibleStamp());
+            }
+            finally {
+                lock.unlock();
+            }
+            if (!done) {
+                pendingReclaims.add(reclaim);
+            }
+        }
+    }
+
+    private ReentrantLock stripe(long id) {
+        return stripes[(int) ((id * 0x9E3779B97F4A7C15L) >>> 32) & (stripes.length - 1)];
+    }
+
+    /**
+     * A point-in-time, lock-free view of the registry. Not thread-safe itself - use one per reading thread.
+     */
+    public class Snapshot implements AutoCloseable {
+
+        private final long serial = snapshotSerials.incrementAndGet();
+        // Registered before the stamp is taken, so no writer can reclaim a version this snapshot can see
+        private final long floor;
+        private final long stamp;
+        private boolean closed;
+
+        private Snapshot() {
+            floor = clock.get();
+            openSnapshots.add(this);
+            stamp = clock.get();
+        }
+
+        public Person get(long id) {
+            checkOpen();
+            return resolve(id, stamp);
+        }
+
+        public void forEach(Consumer<? super Person> action) {
+            Objects.requireNonNull(action);
+            checkOpen();
+            for (Long id : heads.keySet()) {
+                Person person = resolve(id, stamp);
+                if (person != null) {
+                    action.accept(person);
+                }
+            }
+        }
+
+        public void forEachAgedBetween(int minAge, int maxAge, Consumer<? super Person> action) {
+            Objects.requireNonNull(action);
+            checkOpen();
+            if (minAge > maxAge) {
+                return;
+            }
+            for (Map.Entry<Integer, Set<Long>> entry : byAge.subMap(minAge, true, maxAge, true).entrySet()) {
+                int age = entry.getKey();
+                for (Long id : entry.getValue()) {
+                    Person person = resolve(id, stamp);
+                    // An id may be indexed under several ages - it belongs only to the age of its visible version
+                    if (person != null && person.getAge() == age) {
+                        action.accept(person);
+                    }
+                }
+            }
+        }
+
+        public List<Person> agedBetween(int minAge, int maxAge) {
+            List<Person> persons = new ArrayList<>();
+            forEachAgedBetween(minAge, maxAge, persons::add);
+            return persons;
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                openSnapshots.remove(this);
+                reclaimPending();
+            }
+        }
+
+        private void checkOpen() {
+            if (closed) {
+                throw new IllegalStateException("Snapshot is closed");
+            }
+        }
+    }
+
+    private static class Version {
+
+        private final Person person;
+        private volatile Version previous;
+        private volatile long stamp = PENDING;
+
+        Version(Person person, Version previous) {
+            this.person = person;
+            this.previous = previous;
+        }
+    }
+
+    private static class Reclaim {
+
+        private final long id;
+        private final Integer staleAge;
+        private final long stamp;
+
+        Reclaim(long id, Integer staleAge, long stamp) {
+            this.id = id;
+            this.staleAge = staleAge;
+            this.stamp = stamp;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.att.tlv.training.test.data;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PersonRegistryBasics {
+
+    @Test
+    public void putGetRemove() {
+        PersonRegistry registry = new PersonRegistry();
+        Person jim = new Person(444, "Jim", 30, 1.85d);
+
+        assertThat(registry.put(jim)).isNull();
+        assertThat(registry.get(444)).isSameAs(jim);
+
+        Person olderJim = new Person(444, "Jim", 31, 1.85d);
+        assertThat(registry.put(olderJim)).isSameAs(jim);
+        assertThat(registry.agedBetween(30, 30)).isEmpty();
+        assertThat(registry.agedBetween(31, 31)).containsExactly(olderJim);
+
+        assertThat(registry.remove(444)).isSameAs(olderJim);
+        assertThat(registry.get(444)).isNull();
+        assertThat(registry.agedBetween(0, 200)).isEmpty();
+    }
+
+    @Test
+    public void snapshotIsolation() {
+        PersonRegistry registry = new PersonRegistry();
+        Person jim = new Person(444, "Jim", 30, 1.85d);
+        Person alice = new Person(555, "Alice", 30, 1.65d);
+        registry.put(jim);
+        registry.put(alice);
+
+        try (PersonRegistry.Snapshot snapshot = registry.snapshot()) {
+            registry.put(new Person(444, "Jim", 45, 1.85d));
+            registry.remove(555);
+            registry.put(new Person(666, "Carl", 20, 1.95d));
+
+            // The snapshot still sees the registry as it was when it was taken
+            assertThat(snapshot.agedBetween(20, 30)).containsOnly(jim, alice);
+            assertThat(snapshot.get(444).getAge()).isEqualTo(30);
+            assertThat(snapshot.get(666)).isNull();
+        }
+        assertThat(registry.agedBetween(20, 30)).extracting(Person::getName)
+                .containsOnly("Carl");
+    }
+
+    @Test
+    public void snapshotsStayConsistentUnderConcurrentWrites() throws Exception {
+        int persons = 1_000;
+        PersonRegistry registry = new PersonRegistry();
+        for (int id = 0; id < persons; id++) {
+            registry.put(new Person(id, "P" + id, 20 + id % 11, 1.70d));
+        }
+
+        // Writers keep moving persons between ages 20 and 30, so every snapshot must see each of them exactly once
+        AtomicBoolean stop = new AtomicBoolean();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> writers = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            int seed = i;
+            writers.add(executor.submit(() -> {
+                Random random = new Random(seed);
+                while (!stop.get()) {
+                    int id = random.nextInt(persons);
+                    registry.put(new Person(id, "P" + id, 20 + random.nextInt(11), 1.70d));
+                }
+            }));
+        }
+        try {
+            for (int i = 0; i < 50; i++) {
+                try (PersonRegistry.Snapshot snapshot = registry.snapshot()) {
+                    List<Person> all = snapshot.agedBetween(20, 30);
+                    assertThat(all).hasSize(persons)
+                            .doesNotHaveDuplicates();
+                    // And the secondary index agrees with the primary one
+                    assertThat(snapshot.agedBetween(20, 25)).containsExactlyInAnyOrderElementsOf(
+                            all.stream().filter(p -> p.getAge() <= 25).collect(toList()));
+                    all.forEach(person -> assertThat(snapshot.get(person.getId())).isSameAs(person));
+                }
+            }
+        }
+        finally {
+            stop.set(true);
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+            executor.shutdown();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+}
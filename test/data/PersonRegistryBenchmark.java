@@ -0,0 +1,96 @@
+package com.att.tlv.training.test.data;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of 6 writer threads updating persons while 2 reader threads run "aged 20-30" queries:
+ * {@link PersonRegistry} against a synchronized {@code HashMap} scanned under its lock.
+ * Compare the {@code write} and {@code read} results of each group.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Group)
+public class PersonRegistryBenchmark {
+
+    @Param({"100000"})
+    private int size;
+
+    private PersonRegistry registry;
+    private Map<Long, Person> synchronizedMap;
+
+    @Setup
+    public void setUp() {
+        registry = new PersonRegistry();
+        synchronizedMap = Collections.synchronizedMap(new HashMap<>());
+        for (int id = 0; id < size; id++) {
+            Person person = randomPerson(id);
+            registry.put(person);
+            synchronizedMap.put(person.getId(), person);
+        }
+    }
+
+    @Benchmark
+    @Group("registry")
+    @GroupThreads(6)
+    public Person registryWrite() {
+        return registry.put(randomPerson(ThreadLocalRandom.current().nextInt(size)));
+    }
+
+    @Benchmark
+    @Group("registry")
+    @GroupThreads(2)
+    public List<Person> registryRead() {
+        return registry.agedBetween(20, 30);
+    }
+
+    @Benchmark
+    @Group("synchronizedMap")
+    @GroupThreads(6)
+    public Person synchronizedMapWrite() {
+        Person person = randomPerson(ThreadLocalRandom.current().nextInt(size));
+        return synchronizedMap.put(person.getId(), person);
+    }
+
+    @Benchmark
+    @Group("synchronizedMap")
+    @GroupThreads(2)
+    public List<Person> synchronizedMapRead() {
+        List<Person> result = new ArrayList<>();
+        synchronized (synchronizedMap) {
+            for (Person person : synchronizedMap.values()) {
+                if (person.getAge() >= 20 && person.getAge() <= 30) {
+                    result.add(person);
+                }
+            }
+        }
+        return result;
+    }
+
+    private static Person randomPerson(long id) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return new Person(id, "Person" + id % 1000, random.nextInt(100), 1.5d + random.nextDouble() / 2);
+    }
+}
@@ -0,0 +1,151 @@
+package com.att.tlv.training.test.data;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Columnar (struct-of-arrays) storage for {@link Person} rows.
+ * Ids, ages and heights live in primitive arrays, names are kept once in a {@link NamePool} and referenced by handle.
+ */
+public class PersonTable {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private long[] ids;
+    private int[] ages;
+    private double[] heights;
+    private int[] nameRefs;
+    private int size;
+
+    private final NamePool names = new NamePool();
+
+    public PersonTable() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public PersonTable(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Negative capacity: " + initialCapacity);
+        }
+        ids = new long[initialCapacity];
+        ages = new int[initialCapacity];
+        heights = new double[initialCapacity];
+        nameRefs = new int[initialCapacity];
+    }
+
+    public int append(Person person) {
+        Objects.requireNonNull(person);
+        return append(person.getId(), person.getName(), person.getAge(), person.getHeight());
+    }
+
+    public int append(long id, String name, int age, double height) {
+        ensureCapacity(size + 1);
+        int row = size++;
+        ids[row] = id;
+        ages[row] = age;
+        heights[row] = height;
+        nameRefs[row] = names.intern(name);
+        return row;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public long getId(int row) {
+        checkRow(row);
+        return ids[row];
+    }
+
+    public String getName(int row) {
+        checkRow(row);
+        return names.name(nameRefs[row]);
+    }
+
+    /**
+     * Same as {@code Objects.equals(getName(row), name)}, without creating the row's name.
+     */
+    public boolean hasName(int row, String name) {
+        checkRow(row);
+        return names.matches(nameRefs[row], name);
+    }
+
+    public int getAge(int row) {
+        checkRow(row);
+        return ages[row];
+    }
+
+    public double getHeight(int row) {
+        checkRow(row);
+        return heights[row];
+    }
+
+    /**
+     * Materializes a row as a {@link Person} for code that works with the object model.
+     */
+    public Person get(int row) {
+        checkRow(row);
+        return new Person(ids[row], getName(row), ages[row], heights[row]);
+    }
+
+    /**
+     * Like {@link #get(int)}, but the person references the table's name pool instead of having its own name.
+     */
+    public PooledPerson getPooled(int row) {
+        checkRow(row);
+        return new PooledPerson(names, ids[row], nameRefs[row], ages[row], heights[row]);
+    }
+
+    /**
+     * Visits every row in order straight from the columns - no {@link Person} is created.
+     */
+    public void forEachRow(RowConsumer consumer) {
+        Objects.requireNonNull(consumer);
+        for (int row = 0; row < size; row++) {
+            consumer.accept(row, ids[row], ages[row], heights[row]);
+        }
+    }
+
+    public int distinctNames() {
+        return names.size();
+    }
+
+    /**
+     * Approximate retained size of this table in bytes, assuming a 64-bit JVM with compressed oops.
+     * Pooled names are counted once, regardless of how many rows share them.
+     */
+    public long footprintBytes() {
+        return Footprint.align(Footprint.OBJECT_HEADER + 5 * Footprint.REFERENCE + 4)
+                + Footprint.array(ids.length, Long.BYTES)
+                + Footprint.array(ages.length, Integer.BYTES)
+                + Footprint.array(heights.length, Double.BYTES)
+                + Footprint.array(nameRefs.length, Integer.BYTES)
+                + names.footprintBytes();
+    }
+
+    private void ensureCapacity(int minCapacity) {
+        if (minCapacity <= ids.length) {
+            return;
+        }
+        int newCapacity = Math.max(minCapacity, Math.max(DEFAULT_CAPACITY, ids.length + (ids.length >> 1)));
+        ids = Arrays.copyOf(ids, newCapacity);
+        ages = Arrays.copyOf(ages, newCapacity);
+        heights = Arrays.copyOf(heights, newCapacity);
+        nameRefs = Arrays.copyOf(nameRefs, newCapacity);
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row: " + row + ", size: " + size);
+        }
+    }
+
+    @FunctionalInterface
+    public interface RowConsumer {
+        void accept(int row, long id, int age, double height);
+    }
+}
@@ -0,0 +1,76 @@
+package com.att.tlv.training.test.data;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+public class PersonTableBasics {
+
+    @Test
+    public void appendAndReadRows() {
+        PersonTable table = new PersonTable(1);
+        int jimRow = table.append(new Person(444, "Jim", 30, 1.85d));
+        int carlRow = table.append(666, "Carl", 20, 1.95d);
+
+        assertThat(table.size()).isEqualTo(2);
+        assertThat(jimRow).isZero();
+        assertThat(carlRow).isEqualTo(1);
+
+        assertThat(table.getId(carlRow)).isEqualTo(666L);
+        assertThat(table.getName(carlRow)).isEqualTo("Carl");
+        assertThat(table.getAge(carlRow)).isEqualTo(20);
+        assertThat(table.getHeight(carlRow)).isEqualTo(1.95d);
+
+        assertThatExceptionOfType(IndexOutOfBoundsException.class).isThrownBy(() -> table.getAge(2));
+    }
+
+    @Test
+    public void personViewOfRow() {
+        PersonTable table = new PersonTable();
+        table.append(new Person(444, "Jim", 30, 1.85d));
+
+        // Person.equals() compares ids, so compare field by field to make sure nothing got lost
+        assertThat(table.get(0)).isEqualToComparingFieldByField(new Person(444, "Jim", 30, 1.85d));
+    }
+
+    @Test
+    public void scanWithoutMaterializing() {
+        PersonTable table = new PersonTable();
+        table.append(444, "Jim", 30, 1.85d);
+        table.append(555, "Alice", 30, 1.65d);
+        table.append(666, "Carl", 20, 1.95d);
+
+        List<Long> thirtyYearOlds = new ArrayList<>();
+        table.forEachRow((row, id, age, height) -> {
+            if (age == 30) {
+                thirtyYearOlds.add(id);
+            }
+        });
+        assertThat(thirtyYearOlds).containsExactly(444L, 555L);
+    }
+
+    @Test
+    public void namesArePooled() {
+        PersonTable table = new PersonTable();
+        for (int i = 0; i < 1000; i++) {
+            table.append(i, i % 2 == 0 ? "John" : "Jane", 30, 1.80d);
+        }
+        assertThat(table.distinctNames()).isEqualTo(2);
+        assertThat(table.getName(998)).isEqualTo("John");
+    }
+
+    @Test
+    public void smallerThanListOfPersons() {
+        List<Person> persons = Footprint.parsedPersons(100_000, 100);
+        PersonTable table = new PersonTable(persons.size());
+        persons.forEach(table::append);
+
+        long tableBytes = table.footprintBytes();
+        long listBytes = Footprint.printComparison(persons, "PersonTable", tableBytes);
+        assertThat(tableBytes).isLessThan(listBytes / 2);
+    }
+}
@@ -0,0 +1,57 @@
+package com.att.tlv.training.test.data;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Allocation cost of {@link Point}, alone and when building a list of points - as objects or packed in a {@link PointList}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PointBenchmark {
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    private int x = 1;
+    private int y = 2;
+
+    @Benchmark
+    public Point construct() {
+        return new Point(x, y);
+    }
+
+    @Benchmark
+    public List<Point> buildList() {
+        List<Point> points = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            points.add(new Point(i, -i));
+        }
+        return points;
+    }
+
+    @Benchmark
+    public PointList buildPointList() {
+        PointList points = new PointList(size);
+        for (int i = 0; i < size; i++) {
+            points.add(i, -i);
+        }
+        return points;
+    }
+}
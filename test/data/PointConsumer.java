@@ -0,0 +1,10 @@
+package com.att.tlv.training.test.data;
+
+/**
+ * Receives point coordinates without a {@link Point} having to be created for them.
+ */
+@FunctionalInterface
+public interface PointConsumer {
+
+    void accept(int x, int y);
+}
@@ -0,0 +1,399 @@
+package com.att.tlv.training.test.data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+import static com.att.tlv.training.test.data.PointList.pack;
+import static com.att.tlv.training.test.data.PointList.unpackX;
+import static com.att.tlv.training.test.data.PointList.unpackY;
+
+/**
+ * A uniform grid spatial index over {@link Point}s.
+ * Every non-empty cell keeps its points packed into a {@code long[]} ({@code x} in the high 32 bits, {@code y} in the
+ * low ones), and cells are found through an open-addressing table keyed by the packed cell coordinates, so the grid
+ * does not need to know the extent of the data up front.
+ * <p>
+ * Pick a cell size that puts a handful of points in a typical cell: queries touch only the cells overlapping the
+ * searched area, so their cost depends on the local density and not on the total number of points.
+ */
+public class PointGrid {
+
+    private static final float LOAD_FACTOR = 0.5f;
+    private static final int INITIAL_CELL_CAPACITY = 4;
+
+    private final int cellSize;
+
+    private long[] cellKeys;
+    private Cell[] cells;
+    private int cellCount;
+    private int mask;
+    private int shift;
+
+    private int size;
+    private int minCellX = Integer.MAX_VALUE;
+    private int minCellY = Integer.MAX_VALUE;
+    private int maxCellX = Integer.MIN_VALUE;
+    private int maxCellY = Integer.MIN_VALUE;
+
+    public PointGrid(int cellSize) {
+        if (cellSize <= 0) {
+            throw new IllegalArgumentException("Cell size must be positive: " + cellSize);
+        }
+        this.cellSize = cellSize;
+        allocate(16);
+    }
+
+    public static PointGrid of(Iterable<Point> points, int cellSize) {
+        PointGrid grid = new PointGrid(cellSize);
+        grid.insertAll(points);
+        return grid;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void insert(Point point) {
+        Objects.requireNonNull(point);
+        insert(point.getX(), point.getY());
+    }
+
+    public void insert(int x, int y) {
+        int cellX = cellOf(x);
+        int cellY = cellOf(y);
+        Cell cell = cell(cellX, cellY);
+        if (cell == null) {
+            cell = addCell(cellX, cellY);
+        }
+        cell.add(pack(x, y));
+        size++;
+    }
+
+    /**
+     * Bulk load: points are bucketed by cell first so every cell array is allocated once, at its final size.
+     */
+    public void insertAll(Iterable<Point> points) {
+        Objects.requireNonNull(points);
+        List<Point> buffered = new ArrayList<>();
+        points.forEach(buffered::add);
+        for (Point point : buffered) {
+            int cellX = cellOf(point.getX());
+            int cellY = cellOf(point.getY());
+            Cell cell = cell(cellX, cellY);
+            if (cell == null) {
+                cell = addCell(cellX, cellY);
+            }
+            cell.reserved++;
+        }
+        for (int i = 0; i < cells.length; i++) {
+            if (cells[i] != null) {
+                cells[i].reserve();
+            }
+        }
+        for (Point point : buffered) {
+            cell(cellOf(point.getX()), cellOf(point.getY())).add(pack(point.getX(), point.getY()));
+        }
+        size += buffered.size();
+    }
+
+    /**
+     * Visits every point inside the rectangle, bounds included, without creating {@link Point} objects.
+     */
+    public void forEachInRange(int minX, int minY, int maxX, int maxY, PointConsumer consumer) {
+        Objects.requireNonNull(consumer);
+        if (minX > maxX || minY > maxY || size == 0) {
+            return;
+        }
+        int fromCellX = Math.max(cellOf(minX), minCellX);
+        int toCellX = Math.min(cellOf(maxX), maxCellX);
+        int fromCellY = Math.max(cellOf(minY), minCellY);
+        int toCellY = Math.min(cellOf(maxY), maxCellY);
+        if (fromCellX > toCellX || fromCellY > toCellY) {
+            return;
+        }
+        if (((long) toCellX - fromCellX + 1) * ((long) toCellY - fromCellY + 1) > cellCount) {
+            // The rectangle spans more cells than there are occupied ones - walk the occupied cells instead
+            for (int i = 0; i < cells.length; i++) {
+                if (cells[i] != null) {
+                    cells[i].forEachInRange(minX, minY, maxX, maxY, consumer);
+                }
+            }
+            return;
+        }
+        for (int cellX = fromCellX; cellX <= toCellX; cellX++) {
+            for (int cellY = fromCellY; cellY <= toCellY; cellY++) {
+                Cell cell = cell(cellX, cellY);
+                if (cell != null) {
+                    cell.forEachInRange(minX, minY, maxX, maxY, consumer);
+                }
+            }
+        }
+    }
+
+    public List<Point> range(int minX, int minY, int maxX, int maxY) {
+        List<Point> result = new ArrayList<>();
+        forEachInRange(minX, minY, maxX, maxY, (x, y) -> result.add(new Point(x, y)));
+        return result;
+    }
+
+    /**
+     * The {@code k} points closest to {@code (x, y)} by Euclidean distance, nearest first.
+     * Cells are searched in growing square rings around the query cell until no unvisited cell can hold a closer point.
+     */
+    public List<Point> nearest(int x, int y, int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("Negative k: " + k);
+        }
+        Neighbours neighbours = new Neighbours(Math.min(k, size), x, y);
+        if (neighbours.capacity == 0) {
+            return new ArrayList<>();
+        }
+        int queryCellX = cellOf(x);
+        int queryCellY = cellOf(y);
+        // The farthest ring that still contains an occupied cell
+        long lastRing = Math.max(
+                Math.max(Math.abs((long) queryCellX - minCellX), Math.abs((long) queryCellX - maxCellX)),
+                Math.max(Math.abs((long) queryCellY - minCellY), Math.abs((long) queryCellY - maxCellY)));
+        for (long ring = 0; ring <= lastRing; ring++) {
+            if (8 * ring > cellCount) {
+                // Rings got larger than the grid itself - finish with a pass over the occupied cells
+                neighbours.clear();
+                for (int i = 0; i < cells.length; i++) {
+                    if (cells[i] != null) {
+                        cells[i].offerAll(neighbours);
+                    }
+                }
+                break;
+            }
+            visitRing(queryCellX, queryCellY, (int) ring, neighbours);
+            // Any point in ring + 1 is at least 'ring' whole cells away from the query point
+            double reach = (double) ring * cellSize;
+            if (neighbours.isFull() && neighbours.worst() <= reach * reach) {
+                break;
+            }
+        }
+        return neighbours.toSortedList();
+    }
+
+    private void visitRing(int centerX, int centerY, int ring, Neighbours neighbours) {
+        long fromX = (long) centerX - ring;
+        long toX = (long) centerX + ring;
+        long fromY = (long) centerY - ring;
+        long toY = (long) centerY + ring;
+        long fromCellY = Math.max(fromY, minCellY);
+        long toCellY = Math.min(toY, maxCellY);
+        for (long cellX = Math.max(fromX, minCellX); cellX <= Math.min(toX, maxCellX); cellX++) {
+            if (cellX == fromX || cellX == toX) {
+                for (long cellY = fromCellY; cellY <= toCellY; cellY++) {
+                    offerCell((int) cellX, (int) cellY, neighbours);
+                }
+            }
+            else {
+                // Inner columns only contribute their top and bottom cells
+                if (fromY >= minCellY) {
+                    offerCell((int) cellX, (int) fromY, neighbours);
+                }
+                if (toY <= maxCellY) {
+                    offerCell((int) cellX, (int) toY, neighbours);
+                }
+            }
+        }
+    }
+
+    private void offerCell(int cellX, int cellY, Neighbours neighbours) {
+        Cell cell = cell(cellX, cellY);
+        if (cell != null) {
+            cell.offerAll(neighbours);
+        }
+    }
+
+    private int cellOf(int coordinate) {
+        return Math.floorDiv(coordinate, cellSize);
+    }
+
+    private Cell cell(int cellX, int cellY) {
+        long key = pack(cellX, cellY);
+        int slot = slot(key);
+        while (cells[slot] != null) {
+            if (cellKeys[slot] == key) {
+                return cells[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    private Cell addCell(int cellX, int cellY) {
+        if (cellCount + 1 > cells.length * LOAD_FACTOR) {
+            rehash(cells.length << 1);
+        }
+        long key = pack(cellX, cellY);
+        int slot = slot(key);
+        while (cells[slot] != null) {
+            slot = (slot + 1) & mask;
+        }
+        Cell cell = new Cell();
+        cellKeys[slot] = key;
+        cells[slot] = cell;
+        cellCount++;
+        minCellX = Math.min(minCellX, cellX);
+        minCellY = Math.min(minCellY, cellY);
+        maxCellX = Math.max(maxCellX, cellX);
+        maxCellY = Math.max(maxCellY, cellY);
+        return cell;
+    }
+
+    private int slot(long key) {
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> shift);
+    }
+
+    private void rehash(int newCapacity) {
+        long[] oldKeys = cellKeys;
+        Cell[] oldCells = cells;
+        allocate(newCapacity);
+        for (int i = 0; i < oldCells.length; i++) {
+            if (oldCells[i] != null) {
+                int slot = slot(oldKeys[i]);
+                while (cells[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                cellKeys[slot] = oldKeys[i];
+                cells[slot] = oldCells[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        cellKeys = new long[capacity];
+        cells = new Cell[capacity];
+        mask = capacity - 1;
+        shift = 64 - Integer.numberOfTrailingZeros(capacity);
+    }
+
+    private static class Cell {
+
+        private long[] points = new long[0];
+        private int size;
+        private int reserved;
+
+        void add(long packed) {
+            if (size == points.length) {
+                points = Arrays.copyOf(points, Math.max(INITIAL_CELL_CAPACITY, size << 1));
+            }
+            points[size++] = packed;
+        }
+
+        void reserve() {
+            if (size + reserved > points.length) {
+                points = Arrays.copyOf(points, size + reserved);
+            }
+            reserved = 0;
+        }
+
+        void forEachInRange(int minX, int minY, int maxX, int maxY, PointConsumer consumer) {
+            for (int i = 0; i < size; i++) {
+                int x = unpackX(points[i]);
+                int y = unpackY(points[i]);
+                if (x >= minX && x <= maxX && y >= minY && y <= maxY) {
+                    consumer.accept(x, y);
+                }
+            }
+        }
+
+        void offerAll(Neighbours neighbours) {
+            for (int i = 0; i < size; i++) {
+                neighbours.offer(points[i]);
+            }
+        }
+    }
+
+    /**
+     * A bounded max-heap on squared distance, so the current worst of the best {@code k} is always at the root.
+     */
+    private static class Neighbours {
+
+        private final int capacity;
+        private final int x;
+        private final int y;
+        private final double[] distances;
+        private final long[] points;
+        private int size;
+
+        Neighbours(int capacity, int x, int y) {
+            this.capacity = capacity;
+            this.x = x;
+            this.y = y;
+            this.distances = new double[capacity];
+            this.points = new long[capacity];
+        }
+
+        boolean isFull() {
+            return size == capacity;
+        }
+
+        double worst() {
+            return distances[0];
+        }
+
+        void clear() {
+            size = 0;
+        }
+
+        void offer(long packed) {
+            double dx = (double) unpackX(packed) - x;
+            double dy = (double) unpackY(packed) - y;
+            double distance = dx * dx + dy * dy;
+            if (size < capacity) {
+                int i = size++;
+                while (i > 0 && distances[(i - 1) / 2] < distance) {
+                    int parent = (i - 1) / 2;
+                    distances[i] = distances[parent];
+                    points[i] = points[parent];
+                    i = parent;
+                }
+                distances[i] = distance;
+                points[i] = packed;
+            }
+            else if (distance < distances[0]) {
+                siftDown(distance, packed);
+            }
+        }
+
+        private void siftDown(double distance, long packed) {
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && distances[child + 1] > distances[child]) {
+                    child++;
+                }
+                if (distances[child] <= distance) {
+                    break;
+                }
+                distances[i] = distances[child];
+                points[i] = points[child];
+                i = child;
+            }
+            distances[i] = distance;
+            points[i] = packed;
+        }
+
+        List<Point> toSortedList() {
+            Point[] result = new Point[size];
+            // Pop the root (the farthest) repeatedly, filling the result from the back
+            while (size > 0) {
+                long root = points[0];
+                size--;
+                if (size > 0) {
+                    siftDown(distances[size], points[size]);
+                }
+                result[size] = new Point(unpackX(root), unpackY(root));
+            }
+            return new ArrayList<>(Arrays.asList(result));
+        }
+    }
+}
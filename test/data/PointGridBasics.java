@@ -0,0 +1,85 @@
+package com.att.tlv.training.test.data;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PointGridBasics {
+
+    @Test
+    public void rangeQuery() {
+        PointGrid grid = new PointGrid(10);
+        grid.insert(new Point(1, 2));
+        grid.insert(new Point(1, 3));
+        grid.insert(new Point(-15, 40));
+        grid.insert(new Point(100, 100));
+
+        // Bounds are inclusive, and a range may cross cell borders and negative coordinates
+        assertThat(grid.range(-20, 0, 1, 40)).usingFieldByFieldElementComparator()
+                .containsExactlyInAnyOrder(new Point(1, 2), new Point(1, 3), new Point(-15, 40));
+        assertThat(grid.range(2, 2, 99, 99)).isEmpty();
+    }
+
+    @Test
+    public void nearestNeighbours() {
+        PointGrid grid = PointGrid.of(points(1, 2, 1, 3, 5, 5, -4, -4, 50, 50), 4);
+
+        assertThat(grid.nearest(0, 0, 2)).usingFieldByFieldElementComparator()
+                .containsExactly(new Point(1, 2), new Point(1, 3));
+        // Asking for more neighbours than there are points returns them all, nearest first
+        assertThat(grid.nearest(49, 49, 10)).usingFieldByFieldElementComparator()
+                .startsWith(new Point(50, 50))
+                .hasSize(5);
+        assertThat(grid.nearest(0, 0, 0)).isEmpty();
+    }
+
+    @Test
+    public void sameResultsAsLinearScan() {
+        Random random = new Random(42);
+        List<Point> points = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            points.add(new Point(random.nextInt(10_000), random.nextInt(10_000)));
+        }
+        PointGrid grid = PointGrid.of(points, 100);
+        assertThat(grid.size()).isEqualTo(points.size());
+
+        for (int query = 0; query < 50; query++) {
+            int x = random.nextInt(12_000) - 1_000;
+            int y = random.nextInt(12_000) - 1_000;
+
+            List<Point> inRange = points.stream()
+                    .filter(p -> p.getX() >= x && p.getX() <= x + 500 && p.getY() >= y && p.getY() <= y + 300)
+                    .collect(toList());
+            assertThat(grid.range(x, y, x + 500, y + 300)).usingFieldByFieldElementComparator()
+                    .containsExactlyInAnyOrderElementsOf(inRange);
+
+            // Compare distances rather than points - equally distant points may come in any order
+            List<Double> expected = points.stream()
+                    .map(p -> distance(p, x, y))
+                    .sorted()
+                    .limit(7)
+                    .collect(toList());
+            assertThat(grid.nearest(x, y, 7).stream().map(p -> distance(p, x, y)).collect(toList()))
+                    .isEqualTo(expected);
+        }
+    }
+
+    private static double distance(Point point, int x, int y) {
+        double dx = point.getX() - x;
+        double dy = point.getY() - y;
+        return dx * dx + dy * dy;
+    }
+
+    private static List<Point> points(int... coordinates) {
+        List<Point> points = new ArrayList<>();
+        for (int i = 0; i < coordinates.length; i += 2) {
+            points.add(new Point(coordinates[i], coordinates[i + 1]));
+        }
+        return points;
+    }
+}
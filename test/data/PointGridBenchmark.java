@@ -0,0 +1,117 @@
+package com.att.tlv.training.test.data;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Comparator.comparingDouble;
+
+/**
+ * {@link PointGrid} queries against a linear scan of a {@code List<Point>}, on uniformly spread points with
+ * about 4 points per grid cell. Run with {@code -jvmArgs -Xmx8g} or more for the larger sizes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PointGridBenchmark {
+
+    private static final int EXTENT = 1 << 20;
+    // A power of two, so the next query is a mask away
+    private static final int QUERIES = 1 << 10;
+
+    @Param({"1000000", "10000000"})
+    private int size;
+
+    private List<Point> points;
+    private PointGrid grid;
+    private final int[] queryX = new int[QUERIES];
+    private final int[] queryY = new int[QUERIES];
+    private int query;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        points = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            points.add(new Point(random.nextInt(EXTENT), random.nextInt(EXTENT)));
+        }
+        int cellSize = (int) Math.max(1, EXTENT / Math.sqrt(size / 4d));
+        grid = PointGrid.of(points, cellSize);
+        // Generated up front - a per-invocation setup would cost more than the smaller queries
+        Random queries = new Random(7);
+        for (int i = 0; i < QUERIES; i++) {
+            queryX[i] = queries.nextInt(EXTENT);
+            queryY[i] = queries.nextInt(EXTENT);
+        }
+    }
+
+    @Benchmark
+    public void gridRange(Blackhole blackhole) {
+        int q = nextQuery();
+        int x = queryX[q];
+        int y = queryY[q];
+        grid.forEachInRange(x, y, x + 2_000, y + 2_000, (px, py) -> blackhole.consume(px));
+    }
+
+    @Benchmark
+    public void linearScanRange(Blackhole blackhole) {
+        int q = nextQuery();
+        int x = queryX[q];
+        int y = queryY[q];
+        for (Point point : points) {
+            if (point.getX() >= x && point.getX() <= x + 2_000 && point.getY() >= y && point.getY() <= y + 2_000) {
+                blackhole.consume(point.getX());
+            }
+        }
+    }
+
+    @Benchmark
+    public List<Point> gridNearest() {
+        int q = nextQuery();
+        return grid.nearest(queryX[q], queryY[q], 10);
+    }
+
+    @Benchmark
+    public PriorityQueue<Point> linearScanNearest() {
+        int q = nextQuery();
+        int x = queryX[q];
+        int y = queryY[q];
+        PriorityQueue<Point> nearest =
+                new PriorityQueue<>(comparingDouble((Point p) -> distance(p, x, y)).reversed());
+        for (Point point : points) {
+            nearest.add(point);
+            if (nearest.size() > 10) {
+                nearest.poll();
+            }
+        }
+        return nearest;
+    }
+
+    private int nextQuery() {
+        return query++ & (QUERIES - 1);
+    }
+
+    private static double distance(Point point, int x, int y) {
+        double dx = point.getX() - x;
+        double dy = point.getY() - y;
+        return dx * dx + dy * dy;
+    }
+}
@@ -0,0 +1,209 @@
+package com.att.tlv.training.test.data;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * A {@code List<Point>} storing every point as a single packed {@code long} ({@code x} in the high 32 bits,
+ * {@code y} in the low ones) - 8 bytes per point instead of a reference plus a {@link Point} object.
+ * <p>
+ * {@link Point} instances are only created by the {@code List} methods returning one ({@link #get(int)},
+ * iterators...), and every call returns a new instance. Since points are stored as values, {@link #contains(Object)},
+ * {@link #indexOf(Object)} and friends compare coordinates instead of using {@code Point}'s identity equality,
+ * and two {@code PointList}s are equal when they hold the same coordinates in the same order.
+ */
+public class PointList extends AbstractList<Point> implements RandomAccess {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private long[] points;
+    private int size;
+
+    public PointList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public PointList(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Negative capacity: " + initialCapacity);
+        }
+        points = new long[initialCapacity];
+    }
+
+    public PointList(Collection<? extends Point> points) {
+        this(points.size());
+        for (Point point : points) {
+            add(point.getX(), point.getY());
+        }
+    }
+
+    public static long pack(int x, int y) {
+        return ((long) x << 32) | (y & 0xFFFFFFFFL);
+    }
+
+    public static int unpackX(long packed) {
+        return (int) (packed >> 32);
+    }
+
+    public static int unpackY(long packed) {
+        return (int) packed;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    public int getX(int index) {
+        return unpackX(getPacked(index));
+    }
+
+    public int getY(int index) {
+        return unpackY(getPacked(index));
+    }
+
+    public long getPacked(int index) {
+        checkIndex(index);
+        return points[index];
+    }
+
+    @Override
+    public Point get(int index) {
+        long packed = getPacked(index);
+        return new Point(unpackX(packed), unpackY(packed));
+    }
+
+    public boolean add(int x, int y) {
+        ensureCapacity(size + 1);
+        points[size++] = pack(x, y);
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public void add(int index, Point point) {
+        Objects.requireNonNull(point, "PointList does not accept nulls");
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+        }
+        ensureCapacity(size + 1);
+        System.arraycopy(points, index, points, index + 1, size - index);
+        points[index] = pack(point.getX(), point.getY());
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public Point set(int index, Point point) {
+        Objects.requireNonNull(point, "PointList does not accept nulls");
+        Point previous = get(index);
+        points[index] = pack(point.getX(), point.getY());
+        return previous;
+    }
+
+    @Override
+    public Point remove(int index) {
+        Point previous = get(index);
+        System.arraycopy(points, index + 1, points, index, size - index - 1);
+        size--;
+        modCount++;
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        size = 0;
+        modCount++;
+    }
+
+    /**
+     * Iterates over the coordinates in order, without creating {@link Point}s.
+     */
+    public void forEach(PointConsumer consumer) {
+        Objects.requireNonNull(consumer);
+        for (int i = 0; i < size; i++) {
+            consumer.accept(unpackX(points[i]), unpackY(points[i]));
+        }
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        if (o instanceof Point) {
+            long packed = pack(((Point) o).getX(), ((Point) o).getY());
+            for (int i = 0; i < size; i++) {
+                if (points[i] == packed) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int lastIndexOf(Object o) {
+        if (o instanceof Point) {
+            long packed = pack(((Point) o).getX(), ((Point) o).getY());
+            for (int i = size - 1; i >= 0; i--) {
+                if (points[i] == packed) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof PointList)) {
+            return false;
+        }
+        PointList other = (PointList) o;
+        if (size != other.size) {
+            return false;
+        }
+        for (int i = 0; i < size; i++) {
+            if (points[i] != other.points[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 1;
+        for (int i = 0; i < size; i++) {
+            hash = 31 * hash + Long.hashCode(points[i]);
+        }
+        return hash;
+    }
+
+    public void trimToSize() {
+        if (points.length > size) {
+            points = Arrays.copyOf(points, size);
+        }
+    }
+
+    private void ensureCapacity(int minCapacity) {
+        if (minCapacity > points.length) {
+            points = Arrays.copyOf(points, Math.max(minCapacity, Math.max(DEFAULT_CAPACITY, points.length + (points.length >> 1))));
+        }
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.att.tlv.training.test.data;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PointListBasics {
+
+    @Test
+    public void primitiveAccess() {
+        PointList points = new PointList();
+        points.add(1, 2);
+        points.add(-1, Integer.MIN_VALUE);
+
+        assertThat(points).hasSize(2);
+        assertThat(points.getX(1)).isEqualTo(-1);
+        assertThat(points.getY(1)).isEqualTo(Integer.MIN_VALUE);
+
+        List<String> visited = new ArrayList<>();
+        points.forEach((int x, int y) -> visited.add(x + "," + y));
+        assertThat(visited).containsExactly("1,2", "-1," + Integer.MIN_VALUE);
+    }
+
+    @Test
+    public void listApi() {
+        PointList points = new PointList(newArrayList(new Point(1, 2), new Point(1, 3)));
+        points.add(0, new Point(0, 0));
+        points.set(2, new Point(5, 5));
+
+        // Every get() creates a new Point - compare field by field
+        assertThat(points).usingFieldByFieldElementComparator()
+                .containsExactly(new Point(0, 0), new Point(1, 2), new Point(5, 5));
+        assertThat(points.get(1)).isNotSameAs(points.get(1));
+
+        // Points are values here: contains() and indexOf() compare coordinates
+        assertThat(points.contains(new Point(1, 2))).isTrue();
+        assertThat(points.indexOf(new Point(5, 5))).isEqualTo(2);
+
+        assertThat(points.remove(0)).isEqualToComparingFieldByField(new Point(0, 0));
+        assertThat(points).isEqualTo(new PointList(newArrayList(new Point(1, 2), new Point(5, 5))));
+
+        points.clear();
+        assertThat(points).isEmpty();
+    }
+}
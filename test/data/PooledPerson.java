@@ -0,0 +1,63 @@
+package com.att.tlv.training.test.data;
+
+import java.util.Objects;
+
+/**
+ * A {@link Person} whose name is a handle into a {@link NamePool} rather than a {@code String} of its own. The
+ * {@code String} is created on every {@link #getName()} call, so code that only compares names should use
+ * {@link #hasName(String)} or {@link #hasSameName(PooledPerson)}, which don't create one.
+ * <pre>
+ * NamePool names = new NamePool();
+ * Person john = new PooledPerson(names, 123, "John", 30, 1.88);
+ * </pre>
+ */
+public class PooledPerson extends Person {
+
+    private final NamePool names;
+    private final int nameHandle;
+
+    public PooledPerson(NamePool names, long id, String name, int age, double height) {
+        this(names, id, names.intern(name), age, height);
+    }
+
+    public PooledPerson(NamePool names, long id, int nameHandle, int age, double height) {
+        super(id, null, age, height);
+        this.names = Objects.requireNonNull(names);
+        if (nameHandle != NamePool.NULL_NAME && (nameHandle < 0 || nameHandle >= names.size())) {
+            throw new IllegalArgumentException("Not a handle of the pool: " + nameHandle);
+        }
+        this.nameHandle = nameHandle;
+    }
+
+    /**
+     * Copies the person, pooling its name.
+     */
+    public static PooledPerson of(NamePool names, Person person) {
+        return new PooledPerson(names, person.getId(), person.getName(), person.getAge(), person.getHeight());
+    }
+
+    @Override
+    public String getName() {
+        return names.name(nameHandle);
+    }
+
+    public int getNameHandle() {
+        return nameHandle;
+    }
+
+    public NamePool getNamePool() {
+        return names;
+    }
+
+    @Override
+    public boolean hasName(String name) {
+        return names.matches(nameHandle, name);
+    }
+
+    /**
+     * Compares the handles when both names are in the same pool, the bytes otherwise.
+     */
+    public boolean hasSameName(PooledPerson other) {
+        return other.names == names ? other.nameHandle == nameHandle : hasName(other.getName());
+    }
+}
@@ -0,0 +1,179 @@
+package com.att.tlv.training.test.junit;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.SecureRandom;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Empty directories under one base directory, handed out to {@link PooledTemporaryFolder}s and taken back when they
+ * are done.
+ * <p>
+ * A directory comes back empty, or it is emptied by moving it into a trash directory and creating it again - two
+ * metadata operations, whatever it holds. The trash is deleted by a background thread, off the test's time - unless
+ * {@value #MAX_PENDING_DELETIONS} directories are already waiting for it, in which case the test deletes its own
+ * rather than piling up trash (in RAM, on tmpfs) faster than it goes away.
+ * <p>
+ * There is one pool per base directory on the default file system, shared for the life of the JVM. A base in another
+ * file system gets a pool of its own every time, which goes away with its folder - a shared one would keep the file
+ * system reachable for good.
+ */
+class DirectoryPool {
+
+    private static final Map<Path, DirectoryPool> POOLS = new ConcurrentHashMap<>();
+    private static final ExecutorService DELETER = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "temporary-folder-deleter");
+        thread.setDaemon(true);
+        return thread;
+    });
+    static final int MAX_PENDING_DELETIONS = 16;
+    private static final Semaphore PENDING_DELETIONS = new Semaphore(MAX_PENDING_DELETIONS);
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final Path directory;
+    private final Path trash;
+    private final Deque<Path> free = new ConcurrentLinkedDeque<>();
+    private final AtomicLong created = new AtomicLong();
+    private final AtomicLong trashed = new AtomicLong();
+
+    private DirectoryPool(Path base) throws IOException {
+        directory = createUniqueDirectory(Files.createDirectories(base));
+        trash = Files.createDirectory(directory.resolve("trash"));
+        if (directory.getFileSystem() == FileSystems.getDefault()) {
+            // tmpfs holds on to its files until they are deleted
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> deleteQuietly(directory)));
+        }
+    }
+
+    /**
+     * Like {@link Files#createTempDirectory}, which passes POSIX permissions other file systems may not support.
+     */
+    private static Path createUniqueDirectory(Path base) throws IOException {
+        while (true) {
+            try {
+                return Files.createDirectory(base.resolve("junit-pool" + Long.toUnsignedString(RANDOM.nextLong())));
+            }
+            catch (FileAlreadyExistsException e) {
+                // Try another name
+            }
+        }
+    }
+
+    static DirectoryPool forBase(Path base) {
+        Path key = base.toAbsolutePath().normalize();
+        return key.getFileSystem() == FileSystems.getDefault() ? POOLS.computeIfAbsent(key, DirectoryPool::create)
+                : create(key);
+    }
+
+    private static DirectoryPool create(Path base) {
+        try {
+            return new DirectoryPool(base);
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException("Can't create a directory pool in " + base, e);
+        }
+    }
+
+    Path acquire() throws IOException {
+        Path pooled = free.pollFirst();
+        return pooled != null ? pooled
+                : Files.createDirectory(directory.resolve("folder" + created.incrementAndGet()));
+    }
+
+    void release(Path folder) throws IOException {
+        if (!isEmpty(folder)) {
+            Path trashed = trash.resolve("folder" + this.trashed.incrementAndGet());
+            try {
+                Files.move(folder, trashed, StandardCopyOption.ATOMIC_MOVE);
+                if (PENDING_DELETIONS.tryAcquire()) {
+                    DELETER.execute(() -> {
+                        try {
+                            deleteQuietly(trashed);
+                        }
+                        finally {
+                            PENDING_DELETIONS.release();
+                        }
+                    });
+                }
+                else {
+                    deleteQuietly(trashed);
+                }
+            }
+            catch (IOException e) {
+                // Can't move directories on this file system
+            }
+            if (Files.exists(folder)) {
+                // Not moved, or only its own entry was (a zip file system) - delete in place
+                deleteContents(folder);
+            }
+            else {
+                Files.createDirectory(folder);
+            }
+        }
+        // Last in, first out - the folder most likely still cached
+        free.addFirst(folder);
+    }
+
+    /**
+     * Waits for the background thread to delete all the trash handed to it, e.g. for a benchmark to count that time.
+     */
+    static void awaitDeletions() throws InterruptedException {
+        PENDING_DELETIONS.acquire(MAX_PENDING_DELETIONS);
+        PENDING_DELETIONS.release(MAX_PENDING_DELETIONS);
+    }
+
+    private static boolean isEmpty(Path folder) throws IOException {
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(folder)) {
+            return !entries.iterator().hasNext();
+        }
+    }
+
+    private static void deleteContents(Path folder) throws IOException {
+        Files.walkFileTree(folder, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) throws IOException {
+                Files.delete(file);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(Path directory, IOException e) throws IOException {
+                if (e != null) {
+                    throw e;
+                }
+                if (!directory.equals(folder)) {
+                    Files.delete(directory);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            if (Files.exists(path)) {
+                deleteContents(path);
+                Files.delete(path);
+            }
+        }
+        catch (IOException e) {
+            // Left for the OS to clean up, like a TemporaryFolder that failed to delete
+        }
+    }
+}
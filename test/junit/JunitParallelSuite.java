@@ -0,0 +1,40 @@
+package com.att.tlv.training.test.junit;
+
+import com.att.tlv.training.test.assertions.BasicAssertions;
+import com.att.tlv.training.test.assertions.ExceptionAssertions;
+import com.att.tlv.training.test.assertions.IterableAssertions;
+import com.att.tlv.training.test.assertions.MapAssertions;
+import com.att.tlv.training.test.assertions.MoreAssertions;
+import com.att.tlv.training.test.junit.ParallelClassSuite.PoolSize;
+import com.att.tlv.training.test.mocks.ArgumentCaptorsAndMatchers;
+import com.att.tlv.training.test.mocks.DefaultReturnValues;
+import com.att.tlv.training.test.mocks.MockCreation;
+import com.att.tlv.training.test.mocks.PreferredMockCreation;
+import com.att.tlv.training.test.mocks.Stubbing;
+import com.att.tlv.training.test.mocks.StubbingCallbacks;
+import com.att.tlv.training.test.mocks.VerifyingBehavior;
+import org.junit.runner.RunWith;
+import org.junit.runners.Suite.SuiteClasses;
+
+// The whole suite, one class per thread. Results and console output still come out class by class, in this order.
+// Override the pool size with -Dparallel.suite.poolSize=N
+@RunWith(ParallelClassSuite.class)
+@SuiteClasses({
+        JunitBasics.class,
+        JunitRules.class,
+        BasicAssertions.class,
+        ExceptionAssertions.class,
+        IterableAssertions.class,
+        MapAssertions.class,
+        MoreAssertions.class,
+        ArgumentCaptorsAndMatchers.class,
+        DefaultReturnValues.class,
+        MockCreation.class,
+        PreferredMockCreation.class,
+        Stubbing.class,
+        StubbingCallbacks.class,
+        VerifyingBehavior.class
+})
+@PoolSize(4)
+public class JunitParallelSuite {
+}
@@ -0,0 +1,268 @@
+package com.att.tlv.training.test.junit;
+
+import org.junit.runner.Description;
+import org.junit.runner.Runner;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunListener;
+import org.junit.runner.notification.RunNotifier;
+import org.junit.runners.Suite;
+import org.junit.runners.model.InitializationError;
+import org.junit.runners.model.RunnerBuilder;
+import org.junit.runners.model.RunnerScheduler;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * A {@link Suite} that runs its classes concurrently, one class per pool thread.
+ * <p>
+ * Every class still runs through its own runner on a single thread, so {@code @BeforeClass}/{@code @AfterClass}
+ * and {@code @ClassRule}s keep their per-class lifecycle - only different classes overlap. While a class runs,
+ * its results and everything it prints to {@code System.out}/{@code System.err} are held back; they are
+ * replayed class by class, in the order of {@code @SuiteClasses}, so reports and console output look exactly
+ * as in a sequential run. Only the pool threads are held back: threads a test starts itself, such as the common
+ * fork-join pool's workers behind a parallel stream, outlive their class and print straight to the console.
+ * <p>
+ * The pool size is taken from the {@value #POOL_SIZE_PROPERTY} system property, then from {@link PoolSize},
+ * and defaults to the number of processors.
+ * <pre>
+ * &#64;RunWith(ParallelClassSuite.class)
+ * &#64;SuiteClasses({ JunitBasics.class, JunitRules.class })
+ * &#64;PoolSize(4)
+ * public class MySuite {
+ * }
+ * </pre>
+ */
+public class ParallelClassSuite extends Suite {
+
+    public static final String POOL_SIZE_PROPERTY = "parallel.suite.poolSize";
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target(ElementType.TYPE)
+    public @interface PoolSize {
+        int value();
+    }
+
+    private static final ThreadLocal<Recording> CURRENT_RECORDING = new ThreadLocal<>();
+
+    public ParallelClassSuite(Class<?> klass, RunnerBuilder builder) throws InitializationError {
+        super(klass, builder);
+        setScheduler(new OrderedScheduler(poolSize(klass)));
+    }
+
+    private static int poolSize(Class<?> klass) throws InitializationError {
+        String property = System.getProperty(POOL_SIZE_PROPERTY);
+        PoolSize annotation = klass.getAnnotation(PoolSize.class);
+        int poolSize = property != null ? Integer.parseInt(property.trim())
+                : annotation != null ? annotation.value()
+                : Runtime.getRuntime().availableProcessors();
+        if (poolSize <= 0) {
+            throw new InitializationError("Pool size must be positive: " + poolSize);
+        }
+        return poolSize;
+    }
+
+    @Override
+    protected void runChild(Runner runner, RunNotifier notifier) {
+        Recording recording = CURRENT_RECORDING.get();
+        if (recording == null) {
+            // Not scheduled by us (e.g. a single class re-run from an IDE) - nothing to isolate
+            super.runChild(runner, notifier);
+            return;
+        }
+        recording.target = notifier;
+        RunNotifier recordingNotifier = new RunNotifier();
+        recordingNotifier.addListener(recording);
+        OutputRouter.OUT.route(recording.out);
+        OutputRouter.ERR.route(recording.err);
+        try {
+            runner.run(recordingNotifier);
+        }
+        finally {
+            OutputRouter.OUT.route(null);
+            OutputRouter.ERR.route(null);
+        }
+    }
+
+    private static class OrderedScheduler implements RunnerScheduler {
+
+        private final int poolSize;
+        private ExecutorService pool;
+        private final List<Future<Recording>> scheduled = new ArrayList<>();
+
+        OrderedScheduler(int poolSize) {
+            this.poolSize = poolSize;
+        }
+
+        @Override
+        public void schedule(Runnable childStatement) {
+            if (pool == null) {
+                AtomicInteger threads = new AtomicInteger();
+                pool = Executors.newFixedThreadPool(poolSize, runnable -> {
+                    Thread thread = new Thread(runnable, "parallel-suite-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+                OutputRouter.install();
+            }
+            scheduled.add(pool.submit(() -> {
+                Recording recording = new Recording();
+                CURRENT_RECORDING.set(recording);
+                try {
+                    childStatement.run();
+                }
+                finally {
+                    CURRENT_RECORDING.remove();
+                }
+                return recording;
+            }));
+        }
+
+        @Override
+        public void finished() {
+            if (pool == null) {
+                return;
+            }
+            try {
+                for (Future<Recording> future : scheduled) {
+                    future.get().replay();
+                }
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                scheduled.forEach(future -> future.cancel(true));
+            }
+            catch (ExecutionException e) {
+                // runChild() does not throw - the runners report failures through the notifier
+                throw new IllegalStateException(e.getCause());
+            }
+            finally {
+                pool.shutdownNow();
+                pool = null;
+                scheduled.clear();
+                OutputRouter.uninstall();
+            }
+        }
+    }
+
+    /**
+     * Everything one class reported and printed while it ran.
+     */
+    private static class Recording extends RunListener {
+
+        private final List<Consumer<RunNotifier>> events = new ArrayList<>();
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        private final ByteArrayOutputStream err = new ByteArrayOutputStream();
+        private RunNotifier target;
+
+        @Override
+        public synchronized void testStarted(Description description) {
+            events.add(notifier -> notifier.fireTestStarted(description));
+        }
+
+        @Override
+        public synchronized void testFinished(Description description) {
+            events.add(notifier -> notifier.fireTestFinished(description));
+        }
+
+        @Override
+        public synchronized void testFailure(Failure failure) {
+            events.add(notifier -> notifier.fireTestFailure(failure));
+        }
+
+        @Override
+        public synchronized void testAssumptionFailure(Failure failure) {
+            events.add(notifier -> notifier.fireTestAssumptionFailed(failure));
+        }
+
+        @Override
+        public synchronized void testIgnored(Description description) {
+            events.add(notifier -> notifier.fireTestIgnored(description));
+        }
+
+        synchronized void replay() {
+            OutputRouter.OUT.original.write(out.toByteArray(), 0, out.size());
+            OutputRouter.OUT.original.flush();
+            OutputRouter.ERR.original.write(err.toByteArray(), 0, err.size());
+            OutputRouter.ERR.original.flush();
+            if (target != null) {
+                events.forEach(event -> event.accept(target));
+            }
+        }
+    }
+
+    /**
+     * Sends what a pool thread prints to the buffer of the class it is running, and everything else to the real
+     * stream. Not inherited, as a thread started by a test - a pooled one above all - may go on printing after its
+     * class has been replayed.
+     */
+    private static class OutputRouter extends OutputStream {
+
+        static final OutputRouter OUT = new OutputRouter();
+        static final OutputRouter ERR = new OutputRouter();
+
+        private final ThreadLocal<OutputStream> buffer = new ThreadLocal<>();
+        private PrintStream original;
+        private int installations;
+
+        static synchronized void install() {
+            if (OUT.installations++ == 0) {
+                OUT.original = System.out;
+                ERR.original = System.err;
+                System.setOut(new PrintStream(OUT, true));
+                System.setErr(new PrintStream(ERR, true));
+            }
+        }
+
+        static synchronized void uninstall() {
+            if (--OUT.installations == 0) {
+                System.setOut(OUT.original);
+                System.setErr(ERR.original);
+            }
+        }
+
+        void route(OutputStream target) {
+            buffer.set(target);
+        }
+
+        private OutputStream target() {
+            OutputStream target = buffer.get();
+            return target != null ? target : original;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            OutputStream target = target();
+            synchronized (target) {
+                target.write(b);
+            }
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            OutputStream target = target();
+            synchronized (target) {
+                target.write(bytes, offset, length);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            target().flush();
+        }
+    }
+}
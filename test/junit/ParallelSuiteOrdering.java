@@ -0,0 +1,185 @@
+package com.att.tlv.training.test.junit;
+
+import com.att.tlv.training.test.junit.ParallelClassSuite.PoolSize;
+import org.junit.Assume;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.Description;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Result;
+import org.junit.runner.RunWith;
+import org.junit.runner.notification.RunListener;
+import org.junit.runners.Suite.SuiteClasses;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ParallelSuiteOrdering {
+
+    // The fixture classes below only run from these tests, not when a runner picks them up on its own
+    private static volatile boolean runningFixture;
+    private static volatile CountDownLatch bothClassesStarted;
+
+    @Test
+    public void classesRunConcurrentlyButReportInOrder() throws Exception {
+        List<String> started = new ArrayList<>();
+        ByteArrayOutputStream console = new ByteArrayOutputStream();
+        Result result = runFixture(TwoClassSuite.class, started, console);
+
+        assertThat(result.wasSuccessful()).isTrue();
+        // Both @BeforeClass methods waited for each other, which only works if the classes ran at the same time
+        assertThat(SlowClass.overlapped).isTrue();
+        assertThat(FastClass.overlapped).isTrue();
+        // FastClass finished first, but it is reported after SlowClass, just like its output
+        assertThat(started).containsExactly("SlowClass.test", "FastClass.test");
+        assertThat(console.toString().split("\\R")).containsExactly(
+                "slow: before class", "slow: test", "fast: before class", "fast: test");
+        // Each class got its own class rule
+        assertThat(SlowClass.classFolder).isNotEqualTo(FastClass.classFolder);
+    }
+
+    @Test
+    public void outputOfThreadsStartedByATestIsKept() throws Exception {
+        ByteArrayOutputStream console = new ByteArrayOutputStream();
+        Result result = runFixture(ParallelStreamSuite.class, new ArrayList<>(), console);
+
+        assertThat(result.wasSuccessful()).isTrue();
+        // Printed from the common pool's workers as well as from the class's own thread, in no particular order
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < PrintingInParallel.LINES; i++) {
+            expected.add("first: " + i);
+            expected.add("second: " + i);
+        }
+        assertThat(console.toString().split("\\R")).containsOnlyElementsOf(expected).hasSameSizeAs(expected);
+    }
+
+    /**
+     * Runs a fixture suite from scratch, collecting the tests it started and what it printed.
+     */
+    private static Result runFixture(Class<?> suite, List<String> started, ByteArrayOutputStream console) {
+        JUnitCore core = new JUnitCore();
+        core.addListener(new RunListener() {
+            @Override
+            public void testStarted(Description description) {
+                started.add(description.getTestClass().getSimpleName() + "." + description.getMethodName());
+            }
+        });
+
+        PrintStream originalOut = System.out;
+        System.setOut(new PrintStream(console, true));
+        bothClassesStarted = new CountDownLatch(2);
+        runningFixture = true;
+        try {
+            return core.run(suite);
+        }
+        finally {
+            runningFixture = false;
+            System.setOut(originalOut);
+        }
+    }
+
+    private static boolean awaitOtherClass() throws InterruptedException {
+        bothClassesStarted.countDown();
+        return bothClassesStarted.await(5, TimeUnit.SECONDS);
+    }
+
+    @RunWith(ParallelClassSuite.class)
+    @SuiteClasses({ SlowClass.class, FastClass.class })
+    @PoolSize(2)
+    public static class TwoClassSuite {
+    }
+
+    public static class SlowClass {
+
+        @ClassRule
+        public static final TemporaryFolder tempFolderPerClass = new TemporaryFolder();
+        static volatile boolean overlapped;
+        static volatile File classFolder;
+
+        @BeforeClass
+        public static void setUpClass() throws InterruptedException {
+            Assume.assumeTrue(runningFixture);
+            System.out.println("slow: before class");
+            overlapped = awaitOtherClass();
+            classFolder = tempFolderPerClass.getRoot();
+        }
+
+        @Test
+        public void test() throws InterruptedException {
+            Thread.sleep(200);
+            System.out.println("slow: test");
+        }
+    }
+
+    public static class FastClass {
+
+        @ClassRule
+        public static final TemporaryFolder tempFolderPerClass = new TemporaryFolder();
+        static volatile boolean overlapped;
+        static volatile File classFolder;
+
+        @BeforeClass
+        public static void setUpClass() throws InterruptedException {
+            Assume.assumeTrue(runningFixture);
+            System.out.println("fast: before class");
+            overlapped = awaitOtherClass();
+            classFolder = tempFolderPerClass.getRoot();
+        }
+
+        @Test
+        public void test() {
+            System.out.println("fast: test");
+        }
+    }
+
+    @RunWith(ParallelClassSuite.class)
+    @SuiteClasses({ FirstPrintingClass.class, SecondPrintingClass.class })
+    @PoolSize(1)
+    public static class ParallelStreamSuite {
+    }
+
+    private abstract static class PrintingInParallel {
+
+        static final int LINES = 100;
+
+        static void printInParallel(String prefix) {
+            IntStream.range(0, LINES).parallel().forEach(i -> System.out.println(prefix + ": " + i));
+        }
+    }
+
+    public static class FirstPrintingClass extends PrintingInParallel {
+
+        @BeforeClass
+        public static void setUpClass() {
+            Assume.assumeTrue(runningFixture);
+        }
+
+        @Test
+        public void test() {
+            printInParallel("first");
+        }
+    }
+
+    public static class SecondPrintingClass extends PrintingInParallel {
+
+        @BeforeClass
+        public static void setUpClass() {
+            Assume.assumeTrue(runningFixture);
+        }
+
+        @Test
+        public void test() {
+            printInParallel("second");
+        }
+    }
+}
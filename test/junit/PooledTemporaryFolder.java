@@ -0,0 +1,136 @@
+package com.att.tlv.training.test.junit;
+
+import org.junit.rules.ExternalResource;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A drop-in replacement for {@link TemporaryFolder}, as a {@code @Rule} or a {@code @ClassRule}, for tests creating
+ * many files.
+ * <p>
+ * The folders are kept on tmpfs ({@value #TMPFS}) when there is one, or under any directory given - including the
+ * root of an in-memory {@code FileSystem} such as Jimfs. They are not deleted after each test but recycled: see
+ * {@link DirectoryPool}. Only the folders of the default file system are recycled across rules - in another one,
+ * each rule has a pool of its own, which goes away with the rule and its file system.
+ * <pre>
+ * &#64;Rule
+ * public final PooledTemporaryFolder tempFolder = new PooledTemporaryFolder();
+ *
+ * private final FileSystem inMemory = Jimfs.newFileSystem();
+ * &#64;Rule
+ * public final PooledTemporaryFolder inMemoryFolder = new PooledTemporaryFolder(inMemory.getPath("/"));
+ *
+ * &#64;After
+ * public void closeInMemory() throws IOException {
+ *     inMemory.close();
+ * }
+ * </pre>
+ * The {@code File} methods work only on the default file system. The {@code Path} ones work everywhere.
+ */
+public class PooledTemporaryFolder extends ExternalResource {
+
+    static final String TMPFS = "/dev/shm";
+
+    private final DirectoryPool pool;
+    private final AtomicLong names = new AtomicLong();
+    private Path root;
+
+    /**
+     * Folders on tmpfs if there is one, and in the temporary directory otherwise.
+     */
+    public PooledTemporaryFolder() {
+        this(defaultBase());
+    }
+
+    public PooledTemporaryFolder(Path base) {
+        pool = DirectoryPool.forBase(base);
+    }
+
+    private static Path defaultBase() {
+        Path tmpfs = Paths.get(TMPFS);
+        return Files.isDirectory(tmpfs) && Files.isWritable(tmpfs) ? tmpfs
+                : Paths.get(System.getProperty("java.io.tmpdir"));
+    }
+
+    @Override
+    protected void before() throws Throwable {
+        root = pool.acquire();
+    }
+
+    @Override
+    protected void after() {
+        try {
+            pool.release(root);
+        }
+        catch (IOException e) {
+            // Like TemporaryFolder, failing to clean up doesn't fail the test - the folder just isn't reused
+        }
+        finally {
+            root = null;
+        }
+    }
+
+    public Path getRootPath() {
+        if (root == null) {
+            throw new IllegalStateException("The temporary folder has not yet been created");
+        }
+        return root;
+    }
+
+    public File getRoot() {
+        return toFile(getRootPath());
+    }
+
+    public Path newFilePath(String fileName) throws IOException {
+        return Files.createFile(getRootPath().resolve(fileName));
+    }
+
+    public Path newFilePath() throws IOException {
+        return Files.createFile(getRootPath().resolve("junit" + names.incrementAndGet() + ".tmp"));
+    }
+
+    public Path newFolderPath(String... folderNames) throws IOException {
+        Path folder = getRootPath();
+        for (String folderName : folderNames) {
+            folder = folder.resolve(folderName);
+        }
+        if (folder.equals(getRootPath()) || Files.exists(folder)) {
+            throw new IOException("a folder with the name '" + folder.getFileName() + "' already exists");
+        }
+        return Files.createDirectories(folder);
+    }
+
+    public Path newFolderPath() throws IOException {
+        return Files.createDirectory(getRootPath().resolve("junit" + names.incrementAndGet()));
+    }
+
+    public File newFile(String fileName) throws IOException {
+        return toFile(newFilePath(fileName));
+    }
+
+    public File newFile() throws IOException {
+        return toFile(newFilePath());
+    }
+
+    public File newFolder(String... folderNames) throws IOException {
+        return toFile(newFolderPath(folderNames));
+    }
+
+    public File newFolder() throws IOException {
+        return toFile(newFolderPath());
+    }
+
+    private static File toFile(Path path) {
+        if (path.getFileSystem() != FileSystems.getDefault()) {
+            throw new UnsupportedOperationException("Not on the default file system, use the Path methods: " + path);
+        }
+        return path.toFile();
+    }
+}
@@ -0,0 +1,94 @@
+package com.att.tlv.training.test.junit;
+
+import org.junit.rules.TemporaryFolder;
+import org.junit.rules.TestRule;
+import org.junit.runner.Description;
+import org.junit.runners.model.Statement;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A test writing many small files into a temporary folder, from creating the folder to cleaning it up - with
+ * {@link TemporaryFolder} on disk against {@link PooledTemporaryFolder} on disk and on tmpfs.
+ * <p>
+ * The pooled folders are deleted on a second thread, but never more than {@value DirectoryPool#MAX_PENDING_DELETIONS}
+ * behind - past that the test deletes its own, so deleting slower than the test writes shows in the score. Every
+ * iteration waits for the backlog to be deleted, so none of it slows down the next one.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TemporaryFolderBenchmark {
+
+    private static final byte[] CONTENT = new byte[256];
+
+    @Param({ "10", "500" })
+    private int files;
+
+    private final Path diskBase = Paths.get(System.getProperty("java.io.tmpdir"));
+    private final TemporaryFolder temporaryFolder = new TemporaryFolder();
+    private final PooledTemporaryFolder pooledOnDisk = new PooledTemporaryFolder(diskBase);
+    private final PooledTemporaryFolder pooledOnTmpfs = new PooledTemporaryFolder();
+
+    @TearDown(Level.Iteration)
+    public void awaitDeletions() throws InterruptedException {
+        DirectoryPool.awaitDeletions();
+    }
+
+    @Benchmark
+    public void temporaryFolder() throws Throwable {
+        run(temporaryFolder, () -> writeFiles(temporaryFolder.getRoot().toPath()));
+    }
+
+    @Benchmark
+    public void pooledOnDisk() throws Throwable {
+        run(pooledOnDisk, () -> writeFiles(pooledOnDisk.getRootPath()));
+    }
+
+    @Benchmark
+    public void pooledOnTmpfs() throws Throwable {
+        run(pooledOnTmpfs, () -> writeFiles(pooledOnTmpfs.getRootPath()));
+    }
+
+    private void writeFiles(Path root) throws Exception {
+        // Ten files per folder, as in a typical output tree
+        Path folder = root;
+        for (int i = 0; i < files; i++) {
+            if (i % 10 == 0) {
+                folder = Files.createDirectory(root.resolve("folder" + i));
+            }
+            Files.write(folder.resolve("file" + i + ".txt"), CONTENT);
+        }
+    }
+
+    private static void run(TestRule rule, TestBody test) throws Throwable {
+        rule.apply(new Statement() {
+            @Override
+            public void evaluate() throws Throwable {
+                test.run();
+            }
+        }, Description.EMPTY).evaluate();
+    }
+
+    private interface TestBody {
+        void run() throws Exception;
+    }
+}
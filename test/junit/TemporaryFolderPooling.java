@@ -0,0 +1,170 @@
+package com.att.tlv.training.test.junit;
+
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.Description;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Result;
+import org.junit.runners.model.Statement;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TemporaryFolderPooling {
+
+    // MUST be public and static!
+    @ClassRule
+    public static final PooledTemporaryFolder tempFolderPerClass = new PooledTemporaryFolder();
+    // MUST be public!
+    @Rule
+    public final PooledTemporaryFolder tempFolder = new PooledTemporaryFolder();
+
+    @Test
+    public void dropInForTemporaryFolder() throws Exception {
+        File file = tempFolder.newFile("file.txt");
+        File folder = tempFolder.newFolder("parent", "child");
+
+        assertThat(file).isFile().hasParent(tempFolder.getRoot());
+        assertThat(folder).isDirectory().hasParent(new File(tempFolder.getRoot(), "parent"));
+        assertThat(tempFolder.getRoot()).isNotEqualTo(tempFolderPerClass.getRoot());
+        if (Files.isDirectory(Paths.get(PooledTemporaryFolder.TMPFS))) {
+            assertThat(tempFolder.getRootPath()).startsWith(Paths.get(PooledTemporaryFolder.TMPFS));
+        }
+        assertThatThrownBy(() -> tempFolder.newFolder("parent")).hasMessageContaining("already exists");
+    }
+
+    @Test
+    public void foldersAreRecycledEmpty() throws Throwable {
+        PooledTemporaryFolder folder = new PooledTemporaryFolder();
+        List<Path> roots = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            evaluate(folder, () -> {
+                roots.add(folder.getRootPath());
+                assertThat(list(folder.getRootPath())).isEmpty();
+                Path nested = folder.newFolderPath("a", "b");
+                Files.write(nested.resolve("data.txt"), Collections.singletonList("data"));
+                folder.newFilePath();
+            });
+        }
+
+        // One folder, reused
+        assertThat(roots).containsOnly(roots.get(0));
+        assertThat(list(roots.get(0))).isEmpty();
+        // And the used ones deleted from the trash
+        DirectoryPool.awaitDeletions();
+        assertThat(list(roots.get(0).resolveSibling("trash"))).isEmpty();
+    }
+
+    @Test
+    public void inAnotherFileSystem() throws Throwable {
+        Path zip = tempFolder.getRootPath().resolve("folders.zip");
+        try (FileSystem zipFileSystem = FileSystems.newFileSystem(URI.create("jar:" + zip.toUri()),
+                Collections.singletonMap("create", "true"))) {
+            PooledTemporaryFolder folder = new PooledTemporaryFolder(zipFileSystem.getPath("/tmp"));
+            List<Path> roots = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                evaluate(folder, () -> {
+                    roots.add(folder.getRootPath());
+                    assertThat(list(folder.getRootPath())).isEmpty();
+                    Files.write(folder.newFilePath("data.txt"), Collections.singletonList("data"));
+                    assertThatThrownBy(folder::getRoot).isInstanceOf(UnsupportedOperationException.class);
+                });
+            }
+
+            assertThat(roots).containsOnly(roots.get(0));
+            assertThat(roots.get(0).getFileSystem()).isSameAs(zipFileSystem);
+            // Not shared, so nothing outlives the file system
+            assertThat(DirectoryPool.forBase(zipFileSystem.getPath("/tmp")))
+                    .isNotSameAs(DirectoryPool.forBase(zipFileSystem.getPath("/tmp")));
+        }
+        Path temp = Paths.get(System.getProperty("java.io.tmpdir"));
+        assertThat(DirectoryPool.forBase(temp)).isSameAs(DirectoryPool.forBase(temp));
+    }
+
+    @Test
+    public void rootOutsideATest() {
+        assertThatThrownBy(() -> new PooledTemporaryFolder().getRootPath()).isInstanceOf(IllegalStateException.class);
+        // Same as TemporaryFolder
+        assertThatThrownBy(() -> new TemporaryFolder().getRoot()).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void runsWithJUnit() {
+        PooledRules.roots.clear();
+        Result result = new JUnitCore().run(PooledRules.class);
+
+        assertThat(result.wasSuccessful()).isTrue();
+        assertThat(result.getRunCount()).isEqualTo(2);
+        // The second test got the folder of the first one back, emptied
+        assertThat(PooledRules.roots).hasSize(2).containsOnly(PooledRules.roots.get(0));
+    }
+
+    /**
+     * The pooled folders as {@code JunitRules} uses {@link TemporaryFolder}s, one per class and one per test.
+     */
+    public static class PooledRules {
+
+        @ClassRule
+        public static final PooledTemporaryFolder tempFolderPerClass = new PooledTemporaryFolder();
+        @Rule
+        public final PooledTemporaryFolder tempFolder = new PooledTemporaryFolder();
+
+        static final List<Path> roots = new ArrayList<>();
+
+        @Test
+        public void first() throws IOException {
+            useFolders();
+        }
+
+        @Test
+        public void second() throws IOException {
+            useFolders();
+        }
+
+        private void useFolders() throws IOException {
+            roots.add(tempFolder.getRootPath());
+            assertThat(list(tempFolder.getRootPath())).isEmpty();
+            tempFolder.newFolder("parent", "child");
+            tempFolder.newFile("file.txt");
+            // The class folder keeps the files of every test
+            tempFolderPerClass.newFile();
+            assertThat(list(tempFolderPerClass.getRootPath())).hasSize(roots.size());
+            assertThat(tempFolder.getRoot()).isNotEqualTo(tempFolderPerClass.getRoot());
+        }
+    }
+
+    private static List<Path> list(Path folder) throws IOException {
+        try (Stream<Path> files = Files.list(folder)) {
+            return files.collect(Collectors.toList());
+        }
+    }
+
+    private static void evaluate(PooledTemporaryFolder folder, ThrowingRunnable test) throws Throwable {
+        folder.apply(new Statement() {
+            @Override
+            public void evaluate() throws Throwable {
+                test.run();
+            }
+        }, Description.EMPTY).evaluate();
+    }
+
+    private interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+}
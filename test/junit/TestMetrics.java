@@ -0,0 +1,352 @@
+package com.att.tlv.training.test.junit;
+
+import org.junit.AssumptionViolatedException;
+import org.junit.rules.TestRule;
+import org.junit.runner.Description;
+import org.junit.runners.model.Statement;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Records, for every test method and for the {@code @BeforeClass} phase of every class, the wall time, the CPU time
+ * and the bytes allocated by the running thread, and the number and time of garbage collections. Use the same
+ * instance as a class rule and as a test rule - it works with any runner built on {@code BlockJUnit4ClassRunner},
+ * {@code MockitoJUnitRunner} included:
+ * <pre>
+ * &#64;ClassRule
+ * public static final TestMetrics metrics = new TestMetrics();
+ * &#64;Rule
+ * public final TestMetrics testMetrics = metrics;
+ * </pre>
+ * The {@code @BeforeClass} phase lasts from the start of the class until its first test starts, so it also covers
+ * class rules declared before this one. When a class ends, its records are appended to the file named by the
+ * {@value #FILE_PROPERTY} system property, if any - as JSON lines if it ends with {@code .json}, and as CSV otherwise.
+ * <p>
+ * Rules run on the thread running the tests, so the records are right in a {@link ParallelClassSuite} as well. GC
+ * counts and times are JVM-wide though, so there they include collections caused by classes running alongside.
+ * Taking a measurement costs a few MXBean reads, about a microsecond.
+ */
+public class TestMetrics implements TestRule {
+
+    public static final String FILE_PROPERTY = "test.metrics.file";
+    static final String BEFORE_CLASS = "@BeforeClass";
+
+    private static final String CSV_HEADER =
+            "startedAt,class,name,status,wallNanos,cpuNanos,allocatedBytes,gcCount,gcMillis";
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    private static final List<GarbageCollectorMXBean> COLLECTORS = ManagementFactory.getGarbageCollectorMXBeans();
+    private static final Object FILE_LOCK = new Object();
+
+    private final Path file;
+    private final List<Record> records = Collections.synchronizedList(new ArrayList<>());
+    // The class running on this thread, whose @BeforeClass phase ends when its first test starts
+    private final ThreadLocal<ClassRun> currentClass = new ThreadLocal<>();
+
+    /**
+     * Writes to the file named by the {@value #FILE_PROPERTY} system property, or nowhere if it's not set.
+     */
+    public TestMetrics() {
+        this(fileFromProperty());
+    }
+
+    public TestMetrics(Path file) {
+        this.file = file;
+    }
+
+    private static Path fileFromProperty() {
+        String file = System.getProperty(FILE_PROPERTY);
+        return file == null || file.trim().isEmpty() ? null : Paths.get(file.trim());
+    }
+
+    /**
+     * Forgets everything recorded so far. The file keeps what was written to it.
+     */
+    public void clear() {
+        records.clear();
+    }
+
+    /**
+     * Everything recorded so far, in order.
+     */
+    public List<Record> getRecords() {
+        synchronized (records) {
+            return new ArrayList<>(records);
+        }
+    }
+
+    @Override
+    public Statement apply(Statement base, Description description) {
+        return description.isTest() ? measureTest(base, description) : measureClass(base, description);
+    }
+
+    private Statement measureClass(Statement base, Description description) {
+        return new Statement() {
+            @Override
+            public void evaluate() throws Throwable {
+                ClassRun run = new ClassRun(description.getClassName(), Snapshot.take());
+                currentClass.set(run);
+                String status = "passed";
+                try {
+                    base.evaluate();
+                }
+                catch (Throwable t) {
+                    status = status(t);
+                    throw t;
+                }
+                finally {
+                    currentClass.remove();
+                    // No test started - @BeforeClass failed, or there was nothing to run
+                    if (!run.beforeClassRecorded) {
+                        run.records.add(record(run.className, BEFORE_CLASS, status, run.start, Snapshot.take()));
+                    }
+                    records.addAll(run.records);
+                    write(run.records);
+                }
+            }
+        };
+    }
+
+    private Statement measureTest(Statement base, Description description) {
+        return new Statement() {
+            @Override
+            public void evaluate() throws Throwable {
+                ClassRun run = currentClass.get();
+                Snapshot start = Snapshot.take();
+                if (run != null && !run.beforeClassRecorded) {
+                    run.beforeClassRecorded = true;
+                    run.records.add(record(run.className, BEFORE_CLASS, "passed", run.start, start));
+                }
+                String status = "passed";
+                try {
+                    base.evaluate();
+                }
+                catch (Throwable t) {
+                    status = status(t);
+                    throw t;
+                }
+                finally {
+                    Record record = record(description.getClassName(), description.getMethodName(), status, start,
+                            Snapshot.take());
+                    if (run != null) {
+                        run.records.add(record);
+                    }
+                    else {
+                        // Used only as a test rule - nothing to wait for
+                        records.add(record);
+                        write(Collections.singletonList(record));
+                    }
+                }
+            }
+        };
+    }
+
+    private static String status(Throwable t) {
+        return t instanceof AssumptionViolatedException ? "skipped" : "failed";
+    }
+
+    private static Record record(String className, String name, String status, Snapshot start, Snapshot end) {
+        return new Record(start.epochMillis, className, name, status, end.nanoTime - start.nanoTime,
+                difference(start.cpuNanos, end.cpuNanos), difference(start.allocatedBytes, end.allocatedBytes),
+                end.gcCount - start.gcCount, end.gcMillis - start.gcMillis);
+    }
+
+    private static long difference(long start, long end) {
+        return start < 0 || end < 0 ? -1 : end - start;
+    }
+
+    private void write(List<Record> written) {
+        if (file == null || written.isEmpty()) {
+            return;
+        }
+        boolean json = file.getFileName().toString().endsWith(".json");
+        synchronized (FILE_LOCK) {
+            try {
+                boolean header = !json && (!Files.exists(file) || Files.size(file) == 0);
+                try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                        StandardOpenOption.APPEND)) {
+                    if (header) {
+                        writer.write(CSV_HEADER + System.lineSeparator());
+                    }
+                    for (Record record : written) {
+                        writer.write((json ? record.toJson() : record.toCsv()) + System.lineSeparator());
+                    }
+                }
+            }
+            catch (IOException e) {
+                throw new UncheckedIOException("Can't write test metrics to " + file, e);
+            }
+        }
+    }
+
+    private static class ClassRun {
+
+        private final String className;
+        private final Snapshot start;
+        private final List<Record> records = new ArrayList<>();
+        private boolean beforeClassRecorded;
+
+        ClassRun(String className, Snapshot start) {
+            this.className = className;
+            this.start = start;
+        }
+    }
+
+    private static class Snapshot {
+
+        private final long epochMillis = System.currentTimeMillis();
+        private final long nanoTime = System.nanoTime();
+        private final long cpuNanos;
+        private final long allocatedBytes;
+        private long gcCount;
+        private long gcMillis;
+
+        private Snapshot() {
+            cpuNanos = THREADS.isCurrentThreadCpuTimeSupported() ? THREADS.getCurrentThreadCpuTime() : -1;
+            allocatedBytes = allocatedBytes();
+            for (GarbageCollectorMXBean collector : COLLECTORS) {
+                gcCount += Math.max(collector.getCollectionCount(), 0);
+                gcMillis += Math.max(collector.getCollectionTime(), 0);
+            }
+        }
+
+        static Snapshot take() {
+            return new Snapshot();
+        }
+
+        private static long allocatedBytes() {
+            if (THREADS instanceof com.sun.management.ThreadMXBean) {
+                com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) THREADS;
+                if (threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+                    return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+                }
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * The measurements of a test or a {@code @BeforeClass} phase. CPU time and allocated bytes are -1 when the JVM
+     * doesn't measure them.
+     */
+    public static final class Record {
+
+        private final long startedAt;
+        private final String testClass;
+        private final String name;
+        private final String status;
+        private final long wallNanos;
+        private final long cpuNanos;
+        private final long allocatedBytes;
+        private final long gcCount;
+        private final long gcMillis;
+
+        Record(long startedAt, String testClass, String name, String status, long wallNanos, long cpuNanos,
+                long allocatedBytes, long gcCount, long gcMillis) {
+            this.startedAt = startedAt;
+            this.testClass = testClass;
+            this.name = name;
+            this.status = status;
+            this.wallNanos = wallNanos;
+            this.cpuNanos = cpuNanos;
+            this.allocatedBytes = allocatedBytes;
+            this.gcCount = gcCount;
+            this.gcMillis = gcMillis;
+        }
+
+        /**
+         * Milliseconds since the epoch.
+         */
+        public long getStartedAt() {
+            return startedAt;
+        }
+
+        public String getTestClass() {
+            return testClass;
+        }
+
+        /**
+         * The test method, or {@value #BEFORE_CLASS}.
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * passed, failed or skipped.
+         */
+        public String getStatus() {
+            return status;
+        }
+
+        public long getWallNanos() {
+            return wallNanos;
+        }
+
+        public long getCpuNanos() {
+            return cpuNanos;
+        }
+
+        public long getAllocatedBytes() {
+            return allocatedBytes;
+        }
+
+        public long getGcCount() {
+            return gcCount;
+        }
+
+        public long getGcMillis() {
+            return gcMillis;
+        }
+
+        String toCsv() {
+            return String.join(",", String.valueOf(startedAt), csv(testClass), csv(name), status,
+                    String.valueOf(wallNanos), String.valueOf(cpuNanos), String.valueOf(allocatedBytes),
+                    String.valueOf(gcCount), String.valueOf(gcMillis));
+        }
+
+        String toJson() {
+            return String.format("{\"startedAt\":%d,\"class\":%s,\"name\":%s,\"status\":\"%s\",\"wallNanos\":%d,"
+                            + "\"cpuNanos\":%d,\"allocatedBytes\":%d,\"gcCount\":%d,\"gcMillis\":%d}",
+                    startedAt, json(testClass), json(name), status, wallNanos, cpuNanos, allocatedBytes, gcCount,
+                    gcMillis);
+        }
+
+        private static String csv(String value) {
+            return value.indexOf(',') < 0 && value.indexOf('"') < 0 ? value : '"' + value.replace("\"", "\"\"") + '"';
+        }
+
+        private static String json(String value) {
+            StringBuilder json = new StringBuilder(value.length() + 2).append('"');
+            for (char c : value.toCharArray()) {
+                if (c == '"' || c == '\\') {
+                    json.append('\\').append(c);
+                }
+                else if (c < ' ') {
+                    json.append(String.format("\\u%04x", (int) c));
+                }
+                else {
+                    json.append(c);
+                }
+            }
+            return json.append('"').toString();
+        }
+
+        @Override
+        public String toString() {
+            return toCsv();
+        }
+    }
+}
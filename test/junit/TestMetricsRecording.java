@@ -0,0 +1,159 @@
+package com.att.tlv.training.test.junit;
+
+import com.att.tlv.training.test.junit.TestMetrics.Record;
+import org.junit.Assume;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Result;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static java.util.stream.Collectors.toMap;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+public class TestMetricsRecording {
+
+    private static final Path CSV_FILE = tempFile(".csv");
+    private static final Path JSON_FILE = tempFile(".json");
+
+    // The fixture classes below only run from these tests, not when a runner picks them up on its own
+    private static volatile boolean runningFixture;
+
+    @Test
+    public void recordsTestsAndBeforeClass() throws Exception {
+        Result result = runFixture(PlainClass.class, PlainClass.metrics, CSV_FILE);
+
+        assertThat(result.getFailureCount()).isEqualTo(1);
+        Map<String, Record> records = PlainClass.metrics.getRecords().stream()
+                .collect(toMap(Record::getName, Function.identity()));
+        assertThat(records).containsOnlyKeys(TestMetrics.BEFORE_CLASS, "allocating", "failing", "skipped");
+
+        Record beforeClass = records.get(TestMetrics.BEFORE_CLASS);
+        assertThat(beforeClass.getTestClass()).isEqualTo(PlainClass.class.getName());
+        assertThat(beforeClass.getWallNanos()).isGreaterThanOrEqualTo(50_000_000L);
+        // Sleeping takes no CPU
+        assertThat(beforeClass.getCpuNanos()).isLessThan(beforeClass.getWallNanos());
+
+        Record allocating = records.get("allocating");
+        assertThat(allocating.getStatus()).isEqualTo("passed");
+        assertThat(allocating.getAllocatedBytes()).isGreaterThanOrEqualTo(16L << 20);
+        assertThat(allocating.getGcCount()).isNotNegative();
+        assertThat(records.get("failing").getStatus()).isEqualTo("failed");
+        assertThat(records.get("skipped").getStatus()).isEqualTo("skipped");
+
+        List<String> lines = Files.readAllLines(CSV_FILE);
+        assertThat(lines).hasSize(5);
+        assertThat(lines.get(0))
+                .isEqualTo("startedAt,class,name,status,wallNanos,cpuNanos,allocatedBytes,gcCount,gcMillis");
+        assertThat(lines.get(1)).contains("," + PlainClass.class.getName() + ",@BeforeClass,passed,");
+    }
+
+    @Test
+    public void worksWithTheMockitoRunner() throws Exception {
+        Result result = runFixture(MockitoClass.class, MockitoClass.metrics, JSON_FILE);
+
+        assertThat(result.wasSuccessful()).isTrue();
+        assertThat(MockitoClass.metrics.getRecords()).extracting(Record::getName)
+                .containsExactly(TestMetrics.BEFORE_CLASS, "stubbing");
+        List<String> lines = Files.readAllLines(JSON_FILE);
+        assertThat(lines).hasSize(2);
+        assertThat(lines.get(1)).startsWith("{\"startedAt\":")
+                .contains("\"class\":\"" + MockitoClass.class.getName() + "\"")
+                .contains("\"name\":\"stubbing\",\"status\":\"passed\"");
+    }
+
+    /**
+     * Runs a fixture class from scratch, so running these tests again finds the same records.
+     */
+    private static Result runFixture(Class<?> fixture, TestMetrics metrics, Path file) throws IOException {
+        metrics.clear();
+        Files.write(file, new byte[0]);
+        runningFixture = true;
+        try {
+            return new JUnitCore().run(fixture);
+        }
+        finally {
+            runningFixture = false;
+        }
+    }
+
+    public static class PlainClass {
+
+        @ClassRule
+        public static final TestMetrics metrics = new TestMetrics(CSV_FILE);
+        @Rule
+        public final TestMetrics testMetrics = metrics;
+
+        static volatile byte[] allocated;
+
+        @BeforeClass
+        public static void setUpClass() throws InterruptedException {
+            Assume.assumeTrue(runningFixture);
+            Thread.sleep(50);
+        }
+
+        @Test
+        public void allocating() {
+            for (int i = 0; i < 16; i++) {
+                allocated = new byte[1 << 20];
+            }
+        }
+
+        @Test
+        public void failing() {
+            assertThat(1).isEqualTo(2);
+        }
+
+        @Test
+        public void skipped() {
+            Assume.assumeTrue(false);
+        }
+    }
+
+    @RunWith(MockitoJUnitRunner.class)
+    public static class MockitoClass {
+
+        @ClassRule
+        public static final TestMetrics metrics = new TestMetrics(JSON_FILE);
+        @Rule
+        public final TestMetrics testMetrics = metrics;
+
+        @Mock
+        private List<String> list;
+
+        @BeforeClass
+        public static void setUpClass() {
+            Assume.assumeTrue(runningFixture);
+        }
+
+        @Test
+        public void stubbing() {
+            when(list.get(0)).thenReturn("first");
+            assertThat(list.get(0)).isEqualTo("first");
+        }
+    }
+
+    private static Path tempFile(String suffix) {
+        try {
+            Path file = Files.createTempFile("test-metrics", suffix);
+            file.toFile().deleteOnExit();
+            return file;
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.att.tlv.training.test.mocks;
+
+import java.util.Objects;
+
+class Adder {
+    
+    private final IntPairAdder intPairAdder;
+
+    public Adder(IntPairAdder intPairAdder) {
+        this.intPairAdder = Objects.requireNonNull(intPairAdder);
+    }
+
+    public int sum(int x, int y) {
+        return x + y;
+    }
+    
+    public int add(int x, int y) {
+        IntPair intPair = new IntPair(x, y);
+        return intPairAdder.calculateSum(intPair);
+    }
+    
+    // out[i] = add(xs[i], ys[i]), without an IntPair per element and with a single call to the IntPairAdder
+    public void addAll(int[] xs, int[] ys, int[] out) {
+        intPairAdder.calculateSums(xs, ys, out);
+    }
+}
@@ -0,0 +1,94 @@
+package com.att.tlv.training.test.mocks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Adder#add(int, int)} allocates an {@link IntPair} per call and delegates to {@link IntPairAdder},
+ * while {@link Adder#sum(int, int)} does neither. Escape analysis may remove the allocation - check
+ * {@code gc.alloc.rate.norm} to see whether it did.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AdderBenchmark {
+
+    private Adder adder;
+    private int x = 5;
+    private int y = 3;
+
+    @Setup
+    public void setUp() {
+        adder = new Adder(new IntPairAdder());
+    }
+
+    @Benchmark
+    public int add() {
+        return adder.add(x, y);
+    }
+
+    @Benchmark
+    public int sum() {
+        return adder.sum(x, y);
+    }
+
+    @Benchmark
+    public IntPair allocateIntPair() {
+        return new IntPair(x, y);
+    }
+
+    /**
+     * Summing whole arrays: one {@link Adder#add(int, int)} per element against a single {@link Adder#addAll}.
+     */
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @State(Scope.Thread)
+    public static class Batch {
+
+        @Param({"1000", "1000000", "10000000"})
+        private int size;
+
+        private Adder adder;
+        private int[] xs;
+        private int[] ys;
+        private int[] sums;
+
+        @Setup
+        public void setUp() {
+            adder = new Adder(new IntPairAdder());
+            Random random = new Random(42);
+            xs = random.ints(size).toArray();
+            ys = random.ints(size).toArray();
+            sums = new int[size];
+        }
+
+        @Benchmark
+        public int[] addOneByOne() {
+            for (int i = 0; i < size; i++) {
+                sums[i] = adder.add(xs[i], ys[i]);
+            }
+            return sums;
+        }
+
+        @Benchmark
+        public int[] addAll() {
+            adder.addAll(xs, ys, sums);
+            return sums;
+        }
+    }
+}
@@ -9,13 +9,21 @@ import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
-import java.util.Objects;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.atomic.LongAdder;
 
+import static com.att.tlv.training.test.assertions.FieldComparators.fieldByField;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
 
 @RunWith(MockitoJUnitRunner.class)
 public class ArgumentCaptorsAndMatchers {
@@ -62,6 +70,48 @@ public class ArgumentCaptorsAndMatchers {
         IntPair intPair = pairCaptor.getValue();
         // And run some assertions on it
         assertThat(intPair).isEqualToComparingFieldByField(new IntPair(x, y));
+        // The same, with the fields read through method handles cached per class
+        assertThat(intPair).usingComparator(fieldByField()).isEqualTo(new IntPair(x, y));
+    }
+    
+    @Test
+    public void testAddUsingStreamingCaptor() {
+        // Same as above, but the captor only keeps the last 2 pairs (and the smallest and largest, by first)
+        StreamingArgumentCaptor<IntPair> lastPairs = StreamingArgumentCaptor.keepingLast(IntPair.class, 2);
+        StreamingArgumentCaptor<IntPair> extremes = StreamingArgumentCaptor.keepingMinMax(IntPair.class,
+                Comparator.comparingInt(IntPair::getFirst));
+        for (int x = 1; x <= 5; x++) {
+            adder.add(x, 3);
+        }
+        
+        verify(intPairAdder, times(5)).calculateSum(lastPairs.capture());
+        verify(intPairAdder, times(5)).calculateSum(extremes.capture());
+        
+        assertThat(lastPairs.getCount()).isEqualTo(5);
+        assertThat(lastPairs.getValue()).isEqualToComparingFieldByField(new IntPair(5, 3));
+        assertThat(lastPairs.getLastValues()).extracting(IntPair::getFirst).containsExactly(4, 5);
+        assertThat(extremes.getMin().getFirst()).isEqualTo(1);
+        assertThat(extremes.getMax().getFirst()).isEqualTo(5);
+    }
+    
+    @Test
+    public void testCaptureWhileStubbingAStubOnlyMock() {
+        // A stub-only mock records no calls, and its stubs capture each argument as the call is made.
+        // Nothing is kept per call: a million calls, and only the running total is left.
+        IntPairAdder stubOnlyAdder = mock(IntPairAdder.class, withSettings().stubOnly());
+        LongAdder firsts = new LongAdder();
+        StreamingArgumentCaptor<IntPair> pairCaptor = StreamingArgumentCaptor.forEach(IntPair.class,
+                pair -> firsts.add(pair.getFirst()));
+        when(stubOnlyAdder.calculateSum(pairCaptor.capture())).thenReturn(42);
+        
+        Adder streamingAdder = new Adder(stubOnlyAdder);
+        for (int i = 0; i < 1_000_000; i++) {
+            assertThat(streamingAdder.add(i % 10, 0)).isEqualTo(42);
+        }
+        
+        assertThat(pairCaptor.getCount()).isEqualTo(1_000_000);
+        assertThat(firsts.sum()).isEqualTo(4_500_000);
+        assertThat(pairCaptor.getValue().getFirst()).isEqualTo(9);
     }
     
     @Test
@@ -79,51 +129,52 @@ public class ArgumentCaptorsAndMatchers {
         // other way we could have received the expected result
     }
     
-    private static ArgumentMatcher<IntPair> isIntPairOf(int x, int y) {
-        return pair -> pair.getFirst() == x && pair.getSecond() == y;
+    @Test
+    public void testAddAll() {
+        int[] xs = { 5, 7, Integer.MAX_VALUE };
+        int[] ys = { 3, -7, 1 };
+        int[] sums = new int[3];
+        adder.addAll(xs, ys, sums);
+        
+        // The whole batch is handed to the IntPairAdder in one call, no IntPair is created
+        verify(intPairAdder).calculateSums(xs, ys, sums);
+        verify(intPairAdder, never()).calculateSum(any());
     }
-}
-
-class Adder {
     
-    private final IntPairAdder intPairAdder;
-
-    public Adder(IntPairAdder intPairAdder) {
-        this.intPairAdder = Objects.requireNonNull(intPairAdder);
-    }
-
-    public int sum(int x, int y) {
-        return x + y;
+    @Test
+    public void testCalculateSumsMatchesCalculateSum() {
+        // Large enough to be split across the fork-join pool
+        int length = IntPairAdder.PARALLEL_THRESHOLD * 4 + 3;
+        Random random = new Random(42);
+        int[] xs = random.ints(length).toArray();
+        int[] ys = random.ints(length).toArray();
+        int[] sums = new int[length];
+        
+        IntPairAdder realAdder = new IntPairAdder();
+        realAdder.calculateSums(xs, ys, sums);
+        
+        for (int i = 0; i < length; i++) {
+            assertThat(sums[i]).isEqualTo(realAdder.calculateSum(new IntPair(xs[i], ys[i])));
+        }
+        assertThatIllegalArgumentException().isThrownBy(() -> realAdder.calculateSums(xs, ys, new int[1]));
     }
     
-    public int add(int x, int y) {
-        IntPair intPair = new IntPair(x, y);
-        return intPairAdder.calculateSum(intPair);
+    @Test
+    public void testCalculateSumsGoesThroughAnOverriddenCalculateSum() {
+        IntPairAdder doublingAdder = new IntPairAdder() {
+            @Override
+            public int calculateSum(IntPair intPair) {
+                return 2 * super.calculateSum(intPair);
+            }
+        };
+        Adder doubling = new Adder(doublingAdder);
+        int[] sums = new int[2];
+        doubling.addAll(new int[] { 5, 7 }, new int[] { 3, -2 }, sums);
+        
+        assertThat(sums).containsExactly(doubling.add(5, 3), doubling.add(7, -2));
     }
-}
-
-class IntPairAdder {
     
-    public int calculateSum(IntPair intPair) {
-        return intPair.getFirst() + intPair.getSecond();
-    }
-}
-
-class IntPair {
-
-    private final int first;
-    private final int second;
-
-    public IntPair(int first, int second) {
-        this.first = first;
-        this.second = second;
-    }
-
-    public int getFirst() {
-        return first;
-    }
-
-    public int getSecond() {
-        return second;
+    private static ArgumentMatcher<IntPair> isIntPairOf(int x, int y) {
+        return pair -> pair.getFirst() == x && pair.getSecond() == y;
     }
 }
@@ -0,0 +1,261 @@
+package com.att.tlv.training.test.mocks;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.LongPredicate;
+import java.util.function.Predicate;
+
+/**
+ * How many times one method of a {@link ProxyMocks} mock was called with each list of arguments.
+ * <p>
+ * Nothing is kept per call: every distinct argument list is kept once, with a counter, so memory grows with the
+ * number of distinct argument lists rather than with the number of calls. Calls with no arguments or a single
+ * integral one (boxed {@code int}, {@code long}, {@code short}, {@code byte}, {@code char} or {@code boolean}) - the
+ * bulk of high-volume calls - are counted in open-addressing tables of {@code long}s, so they don't even keep the
+ * boxed argument.
+ * <p>
+ * Other argument lists are copied when first counted - arrays deeply, lists, sets and maps into new ones - so
+ * changing an argument after the call doesn't lose its count. Other mutable arguments are kept as they are.
+ */
+class ArgumentCounts {
+
+    // Tags keeping, e.g., (short) 1 and (byte) 1 apart when a method takes an Object
+    private static final long INT = 0L << 32, SHORT = 1L << 32, BYTE = 2L << 32, CHAR = 3L << 32, BOOLEAN = 4L << 32;
+
+    private long noArguments;
+    private final LongCounts ints = new LongCounts();
+    private final LongCounts longs = new LongCounts();
+    private final Map<Arguments, long[]> others = new HashMap<>();
+
+    synchronized void add(Object[] arguments, long delta) {
+        if (arguments == null || arguments.length == 0) {
+            noArguments += delta;
+            return;
+        }
+        if (arguments.length == 1) {
+            Object argument = arguments[0];
+            if (argument instanceof Long) {
+                longs.add((Long) argument, delta);
+                return;
+            }
+            long key = intKey(argument);
+            if (key != -1) {
+                ints.add(key, delta);
+                return;
+            }
+        }
+        Arguments key = new Arguments(arguments);
+        long[] count = others.get(key);
+        if (count == null) {
+            count = new long[1];
+            others.put(key.copy(), count);
+        }
+        count[0] += delta;
+    }
+
+    synchronized long count(Object[] arguments) {
+        if (arguments == null || arguments.length == 0) {
+            return noArguments;
+        }
+        if (arguments.length == 1) {
+            Object argument = arguments[0];
+            if (argument instanceof Long) {
+                return longs.get((Long) argument);
+            }
+            long key = intKey(argument);
+            if (key != -1) {
+                return ints.get(key);
+            }
+        }
+        long[] count = others.get(new Arguments(arguments));
+        return count == null ? 0 : count[0];
+    }
+
+    /**
+     * How many times the method was called with arguments the matchers, one per argument, all match. Goes through
+     * every distinct argument list counted.
+     */
+    synchronized long count(Predicate<Object>[] matchers) {
+        long calls = 0;
+        if (matchers.length == 1) {
+            calls += ints.sum(key -> matchers[0].test(intValue(key)));
+            calls += longs.sum(matchers[0]::test);
+        }
+        for (Map.Entry<Arguments, long[]> entry : others.entrySet()) {
+            if (entry.getKey().matches(matchers)) {
+                calls += entry.getValue()[0];
+            }
+        }
+        return calls;
+    }
+
+    /**
+     * The argument as a tagged key, or -1 when it is not an int-like value.
+     */
+    private static long intKey(Object argument) {
+        if (argument instanceof Integer) {
+            return INT | ((Integer) argument & 0xFFFFFFFFL);
+        }
+        if (argument instanceof Short) {
+            return SHORT | ((Short) argument & 0xFFFFL);
+        }
+        if (argument instanceof Byte) {
+            return BYTE | ((Byte) argument & 0xFFL);
+        }
+        if (argument instanceof Character) {
+            return CHAR | (Character) argument;
+        }
+        if (argument instanceof Boolean) {
+            return BOOLEAN | ((Boolean) argument ? 1 : 0);
+        }
+        return -1;
+    }
+
+    private static Object intValue(long key) {
+        long tag = key & ~0xFFFFFFFFL;
+        return tag == INT ? (Object) (int) key : tag == SHORT ? (Object) (short) key : tag == BYTE ? (Object) (byte) key
+                : tag == CHAR ? (Object) (char) key : (Object) (key == (BOOLEAN | 1));
+    }
+
+    private static Object copy(Object value) {
+        if (value instanceof Object[]) {
+            Object[] array = ((Object[]) value).clone();
+            for (int i = 0; i < array.length; i++) {
+                array[i] = copy(array[i]);
+            }
+            return array;
+        }
+        if (value != null && value.getClass().isArray()) {
+            int length = Array.getLength(value);
+            Object array = Array.newInstance(value.getClass().getComponentType(), length);
+            System.arraycopy(value, 0, array, 0, length);
+            return array;
+        }
+        // Copies equal to the originals, as List, Set and Map define equals() by content
+        if (value instanceof List) {
+            return new ArrayList<>((List<?>) value);
+        }
+        if (value instanceof Set) {
+            return new LinkedHashSet<>((Set<?>) value);
+        }
+        if (value instanceof Map) {
+            return new LinkedHashMap<>((Map<?, ?>) value);
+        }
+        return value;
+    }
+
+    /**
+     * A {@code long} to count map. Slots hold count + 1, so a zero marks a free slot even when a count is taken back
+     * to zero - entries are never removed.
+     */
+    private static class LongCounts {
+
+        private long[] keys = new long[8];
+        private long[] counts = new long[8];
+        private int size;
+
+        void add(long key, long delta) {
+            int slot = find(key);
+            if (counts[slot] != 0) {
+                counts[slot] += delta;
+                return;
+            }
+            if (delta > 0) {
+                keys[slot] = key;
+                counts[slot] = delta + 1;
+                if (++size * 4 > keys.length * 3) {
+                    grow();
+                }
+            }
+        }
+
+        long get(long key) {
+            long count = counts[find(key)];
+            return count == 0 ? 0 : count - 1;
+        }
+
+        long sum(LongPredicate keys) {
+            long sum = 0;
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] != 0 && keys.test(this.keys[i])) {
+                    sum += counts[i] - 1;
+                }
+            }
+            return sum;
+        }
+
+        private int find(long key) {
+            int mask = keys.length - 1;
+            int slot = (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+            while (counts[slot] != 0 && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            long[] oldCounts = counts;
+            keys = new long[oldKeys.length * 2];
+            counts = new long[oldKeys.length * 2];
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldCounts[i] != 0) {
+                    int slot = find(oldKeys[i]);
+                    keys[slot] = oldKeys[i];
+                    counts[slot] = oldCounts[i];
+                }
+            }
+        }
+    }
+
+    /**
+     * Arguments compared by value, arrays included.
+     */
+    static class Arguments {
+
+        private final Object[] values;
+        private final int hash;
+
+        Arguments(Object[] values) {
+            this(values, Arrays.deepHashCode(values));
+        }
+
+        private Arguments(Object[] values, int hash) {
+            this.values = values;
+            this.hash = hash;
+        }
+
+        Arguments copy() {
+            return new Arguments((Object[]) ArgumentCounts.copy(values), hash);
+        }
+
+        boolean matches(Predicate<Object>[] matchers) {
+            if (values.length != matchers.length) {
+                return false;
+            }
+            for (int i = 0; i < values.length; i++) {
+                if (!matchers[i].test(values[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Arguments && Arrays.deepEquals(values, ((Arguments) o).values);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.att.tlv.training.test.mocks;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An asynchronous front-end to an {@link IntPairAdder}: concurrent {@link #addAsync(int, int)} calls are collected
+ * into batches, and every batch is sent to {@link IntPairAdder#calculateSums(int[], int[], int[])} in a single call.
+ * <p>
+ * A batch is sent as soon as it holds {@code maxBatchSize} pairs - by the thread that added the last one - or
+ * {@code maxWait} after its first pair arrived, by an internal timer thread. The returned futures are completed
+ * by whichever thread sends the batch, so keep their dependent stages short or make them async.
+ */
+class BatchingAdder implements AutoCloseable {
+
+    private final IntPairAdder intPairAdder;
+    private final int maxBatchSize;
+    private final long maxWaitNanos;
+    private final ScheduledThreadPoolExecutor timer;
+
+    private final Object lock = new Object();
+    // Guarded by lock
+    private Batch current;
+    private boolean closed;
+
+    public BatchingAdder(IntPairAdder intPairAdder, int maxBatchSize, long maxWait, TimeUnit unit) {
+        this.intPairAdder = Objects.requireNonNull(intPairAdder);
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive: " + maxBatchSize);
+        }
+        if (maxWait < 0) {
+            throw new IllegalArgumentException("Negative wait: " + maxWait);
+        }
+        this.maxBatchSize = maxBatchSize;
+        this.maxWaitNanos = unit.toNanos(maxWait);
+        this.timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "batching-adder-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Batches filled before their deadline cancel it - don't let the cancelled tasks pile up
+        timer.setRemoveOnCancelPolicy(true);
+    }
+
+    public CompletableFuture<Integer> addAsync(int x, int y) {
+        CompletableFuture<Integer> future = new CompletableFuture<>();
+        Batch full = null;
+        synchronized (lock) {
+            if (closed) {
+                throw new IllegalStateException("BatchingAdder is closed");
+            }
+            if (current == null) {
+                Batch batch = new Batch(maxBatchSize);
+                batch.deadline = timer.schedule(() -> sendIfCurrent(batch), maxWaitNanos, TimeUnit.NANOSECONDS);
+                current = batch;
+            }
+            current.add(x, y, future);
+            if (current.size == maxBatchSize) {
+                full = current;
+                current = null;
+            }
+        }
+        if (full != null) {
+            full.deadline.cancel(false);
+            full.send(intPairAdder);
+        }
+        return future;
+    }
+
+    /**
+     * Sends whatever is pending and stops accepting new pairs.
+     */
+    @Override
+    public void close() {
+        Batch pending;
+        synchronized (lock) {
+            closed = true;
+            pending = current;
+            current = null;
+        }
+        if (pending != null) {
+            pending.deadline.cancel(false);
+            pending.send(intPairAdder);
+        }
+        timer.shutdown();
+    }
+
+    private void sendIfCurrent(Batch batch) {
+        synchronized (lock) {
+            if (current != batch) {
+                // Already sent because it filled up, or by close()
+                return;
+            }
+            current = null;
+        }
+        batch.send(intPairAdder);
+    }
+
+    private static class Batch {
+
+        private final int[] xs;
+        private final int[] ys;
+        private final CompletableFuture<?>[] futures;
+        private int size;
+        private ScheduledFuture<?> deadline;
+
+        Batch(int capacity) {
+            xs = new int[capacity];
+            ys = new int[capacity];
+            futures = new CompletableFuture<?>[capacity];
+        }
+
+        void add(int x, int y, CompletableFuture<Integer> future) {
+            xs[size] = x;
+            ys[size] = y;
+            futures[size] = future;
+            size++;
+        }
+
+        @SuppressWarnings("unchecked")
+        void send(IntPairAdder intPairAdder) {
+            int[] sums = new int[size];
+            try {
+                intPairAdder.calculateSums(size == xs.length ? xs : Arrays.copyOf(xs, size),
+                        size == ys.length ? ys : Arrays.copyOf(ys, size), sums);
+            }
+            catch (RuntimeException | Error e) {
+                for (int i = 0; i < size; i++) {
+                    futures[i].completeExceptionally(e);
+                }
+                return;
+            }
+            for (int i = 0; i < size; i++) {
+                ((CompletableFuture<Integer>) futures[i]).complete(sums[i]);
+            }
+        }
+    }
+}
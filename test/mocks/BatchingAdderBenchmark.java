@@ -0,0 +1,83 @@
+package com.att.tlv.training.test.mocks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Many threads adding at once, through {@link Adder#add(int, int)} against {@link BatchingAdder#addAsync(int, int)}.
+ * The delegate burns a fixed amount of CPU per call to stand in for a remote or otherwise expensive calculation,
+ * which is what batching amortizes.
+ * <p>
+ * JMH runs the load on platform threads. On Java 21+, the same comparison with virtual threads can be made by
+ * submitting the calls to {@code Executors.newVirtualThreadPerTaskExecutor()}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(64)
+@State(Scope.Benchmark)
+public class BatchingAdderBenchmark {
+
+    private static final long CALL_COST = 2_000;
+
+    @Param({"16", "256"})
+    private int maxBatchSize;
+
+    private Adder adder;
+    private BatchingAdder batchingAdder;
+
+    @Setup
+    public void setUp() {
+        IntPairAdder plainAdder = new IntPairAdder();
+        IntPairAdder expensiveAdder = new IntPairAdder() {
+            @Override
+            public int calculateSum(IntPair intPair) {
+                Blackhole.consumeCPU(CALL_COST);
+                return plainAdder.calculateSum(intPair);
+            }
+
+            @Override
+            public void calculateSums(int[] firsts, int[] seconds, int[] sums) {
+                // One call cost per batch - super.calculateSums() would go through calculateSum() for every pair
+                Blackhole.consumeCPU(CALL_COST);
+                plainAdder.calculateSums(firsts, seconds, sums);
+            }
+        };
+        adder = new Adder(expensiveAdder);
+        batchingAdder = new BatchingAdder(expensiveAdder, maxBatchSize, 100, TimeUnit.MICROSECONDS);
+    }
+
+    @TearDown
+    public void tearDown() {
+        batchingAdder.close();
+    }
+
+    @Benchmark
+    public int add() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return adder.add(random.nextInt(), random.nextInt());
+    }
+
+    @Benchmark
+    public int addAsync() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return batchingAdder.addAsync(random.nextInt(), random.nextInt()).join();
+    }
+}
@@ -0,0 +1,197 @@
+package com.att.tlv.training.test.mocks;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Memoizes the sums calculated by another {@link IntPairAdder}, for when the delegate is expensive and the same pairs
+ * keep coming back.
+ * <p>
+ * A pair is keyed by a single {@code long} packing both ints, so a lookup allocates nothing - an {@link IntPair}
+ * is only created on a miss, to call the delegate. The cache is split into segments, each guarded by its own lock
+ * and holding a fixed number of entries in plain arrays. When a segment is full, it evicts with the CLOCK algorithm
+ * (an LRU approximation): entries hit since the hand last passed them get a second chance.
+ */
+class CachingIntPairAdder extends IntPairAdder {
+
+    private final IntPairAdder delegate;
+    private final Segment[] segments;
+    private final int segmentShift;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public CachingIntPairAdder(IntPairAdder delegate, int maximumSize) {
+        this.delegate = Objects.requireNonNull(delegate);
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("Maximum size must be positive: " + maximumSize);
+        }
+        int segmentCount = Integer.highestOneBit(Math.min(maximumSize, Runtime.getRuntime().availableProcessors() * 4) * 2 - 1);
+        this.segments = new Segment[segmentCount];
+        this.segmentShift = 64 - Integer.numberOfTrailingZeros(segmentCount);
+        int perSegment = (maximumSize + segmentCount - 1) / segmentCount;
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment(perSegment);
+        }
+    }
+
+    @Override
+    public int calculateSum(IntPair intPair) {
+        return cachedSum(intPair.getFirst(), intPair.getSecond(), intPair);
+    }
+
+    @Override
+    public void calculateSums(int[] firsts, int[] seconds, int[] sums) {
+        if (firsts.length != seconds.length || firsts.length != sums.length) {
+            throw new IllegalArgumentException(String.format("Array lengths differ: %d, %d, %d",
+                    firsts.length, seconds.length, sums.length));
+        }
+        for (int i = 0; i < sums.length; i++) {
+            sums[i] = cachedSum(firsts[i], seconds[i], null);
+        }
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    public double hitRate() {
+        long hitCount = hitCount();
+        long requests = hitCount + missCount();
+        return requests == 0 ? 1.0 : (double) hitCount / requests;
+    }
+
+    private int cachedSum(int first, int second, IntPair intPair) {
+        long key = ((long) first << 32) | (second & 0xFFFFFFFFL);
+        long hash = mix(key);
+        Segment segment = segments[segmentShift == 64 ? 0 : (int) (hash >>> segmentShift)];
+        synchronized (segment) {
+            int index = segment.find(key, (int) hash);
+            if (index >= 0) {
+                segment.referenced[index] = true;
+                hits.increment();
+                return segment.values[index];
+            }
+        }
+        misses.increment();
+        // Calculate outside of the lock - the delegate is the slow part
+        int sum = delegate.calculateSum(intPair != null ? intPair : new IntPair(first, second));
+        synchronized (segment) {
+            if (segment.put(key, (int) hash, sum)) {
+                evictions.increment();
+            }
+        }
+        return sum;
+    }
+
+    // MurmurHash3's 64 bit finalizer: all bits of both ints affect both the segment (high bits) and the slot (low bits)
+    private static long mix(long key) {
+        long hash = (key ^ (key >>> 33)) * 0xFF51AFD7ED558CCDL;
+        hash = (hash ^ (hash >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return hash ^ (hash >>> 33);
+    }
+
+    private static class Segment {
+
+        // Entries
+        private final long[] keys;
+        private final int[] values;
+        private final boolean[] referenced;
+        private int size;
+        private int hand;
+
+        // Open-addressing table of entry index + 1 (0 marks a free slot)
+        private final int[] table;
+        private final int mask;
+
+        Segment(int capacity) {
+            keys = new long[capacity];
+            values = new int[capacity];
+            referenced = new boolean[capacity];
+            table = new int[Integer.highestOneBit(capacity * 2 - 1) * 2];
+            mask = table.length - 1;
+        }
+
+        int find(long key, int hash) {
+            for (int slot = hash & mask; table[slot] != 0; slot = (slot + 1) & mask) {
+                int index = table[slot] - 1;
+                if (keys[index] == key) {
+                    return index;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Returns whether an entry had to be evicted to make room.
+         */
+        boolean put(long key, int hash, int value) {
+            int existing = find(key, hash);
+            if (existing >= 0) {
+                // Another thread got here first
+                values[existing] = value;
+                return false;
+            }
+            boolean evicted = false;
+            int index;
+            if (size < keys.length) {
+                index = size++;
+            }
+            else {
+                index = victim();
+                removeFromTable(index);
+                evicted = true;
+            }
+            keys[index] = key;
+            values[index] = value;
+            referenced[index] = false;
+            int slot = hash & mask;
+            while (table[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = index + 1;
+            return evicted;
+        }
+
+        private int victim() {
+            while (referenced[hand]) {
+                referenced[hand] = false;
+                hand = (hand + 1) % keys.length;
+            }
+            int victim = hand;
+            hand = (hand + 1) % keys.length;
+            return victim;
+        }
+
+        private void removeFromTable(int index) {
+            long key = keys[index];
+            int free = (int) mix(key) & mask;
+            while (table[free] != index + 1) {
+                free = (free + 1) & mask;
+            }
+            // Backward-shift deletion, as in PersonIndex
+            int current = free;
+            while (true) {
+                current = (current + 1) & mask;
+                if (table[current] == 0) {
+                    break;
+                }
+                int home = (int) mix(keys[table[current] - 1]) & mask;
+                if (((current - home) & mask) >= ((current - free) & mask)) {
+                    table[free] = table[current];
+                    free = current;
+                }
+            }
+            table[free] = 0;
+        }
+    }
+}
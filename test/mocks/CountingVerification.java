@@ -0,0 +1,189 @@
+package com.att.tlv.training.test.mocks;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.att.tlv.training.test.mocks.ProxyMocks.any;
+import static com.att.tlv.training.test.mocks.ProxyMocks.anyInt;
+import static com.att.tlv.training.test.mocks.ProxyMocks.argThat;
+import static com.att.tlv.training.test.mocks.ProxyMocks.atLeast;
+import static com.att.tlv.training.test.mocks.ProxyMocks.atLeastOnce;
+import static com.att.tlv.training.test.mocks.ProxyMocks.atMost;
+import static com.att.tlv.training.test.mocks.ProxyMocks.callsTo;
+import static com.att.tlv.training.test.mocks.ProxyMocks.eq;
+import static com.att.tlv.training.test.mocks.ProxyMocks.intThat;
+import static com.att.tlv.training.test.mocks.ProxyMocks.mock;
+import static com.att.tlv.training.test.mocks.ProxyMocks.never;
+import static com.att.tlv.training.test.mocks.ProxyMocks.times;
+import static com.att.tlv.training.test.mocks.ProxyMocks.verify;
+import static com.att.tlv.training.test.mocks.ProxyMocks.when;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class CountingVerification {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void verifyMultipleInvocations() {
+        List<Integer> numbers = mock(List.class);
+
+        numbers.add(1);
+        numbers.add(2);
+        numbers.add(2);
+        numbers.add(2);
+
+        // Same checks as in VerifyingBehavior
+        verify(numbers, times(1)).add(1);
+        verify(numbers, times(4)).add(anyInt());
+        verify(numbers, atLeastOnce()).add(1);
+        verify(numbers, atLeast(2)).add(2);
+        verify(numbers, atMost(10)).add(anyInt());
+        verify(numbers, never()).add(3);
+
+        assertThatThrownBy(() -> verify(numbers, times(1)).add(2))
+                .isInstanceOf(AssertionError.class)
+                .hasMessage("List.add(2) expected times(1), but was called 3 times");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void millionsOfCallsAreOnlyCounted() {
+        List<Object> values = mock(List.class);
+
+        for (int i = 0; i < 3_000_000; i++) {
+            values.add(i % 3);
+        }
+        values.add((short) 1);
+        values.add((byte) 1);
+        values.add(1L);
+        values.add("one");
+        values.add(new int[] { 1 });
+
+        verify(values, times(3_000_005)).add(any());
+        verify(values, times(1_000_000)).add(1);
+        verify(values, times(2_000_000)).add(intThat(value -> value > 0));
+        // Equal values of different types are different arguments
+        verify(values, times(1)).add((short) 1);
+        verify(values, times(1)).add((byte) 1);
+        verify(values, times(1)).add(1L);
+        verify(values, times(1)).add("one");
+        verify(values, times(1)).add(new int[] { 1 });
+        verify(values, never()).add(3);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void verifyWithMatchers() {
+        List<String> strings = mock(List.class);
+
+        strings.add(0, "a");
+        strings.add(1, "b");
+        strings.add(2, "bb");
+
+        verify(strings, times(3)).add(anyInt(), any());
+        verify(strings, times(1)).add(eq(1), eq("b"));
+        verify(strings, times(2)).add(intThat(index -> index > 0), argThat((String string) -> string.startsWith("b")));
+        verify(strings, never()).add(anyInt(), eq("c"));
+
+        assertThatThrownBy(() -> verify(strings, times(1)).add(intThat(index -> index > 0), any()))
+                .isInstanceOf(AssertionError.class)
+                .hasMessage("List.add(<matcher>, any()) expected times(1), but was called 2 times");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void argumentsChangedAfterTheCallKeepTheirCount() {
+        List<Object> values = mock(List.class);
+        int[] array = { 1 };
+        List<String> list = new ArrayList<>(Arrays.asList("a"));
+
+        values.add(array);
+        values.add(list);
+        array[0] = 2;
+        list.add("b");
+
+        verify(values, times(1)).add(new int[] { 1 });
+        verify(values, times(1)).add(Arrays.asList("a"));
+        verify(values, never()).add(new int[] { 2 });
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void multipleArguments() {
+        List<String> strings = mock(List.class);
+
+        strings.add(0, "a");
+        strings.add(0, "a");
+        strings.add(1, "a");
+
+        verify(strings, times(2)).add(0, "a");
+        verify(strings, times(1)).add(1, "a");
+        verify(strings, never()).add(0, "b");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void stubbingIsNotACall() {
+        List<String> strings = mock(List.class);
+
+        when(strings.get(0)).thenReturn("zero");
+
+        verify(strings, never()).get(0);
+        strings.get(0);
+        verify(strings, times(1)).get(0);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void failuresShowRecentCalls() {
+        List<Integer> numbers = mock(List.class, 2);
+
+        numbers.add(1);
+        numbers.add(2);
+        numbers.clear();
+
+        assertThatThrownBy(() -> verify(numbers, atLeastOnce()).add(3))
+                .isInstanceOf(AssertionError.class)
+                .hasMessage(String.format("List.add(3) expected atLeastOnce(), but was called 0 times%n"
+                        + "Recent calls, oldest first:%n"
+                        + "    List.add(2)%n"
+                        + "    List.clear()"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void recentCallsLeaveOutCallsNamingAMethod() throws InterruptedException {
+        List<Integer> numbers = mock(List.class, 2);
+
+        numbers.add(1);
+        numbers.add(2);
+        numbers.add(3);
+        int size = numbers.size();
+        // Another thread calls the mock before callsTo() takes back the call to size()
+        Thread other = new Thread(numbers::clear);
+        other.start();
+        other.join();
+        assertThat(callsTo(size)).isZero();
+
+        assertThatThrownBy(() -> verify(numbers, atLeastOnce()).add(4))
+                .isInstanceOf(AssertionError.class)
+                .hasMessage(String.format("List.add(4) expected atLeastOnce(), but was called 0 times%n"
+                        + "Recent calls, oldest first:%n"
+                        + "    List.clear()"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void verificationMustBeFollowedByACallOnTheSameMock() {
+        List<Integer> numbers = mock(List.class);
+        List<Integer> others = mock(List.class);
+
+        verify(numbers, never());
+
+        assertThatThrownBy(() -> others.add(1)).isInstanceOf(IllegalStateException.class);
+        assertThat(ProxyMocks.calls(others)).isZero();
+    }
+}
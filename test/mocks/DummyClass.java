@@ -0,0 +1,10 @@
+package com.att.tlv.training.test.mocks;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class DummyClass {
+    public List<? extends Number> dummyMethod() {
+        return new ArrayList<Integer>();
+    }
+}
@@ -0,0 +1,20 @@
+package com.att.tlv.training.test.mocks;
+
+class IntPair {
+
+    private final int first;
+    private final int second;
+
+    public IntPair(int first, int second) {
+        this.first = first;
+        this.second = second;
+    }
+
+    public int getFirst() {
+        return first;
+    }
+
+    public int getSecond() {
+        return second;
+    }
+}
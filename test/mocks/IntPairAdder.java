@@ -0,0 +1,80 @@
+package com.att.tlv.training.test.mocks;
+
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+class IntPairAdder {
+    
+    // Below this length splitting the work across threads costs more than it saves
+    static final int PARALLEL_THRESHOLD = 1 << 17;
+    
+    public int calculateSum(IntPair intPair) {
+        return intPair.getFirst() + intPair.getSecond();
+    }
+    
+    /**
+     * Calculates {@code sums[i]} as {@link #calculateSum} would for the pair at index {@code i}. This class sums the
+     * arrays directly, in parallel for long ones. A subclass gets them summed pair by pair through its own
+     * {@code calculateSum()}, so overriding just that method keeps {@link Adder#addAll} in line with
+     * {@link Adder#add}.
+     */
+    public void calculateSums(int[] firsts, int[] seconds, int[] sums) {
+        Objects.requireNonNull(firsts);
+        Objects.requireNonNull(seconds);
+        Objects.requireNonNull(sums);
+        if (firsts.length != seconds.length || firsts.length != sums.length) {
+            throw new IllegalArgumentException(String.format("Array lengths differ: %d, %d, %d", 
+                    firsts.length, seconds.length, sums.length));
+        }
+        if (getClass() != IntPairAdder.class) {
+            for (int i = 0; i < sums.length; i++) {
+                sums[i] = calculateSum(new IntPair(firsts[i], seconds[i]));
+            }
+        }
+        else if (sums.length < PARALLEL_THRESHOLD) {
+            sumRange(firsts, seconds, sums, 0, sums.length);
+        }
+        else {
+            ForkJoinPool.commonPool().invoke(new SumTask(firsts, seconds, sums, 0, sums.length));
+        }
+    }
+    
+    private static void sumRange(int[] firsts, int[] seconds, int[] sums, int from, int to) {
+        // A plain counted loop over int arrays: the JIT unrolls and vectorizes it (SIMD) where the CPU supports it.
+        // int addition wraps around on overflow exactly like calculateSum() does.
+        for (int i = from; i < to; i++) {
+            sums[i] = firsts[i] + seconds[i];
+        }
+    }
+    
+    private static class SumTask extends RecursiveAction {
+        
+        private static final long serialVersionUID = 1L;
+        
+        private final int[] firsts;
+        private final int[] seconds;
+        private final int[] sums;
+        private final int from;
+        private final int to;
+        
+        SumTask(int[] firsts, int[] seconds, int[] sums, int from, int to) {
+            this.firsts = firsts;
+            this.seconds = seconds;
+            this.sums = sums;
+            this.from = from;
+            this.to = to;
+        }
+        
+        @Override
+        protected void compute() {
+            if (to - from < PARALLEL_THRESHOLD) {
+                sumRange(firsts, seconds, sums, from, to);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new SumTask(firsts, seconds, sums, from, middle), 
+                    new SumTask(firsts, seconds, sums, middle, to));
+        }
+    }
+}
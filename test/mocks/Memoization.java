@@ -0,0 +1,72 @@
+package com.att.tlv.training.test.mocks;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class Memoization {
+
+    @Mock
+    private IntPairAdder expensiveAdder;
+
+    @Before
+    public void setUp() {
+        // Answer with the real sum, so we can tell cached values apart
+        when(expensiveAdder.calculateSum(any())).thenAnswer(invocation -> {
+            IntPair pair = invocation.getArgument(0);
+            return pair.getFirst() + pair.getSecond();
+        });
+    }
+
+    @Test
+    public void repeatedPairsAreCalculatedOnce() {
+        CachingIntPairAdder cachingAdder = new CachingIntPairAdder(expensiveAdder, 100);
+        Adder adder = new Adder(cachingAdder);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(adder.add(5, 3)).isEqualTo(8);
+            assertThat(adder.add(3, 5)).isEqualTo(8);
+        }
+
+        // (5, 3) and (3, 5) are different keys, each reached the delegate exactly once
+        verify(expensiveAdder, times(1)).calculateSum(argThat(pair -> pair.getFirst() == 5));
+        verify(expensiveAdder, times(1)).calculateSum(argThat(pair -> pair.getFirst() == 3));
+        assertThat(cachingAdder.missCount()).isEqualTo(2);
+        assertThat(cachingAdder.hitCount()).isEqualTo(18);
+        assertThat(cachingAdder.hitRate()).isEqualTo(0.9);
+    }
+
+    @Test
+    public void sizeIsBounded() {
+        CachingIntPairAdder cachingAdder = new CachingIntPairAdder(expensiveAdder, 64);
+
+        for (int i = 0; i < 1_000; i++) {
+            assertThat(cachingAdder.calculateSum(new IntPair(i, -i))).isZero();
+        }
+
+        assertThat(cachingAdder.missCount()).isEqualTo(1_000);
+        // Nothing more than the maximum size (rounded up to whole segments) can be held
+        assertThat(cachingAdder.evictionCount()).isGreaterThanOrEqualTo(1_000 - 2 * 64);
+    }
+
+    @Test
+    public void batchesGoThroughTheCache() {
+        CachingIntPairAdder cachingAdder = new CachingIntPairAdder(expensiveAdder, 100);
+        int[] sums = new int[4];
+
+        new Adder(cachingAdder).addAll(new int[] { 1, 1, 2, 1 }, new int[] { 1, 1, 2, 1 }, sums);
+
+        assertThat(sums).containsExactly(2, 2, 4, 2);
+        verify(expensiveAdder, times(2)).calculateSum(any());
+    }
+}
@@ -0,0 +1,93 @@
+package com.att.tlv.training.test.mocks;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@RunWith(MockitoJUnitRunner.class)
+public class MicroBatching {
+
+    @Mock
+    private IntPairAdder intPairAdder;
+
+    @Before
+    public void setUp() {
+        // A void method - so the batch is answered with doAnswer, filling in the sums
+        doAnswer(invocation -> {
+            int[] firsts = invocation.getArgument(0);
+            int[] seconds = invocation.getArgument(1);
+            int[] sums = invocation.getArgument(2);
+            for (int i = 0; i < sums.length; i++) {
+                sums[i] = firsts[i] + seconds[i];
+            }
+            return null;
+        }).when(intPairAdder).calculateSums(any(), any(), any());
+    }
+
+    @Test
+    public void fullBatchIsSentAtOnce() throws Exception {
+        try (BatchingAdder adder = new BatchingAdder(intPairAdder, 4, 1, TimeUnit.MINUTES)) {
+            List<CompletableFuture<Integer>> sums = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                sums.add(adder.addAsync(i, 10));
+            }
+
+            // The 4th pair filled the batch, so it was sent without waiting for the timeout
+            verify(intPairAdder, times(1)).calculateSums(any(), any(), any());
+            assertThat(sums).extracting(CompletableFuture::join)
+                    .containsExactly(10, 11, 12, 13);
+            // And it never went through the single pair method
+            verify(intPairAdder, never()).calculateSum(any());
+        }
+    }
+
+    @Test
+    public void partialBatchIsSentAfterMaxWait() throws Exception {
+        try (BatchingAdder adder = new BatchingAdder(intPairAdder, 100, 10, TimeUnit.MILLISECONDS)) {
+            CompletableFuture<Integer> sum = adder.addAsync(5, 3);
+
+            assertThat(sum.get(5, TimeUnit.SECONDS)).isEqualTo(8);
+            verify(intPairAdder, times(1)).calculateSums(any(), any(), any());
+        }
+    }
+
+    @Test
+    public void closeSendsWhatIsPending() {
+        BatchingAdder adder = new BatchingAdder(intPairAdder, 100, 1, TimeUnit.MINUTES);
+        CompletableFuture<Integer> sum = adder.addAsync(5, 3);
+        adder.close();
+
+        assertThat(sum).isCompletedWithValue(8);
+        assertThatThrownBy(() -> adder.addAsync(1, 1)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void failureCompletesTheWholeBatchExceptionally() {
+        doThrow(new IllegalArgumentException("Overflow!")).when(intPairAdder).calculateSums(any(), any(), any());
+        try (BatchingAdder adder = new BatchingAdder(intPairAdder, 2, 1, TimeUnit.MINUTES)) {
+            CompletableFuture<Integer> first = adder.addAsync(1, 1);
+            CompletableFuture<Integer> second = adder.addAsync(2, 2);
+
+            assertThatThrownBy(first::get).isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(IllegalArgumentException.class);
+            assertThat(second).isCompletedExceptionally();
+        }
+    }
+}
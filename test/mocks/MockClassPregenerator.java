@@ -0,0 +1,113 @@
+package com.att.tlv.training.test.mocks;
+
+import com.att.tlv.training.test.data.Demo;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.loading.ClassInjector;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import org.mockito.Mockito;
+import org.mockito.internal.creation.MockSettingsImpl;
+import org.mockito.internal.creation.bytebuddy.SubclassByteBuddyMockMaker;
+import org.mockito.mock.MockCreationSettings;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Generates mock classes at build time, for {@link PregeneratedMockMaker} to load from the classpath at test time.
+ * <p>
+ * Runs Mockito's own {@link SubclassByteBuddyMockMaker} on every type, so the classes are exactly the ones Mockito
+ * would have generated, and writes their bytecode under the output directory together with an index mapping the
+ * mock settings to the class names. Run it after compiling the tests, with the test classpath and the test output
+ * directory as the argument, e.g. from the {@code process-test-classes} phase:
+ * <pre>
+ * java -cp ... com.att.tlv.training.test.mocks.MockClassPregenerator target/test-classes [type ...]
+ * </pre>
+ * Without types, the ones mocked throughout this project are generated.
+ */
+public class MockClassPregenerator {
+
+    static final List<Class<?>> DEFAULT_TYPES = Arrays.asList(
+            ExecutorService.class, Exception.class, List.class, ArrayList.class, Map.class,
+            Demo.class, IntPairAdder.class, DummyClass.class);
+
+    private final Path outputDirectory;
+    private final SubclassByteBuddyMockMaker mockMaker = new SubclassByteBuddyMockMaker(this::capturing);
+    private final Properties index = new Properties();
+
+    public MockClassPregenerator(Path outputDirectory) {
+        this.outputDirectory = outputDirectory;
+    }
+
+    public static void main(String[] args) throws IOException, ClassNotFoundException {
+        if (args.length < 1) {
+            System.err.println("Usage: MockClassPregenerator <output directory> [type ...]");
+            System.exit(2);
+        }
+        List<Class<?>> types = new ArrayList<>();
+        for (int i = 1; i < args.length; i++) {
+            types.add(Class.forName(args[i]));
+        }
+        MockClassPregenerator generator = new MockClassPregenerator(Paths.get(args[0]));
+        for (Class<?> type : types.isEmpty() ? DEFAULT_TYPES : types) {
+            generator.generate(type);
+        }
+        generator.writeIndex();
+        System.out.printf("Generated %d mock classes into %s%n", generator.index.size(), args[0]);
+    }
+
+    public void generate(Class<?> type) {
+        MockCreationSettings<?> settings = settingsFor(type);
+        Class<?> mockType = mockMaker.createMockType(settings);
+        index.setProperty(PregeneratedMockMaker.key(settings), mockType.getName());
+    }
+
+    /**
+     * The settings of a plain {@code mock(type)} - what {@code @Mock} fields get as well.
+     */
+    static <T> MockCreationSettings<T> settingsFor(Class<T> type) {
+        return ((MockSettingsImpl<?>) Mockito.withSettings()).build(type);
+    }
+
+    public void writeIndex() throws IOException {
+        Path file = outputDirectory.resolve(PregeneratedMockMaker.INDEX);
+        Files.createDirectories(file.getParent());
+        try (OutputStream out = Files.newOutputStream(file)) {
+            index.store(out, "Generated by " + MockClassPregenerator.class.getSimpleName());
+        }
+    }
+
+    private ClassLoadingStrategy<ClassLoader> capturing(Class<?> mockedType, ClassLoader classLoader, boolean codegen) {
+        // The classes still have to be loaded here - Mockito's generator works on loaded types.
+        // Injection can define subclasses of package-private types, like Mockito itself does.
+        ClassLoadingStrategy<ClassLoader> loading = ClassInjector.UsingReflection.isAvailable()
+                ? ClassLoadingStrategy.Default.INJECTION.with(mockedType.getProtectionDomain())
+                : ClassLoadingStrategy.Default.WRAPPER.with(mockedType.getProtectionDomain());
+        return (loader, types) -> {
+            // The mock class and its auxiliary classes (super call proxies...)
+            for (Map.Entry<TypeDescription, byte[]> type : types.entrySet()) {
+                write(type.getKey().getName(), type.getValue());
+            }
+            return loading.load(loader, types);
+        };
+    }
+
+    private void write(String className, byte[] bytecode) {
+        Path file = outputDirectory.resolve(className.replace('.', '/') + ".class");
+        try {
+            Files.createDirectories(file.getParent());
+            Files.write(file, bytecode);
+        }
+        catch (IOException e) {
+            throw new IllegalStateException("Cannot write " + file, e);
+        }
+    }
+}
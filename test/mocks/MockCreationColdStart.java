@@ -0,0 +1,37 @@
+package com.att.tlv.training.test.mocks;
+
+import org.mockito.internal.handler.MockHandlerFactory;
+import org.mockito.mock.MockCreationSettings;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long the first mock of every type takes in a fresh JVM - the part of mock creation a benchmark
+ * harness would warm away. Compare a run with pre-generated classes on the classpath against one with
+ * {@code -D}{@value PregeneratedMockMaker#DISABLED_PROPERTY}{@code =true}:
+ * <pre>
+ * java -cp ... com.att.tlv.training.test.mocks.MockClassPregenerator target/test-classes
+ * java -cp ... -Dmockito.pregenerated.disabled=true com.att.tlv.training.test.mocks.MockCreationColdStart
+ * java -cp ... com.att.tlv.training.test.mocks.MockCreationColdStart
+ * </pre>
+ * Every run needs its own JVM - classes generated or loaded by one run are there for good.
+ */
+public class MockCreationColdStart {
+
+    public static void main(String[] args) {
+        long start = System.nanoTime();
+        PregeneratedMockMaker mockMaker = new PregeneratedMockMaker();
+        for (Class<?> type : MockClassPregenerator.DEFAULT_TYPES) {
+            long typeStart = System.nanoTime();
+            MockCreationSettings<?> settings = MockClassPregenerator.settingsFor(type);
+            mockMaker.createMock(settings, MockHandlerFactory.createMockHandler(settings));
+            System.out.printf("%-60s %8.2f ms %s%n", type.getName(), millisSince(typeStart),
+                    mockMaker.isPregenerated(settings) ? "(pre-generated)" : "(generated)");
+        }
+        System.out.printf("%-60s %8.2f ms%n", "Total", millisSince(start));
+    }
+
+    private static double millisSince(long start) {
+        return (System.nanoTime() - start) / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
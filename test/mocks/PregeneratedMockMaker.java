@@ -0,0 +1,136 @@
+package com.att.tlv.training.test.mocks;
+
+import org.mockito.creation.instance.InstantiationException;
+import org.mockito.internal.configuration.plugins.Plugins;
+import org.mockito.internal.creation.bytebuddy.MockAccess;
+import org.mockito.internal.creation.bytebuddy.MockMethodInterceptor;
+import org.mockito.internal.creation.bytebuddy.SubclassByteBuddyMockMaker;
+import org.mockito.invocation.MockHandler;
+import org.mockito.mock.MockCreationSettings;
+import org.mockito.plugins.MockMaker;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * A {@link MockMaker} that uses mock classes generated ahead of time by {@link MockClassPregenerator} and loaded
+ * from the classpath, instead of generating their bytecode on the first mock of every type.
+ * <p>
+ * Types missing from the {@value #INDEX} resource (and spies created through a constructor) fall back to Mockito's
+ * own {@link SubclassByteBuddyMockMaker}, so a stale or missing index only costs the time it was meant to save.
+ * Setting the {@value #DISABLED_PROPERTY} system property to {@code true} always falls back.
+ * <p>
+ * Mockito picks it up from a classpath resource {@code mockito-extensions/org.mockito.plugins.MockMaker} holding
+ * this class' fully qualified name.
+ */
+public class PregeneratedMockMaker implements MockMaker {
+
+    public static final String INDEX = "mockito-pregenerated/index.properties";
+    public static final String DISABLED_PROPERTY = "mockito.pregenerated.disabled";
+
+    private final SubclassByteBuddyMockMaker fallback = new SubclassByteBuddyMockMaker();
+    private final ClassLoader classLoader;
+    private final Properties index = new Properties();
+    private final Map<String, Class<?>> mockTypes = new ConcurrentHashMap<>();
+
+    public PregeneratedMockMaker() {
+        this(PregeneratedMockMaker.class.getClassLoader());
+    }
+
+    public PregeneratedMockMaker(ClassLoader classLoader) {
+        this.classLoader = Objects.requireNonNull(classLoader);
+        if (Boolean.getBoolean(DISABLED_PROPERTY)) {
+            return;
+        }
+        try (InputStream in = classLoader.getResourceAsStream(INDEX)) {
+            if (in != null) {
+                index.load(in);
+            }
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException("Cannot read " + INDEX, e);
+        }
+    }
+
+    /**
+     * Identifies a mock class by everything Mockito takes into account when generating one.
+     */
+    static String key(MockCreationSettings<?> settings) {
+        return settings.getTypeToMock().getName()
+                + settings.getExtraInterfaces().stream().map(Class::getName).sorted()
+                        .collect(Collectors.joining(",", "[", "]"))
+                + ":" + settings.getSerializableMode()
+                + (settings.isStripAnnotations() ? ":stripped" : "");
+    }
+
+    public boolean isPregenerated(MockCreationSettings<?> settings) {
+        return mockType(settings) != null;
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes") // MockMaker declares its handler and settings parameters raw
+    public <T> T createMock(MockCreationSettings<T> settings, MockHandler handler) {
+        Class<? extends T> mockType = settings.isUsingConstructor() ? null : mockType(settings);
+        if (mockType == null) {
+            return fallback.createMock(settings, handler);
+        }
+        T mock;
+        try {
+            mock = Plugins.getInstantiatorProvider().getInstantiator(settings).newInstance(mockType);
+        }
+        catch (InstantiationException e) {
+            return fallback.createMock(settings, handler);
+        }
+        ((MockAccess) mock).setMockitoInterceptor(new MockMethodInterceptor(handler, settings));
+        return mock;
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public MockHandler getHandler(Object mock) {
+        // Both kinds of mock classes implement MockAccess
+        return fallback.getHandler(mock);
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public void resetMock(Object mock, MockHandler newHandler, MockCreationSettings settings) {
+        fallback.resetMock(mock, newHandler, settings);
+    }
+
+    @Override
+    public TypeMockability isTypeMockable(Class<?> type) {
+        return fallback.isTypeMockable(type);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Class<? extends T> mockType(MockCreationSettings<T> settings) {
+        if (index.isEmpty()) {
+            return null;
+        }
+        String className = index.getProperty(key(settings));
+        if (className == null) {
+            return null;
+        }
+        Class<?> mockType = mockTypes.computeIfAbsent(className, this::load);
+        // A type loaded by another class loader than the one the index was built against can't use the class
+        return mockType != Void.class && settings.getTypeToMock().isAssignableFrom(mockType)
+                && MockAccess.class.isAssignableFrom(mockType) ? (Class<? extends T>) mockType : null;
+    }
+
+    private Class<?> load(String className) {
+        try {
+            return Class.forName(className, false, classLoader);
+        }
+        catch (ClassNotFoundException | LinkageError e) {
+            // Remembered as a miss, so we don't keep trying
+            return Void.class;
+        }
+    }
+}
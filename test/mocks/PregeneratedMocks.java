@@ -0,0 +1,95 @@
+package com.att.tlv.training.test.mocks;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.internal.handler.MockHandlerFactory;
+import org.mockito.mock.MockCreationSettings;
+
+import java.io.File;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class PregeneratedMocks {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void mocksAreCreatedFromPregeneratedClasses() throws Exception {
+        File classes = folder.newFolder("classes");
+        MockClassPregenerator generator = new MockClassPregenerator(classes.toPath());
+        generator.generate(List.class);
+        generator.writeIndex();
+        assertThat(new File(classes, PregeneratedMockMaker.INDEX)).exists();
+
+        try (URLClassLoader classLoader = new GeneratedFirstClassLoader(classes)) {
+            PregeneratedMockMaker mockMaker = new PregeneratedMockMaker(classLoader);
+            MockCreationSettings<?> settings = MockClassPregenerator.settingsFor(List.class);
+            assertThat(mockMaker.isPregenerated(settings)).isTrue();
+
+            @SuppressWarnings("unchecked")
+            List<String> strings = (List<String>) createMock(mockMaker, settings);
+
+            // Loaded from the generated class file, not generated again
+            assertThat(strings.getClass().getClassLoader()).isSameAs(classLoader);
+            // And still a regular mock
+            when(strings.get(0)).thenReturn("hello");
+            assertThat(strings.get(0)).isEqualTo("hello");
+            assertThat(strings.size()).isZero();
+            verify(strings).get(0);
+        }
+    }
+
+    @Test
+    public void missingTypesFallBackToRuntimeGeneration() throws Exception {
+        File classes = folder.newFolder("classes");
+        MockClassPregenerator generator = new MockClassPregenerator(classes.toPath());
+        generator.generate(List.class);
+        generator.writeIndex();
+
+        try (URLClassLoader classLoader = new GeneratedFirstClassLoader(classes)) {
+            PregeneratedMockMaker mockMaker = new PregeneratedMockMaker(classLoader);
+            MockCreationSettings<?> settings = MockClassPregenerator.settingsFor(Set.class);
+            assertThat(mockMaker.isPregenerated(settings)).isFalse();
+
+            Set<?> set = (Set<?>) createMock(mockMaker, settings);
+
+            assertThat(set.getClass().getClassLoader()).isNotSameAs(classLoader);
+            when(set.isEmpty()).thenReturn(true);
+            assertThat(set.isEmpty()).isTrue();
+        }
+    }
+
+    private static <T> T createMock(PregeneratedMockMaker mockMaker, MockCreationSettings<T> settings) {
+        return mockMaker.createMock(settings, MockHandlerFactory.createMockHandler(settings));
+    }
+
+    /**
+     * Generating the classes has defined them in this JVM already - load them from the class files instead,
+     * the way a fresh JVM would.
+     */
+    private static class GeneratedFirstClassLoader extends URLClassLoader {
+
+        GeneratedFirstClassLoader(File classes) throws MalformedURLException {
+            super(new URL[] { classes.toURI().toURL() }, PregeneratedMocks.class.getClassLoader());
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            synchronized (getClassLoadingLock(name)) {
+                if (findLoadedClass(name) == null && findResource(name.replace('.', '/') + ".class") != null) {
+                    return findClass(name);
+                }
+                return super.loadClass(name, resolve);
+            }
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.att.tlv.training.test.mocks;
+
+import com.att.tlv.training.test.data.Demo;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import static com.att.tlv.training.test.mocks.ProxyMocks.anyInt;
+import static com.att.tlv.training.test.mocks.ProxyMocks.anyString;
+import static com.att.tlv.training.test.mocks.ProxyMocks.calls;
+import static com.att.tlv.training.test.mocks.ProxyMocks.callsTo;
+import static com.att.tlv.training.test.mocks.ProxyMocks.eq;
+import static com.att.tlv.training.test.mocks.ProxyMocks.intThat;
+import static com.att.tlv.training.test.mocks.ProxyMocks.mock;
+import static com.att.tlv.training.test.mocks.ProxyMocks.when;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ProxyMocking {
+
+    @Test
+    public void defaultsAreTheSameAsMockito() {
+        Demo demo = mock(Demo.class);
+
+        assertThat(demo.getChar()).isEqualTo('\0');
+        assertThat(demo.getBoxedChar()).isEqualTo('\0');
+        assertThat(demo.getByte()).isZero();
+        assertThat(demo.getBoxedShort()).isZero();
+        assertThat(demo.getInt()).isZero();
+        assertThat(demo.getBoxedLong()).isZero();
+        assertThat(demo.getFloat()).isZero();
+        assertThat(demo.getBoxedDouble()).isZero();
+        assertThat(demo.getBoolean()).isFalse();
+        assertThat(demo.getBoxedBoolean()).isFalse();
+        assertThat(demo.getObject()).isNull();
+        assertThat(demo.getString()).isNull();
+        assertThat(demo.getObjectArray()).isNull();
+        assertThat(demo.getCollection()).isEmpty();
+        assertThat(demo.getList()).isEmpty();
+        assertThat(demo.getSet()).isEmpty();
+        assertThat(demo.getMap()).isEmpty();
+        assertThat(demo.getStream()).isEmpty();
+        assertThat(demo.getOptional()).isEmpty();
+        assertThat(demo.getOptionalInt()).isEmpty();
+        assertThat(demo.getOptionalLong()).isEmpty();
+        assertThat(demo.getOptionalDouble()).isEmpty();
+        assertThat(demo.getMe()).isNull();
+    }
+
+    @Test
+    public void emptyCollectionsAreNotShared() {
+        Demo demo = mock(Demo.class);
+
+        demo.getList().add("changed");
+
+        assertThat(demo.getList()).isEmpty();
+    }
+
+    @Test
+    public void stubbing() {
+        Demo demo = mock(Demo.class);
+
+        when(demo.getInt()).thenReturn(42);
+        when(demo.getString()).thenReturn("first").thenReturn("second");
+
+        assertThat(demo.getInt()).isEqualTo(42);
+        // The last stub wins
+        assertThat(demo.getString()).isEqualTo("second");
+        assertThat(demo.getLong()).isZero();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void stubsMatchOnArguments() {
+        List<String> strings = mock(List.class);
+
+        when(strings.get(0)).thenReturn("zero");
+        when(strings.get(1)).thenAnswer(arguments -> "one at " + arguments[0]);
+
+        assertThat(strings.get(0)).isEqualTo("zero");
+        assertThat(strings.get(1)).isEqualTo("one at 1");
+        assertThat(strings.get(2)).isNull();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void stubbingWithArgumentMatchers() {
+        List<String> strings = mock(List.class);
+
+        // The same precedence as in Stubbing.stubbingWithArgumentMatchers
+        when(strings.get(anyInt())).thenReturn("Shalom");
+        assertThat(strings.get(1024)).isEqualTo("Shalom");
+
+        when(strings.get(1024)).thenReturn("Ciao");
+        assertThat(strings.get(1024)).isEqualTo("Ciao");
+        assertThat(strings.get(1)).isEqualTo("Shalom");
+
+        when(strings.get(anyInt())).thenReturn("Shalom");
+        assertThat(strings.get(1024)).isEqualTo("Shalom");
+
+        when(strings.get(intThat(i -> i % 2 == 0))).thenReturn("Even");
+        when(strings.get(intThat(i -> i % 2 != 0))).thenReturn("Odd");
+        assertThat(strings.get(20)).isEqualTo("Even");
+        assertThat(strings.get(21)).isEqualTo("Odd");
+
+        when(strings.set(eq(5), anyString())).thenReturn("b");
+        assertThat(strings.set(5, "bla bla")).isEqualTo("b");
+        assertThat(strings.set(6, "bla bla")).isNull();
+        // All eq() is the same as exact arguments
+        when(strings.set(eq(5), eq("a"))).thenReturn("c");
+        assertThat(strings.set(5, "a")).isEqualTo("c");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void thousandsOfExactStubsKeepTheLastStubWinsRule() {
+        List<String> strings = mock(List.class);
+
+        when(strings.get(anyInt())).thenReturn("any");
+        for (int i = 0; i < 10_000; i++) {
+            when(strings.get(i)).thenReturn("exact " + i);
+        }
+        when(strings.get(intThat(i -> i >= 9_000))).thenReturn("late matcher");
+        when(strings.get(9_500)).thenReturn("later exact");
+
+        assertThat(strings.get(42)).isEqualTo("exact 42");
+        assertThat(strings.get(9_000)).isEqualTo("late matcher");
+        assertThat(strings.get(10_000)).isEqualTo("late matcher");
+        assertThat(strings.get(9_500)).isEqualTo("later exact");
+        assertThat(strings.get(-1)).isEqualTo("any");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void matchersAreUsedForAllArgumentsOrNone() {
+        List<String> strings = mock(List.class);
+
+        assertThatThrownBy(() -> strings.set(5, anyString())).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void callsAreCountedPerMethod() {
+        List<String> strings = mock(List.class);
+
+        strings.add("a");
+        strings.add("b");
+        strings.size();
+        when(strings.isEmpty()).thenReturn(true);
+
+        assertThat(callsTo(strings.add(null))).isEqualTo(2);
+        assertThat(callsTo(strings.size())).isEqualTo(1);
+        // Neither stubbing nor counting is a call
+        assertThat(callsTo(strings.isEmpty())).isZero();
+        assertThat(calls(strings)).isEqualTo(3);
+
+        ProxyMocks.reset(strings);
+        assertThat(calls(strings)).isZero();
+        assertThat(strings.isEmpty()).isFalse();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void declaredCheckedExceptionsCanBeThrown() throws Exception {
+        Callable<String> callable = mock(Callable.class);
+
+        when(callable.call()).thenThrow(new IOException("Disk full"));
+
+        assertThatThrownBy(callable::call).isInstanceOf(IOException.class).hasMessage("Disk full");
+    }
+
+    @Test
+    public void invalidStubsAreRejected() {
+        Demo demo = mock(Demo.class);
+
+        assertThatThrownBy(() -> when(demo.getInt()).thenReturn(null)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> when(demo.getInt()).thenThrow(new IOException()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> when("not a mock call")).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void objectMethodsUseIdentity() {
+        Comparator<String> comparator = mock(Comparator.class);
+
+        assertThat(comparator).isEqualTo(comparator).isNotEqualTo(mock(Comparator.class));
+        assertThat(comparator.hashCode()).isEqualTo(System.identityHashCode(comparator));
+        assertThat(comparator.toString()).startsWith("Proxy mock for Comparator");
+    }
+
+    @Test
+    public void onlyInterfacesCanBeMocked() {
+        assertThatThrownBy(() -> mock(ArrayList.class)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
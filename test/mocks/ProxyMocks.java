@@ -0,0 +1,722 @@
+package com.att.tlv.training.test.mocks;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+import java.util.Queue;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Lightweight mocks of interfaces, built on {@link Proxy} instead of generated bytecode.
+ * <p>
+ * Unstubbed methods answer like Mockito's {@code RETURNS_DEFAULTS}: zero for numbers and chars (boxed or not),
+ * {@code false}, new empty collections and maps, empty streams and optionals, and {@code null} for everything else.
+ * What a method returns by default is worked out once per interface, so a call is a table lookup.
+ * <pre>
+ * Demo demo = ProxyMocks.mock(Demo.class);
+ * ProxyMocks.when(demo.getInt()).thenReturn(42);
+ * ...
+ * assertThat(ProxyMocks.callsTo(demo.getInt())).isEqualTo(1);
+ * </pre>
+ * Stubs match on arguments equal to the ones of the stubbing call, or on argument matchers ({@link #anyInt()},
+ * {@link #intThat(IntPredicate)}, {@link #argThat(Predicate)}...) used for all arguments of the call, as with Mockito.
+ * The last matching stub wins; exact stubs are found by hashing though, whatever their number (see
+ * {@link StubIndex}).
+ * <p>
+ * No call is ever recorded: calls are counted per method and per distinct argument list (see {@link ArgumentCounts}),
+ * so a mock called millions of times takes no more memory than one called once with the same arguments - memory
+ * grows with the number of distinct argument lists only. Counts are checked like with Mockito, with arguments or
+ * matchers: {@code verify(mock, times(4)).method(anyInt())}. Mocks created with a number of recent calls to keep
+ * also remember the last calls in a ring buffer, to show when a verification fails.
+ */
+public final class ProxyMocks {
+
+    private static final ClassValue<MockType> MOCK_TYPES = new ClassValue<MockType>() {
+        @Override
+        protected MockType computeValue(Class<?> type) {
+            return new MockType(type);
+        }
+    };
+
+    private static final Map<Class<?>, Supplier<?>> EMPTY_VALUES = new HashMap<>();
+    static {
+        EMPTY_VALUES.put(boolean.class, () -> false);
+        EMPTY_VALUES.put(Boolean.class, () -> false);
+        EMPTY_VALUES.put(char.class, () -> '\0');
+        EMPTY_VALUES.put(Character.class, () -> '\0');
+        EMPTY_VALUES.put(byte.class, () -> (byte) 0);
+        EMPTY_VALUES.put(Byte.class, () -> (byte) 0);
+        EMPTY_VALUES.put(short.class, () -> (short) 0);
+        EMPTY_VALUES.put(Short.class, () -> (short) 0);
+        EMPTY_VALUES.put(int.class, () -> 0);
+        EMPTY_VALUES.put(Integer.class, () -> 0);
+        EMPTY_VALUES.put(long.class, () -> 0L);
+        EMPTY_VALUES.put(Long.class, () -> 0L);
+        EMPTY_VALUES.put(float.class, () -> 0f);
+        EMPTY_VALUES.put(Float.class, () -> 0f);
+        EMPTY_VALUES.put(double.class, () -> 0d);
+        EMPTY_VALUES.put(Double.class, () -> 0d);
+        // Collections are mutable and new on every call, as with Mockito
+        EMPTY_VALUES.put(Iterable.class, ArrayList::new);
+        EMPTY_VALUES.put(Collection.class, LinkedList::new);
+        EMPTY_VALUES.put(List.class, LinkedList::new);
+        EMPTY_VALUES.put(LinkedList.class, LinkedList::new);
+        EMPTY_VALUES.put(ArrayList.class, ArrayList::new);
+        EMPTY_VALUES.put(Queue.class, LinkedList::new);
+        EMPTY_VALUES.put(Deque.class, ArrayDeque::new);
+        EMPTY_VALUES.put(ArrayDeque.class, ArrayDeque::new);
+        EMPTY_VALUES.put(Set.class, HashSet::new);
+        EMPTY_VALUES.put(HashSet.class, HashSet::new);
+        EMPTY_VALUES.put(LinkedHashSet.class, LinkedHashSet::new);
+        EMPTY_VALUES.put(SortedSet.class, TreeSet::new);
+        EMPTY_VALUES.put(NavigableSet.class, TreeSet::new);
+        EMPTY_VALUES.put(TreeSet.class, TreeSet::new);
+        EMPTY_VALUES.put(Map.class, HashMap::new);
+        EMPTY_VALUES.put(HashMap.class, HashMap::new);
+        EMPTY_VALUES.put(LinkedHashMap.class, LinkedHashMap::new);
+        EMPTY_VALUES.put(SortedMap.class, TreeMap::new);
+        EMPTY_VALUES.put(NavigableMap.class, TreeMap::new);
+        EMPTY_VALUES.put(TreeMap.class, TreeMap::new);
+        EMPTY_VALUES.put(Stream.class, Stream::empty);
+        EMPTY_VALUES.put(IntStream.class, IntStream::empty);
+        EMPTY_VALUES.put(LongStream.class, LongStream::empty);
+        EMPTY_VALUES.put(DoubleStream.class, DoubleStream::empty);
+        EMPTY_VALUES.put(Optional.class, Optional::empty);
+        EMPTY_VALUES.put(OptionalInt.class, OptionalInt::empty);
+        EMPTY_VALUES.put(OptionalLong.class, OptionalLong::empty);
+        EMPTY_VALUES.put(OptionalDouble.class, OptionalDouble::empty);
+    }
+
+    private static final Supplier<?> NULL = () -> null;
+    // A single instance, so verifying with nothing but any() can use the count of the method
+    private static final Predicate<Object> ANY = argument -> true;
+
+    private static final ThreadLocal<Invocation> LAST_INVOCATION = new ThreadLocal<>();
+    private static final ThreadLocal<Verification> PENDING_VERIFICATION = new ThreadLocal<>();
+    private static final ThreadLocal<List<Predicate<Object>>> PENDING_MATCHERS = ThreadLocal.withInitial(ArrayList::new);
+
+    private ProxyMocks() {
+    }
+
+    @FunctionalInterface
+    public interface Answer {
+        Object answer(Object[] arguments) throws Throwable;
+    }
+
+    public static <T> T mock(Class<T> type) {
+        return mock(type, 0);
+    }
+
+    /**
+     * A mock remembering its last {@code recentCalls} calls, for verification failures to show.
+     */
+    public static <T> T mock(Class<T> type, int recentCalls) {
+        if (!type.isInterface()) {
+            throw new IllegalArgumentException("Only interfaces can be proxy mocked: " + type.getName());
+        }
+        if (recentCalls < 0) {
+            throw new IllegalArgumentException("Negative number of recent calls: " + recentCalls);
+        }
+        return type.cast(MOCK_TYPES.get(type).newMock(recentCalls));
+    }
+
+    public static boolean isMock(Object object) {
+        return object != null && Proxy.isProxyClass(object.getClass())
+                && Proxy.getInvocationHandler(object) instanceof Handler;
+    }
+
+    /**
+     * Starts stubbing the call just made on a mock: {@code when(mock.method(arguments)).thenReturn(value)}.
+     * The stubbing call itself is not counted.
+     */
+    public static <T> Stubbing<T> when(T ignored) {
+        Invocation invocation = takeLastInvocation("when()");
+        invocation.handler.uncount(invocation);
+        return new Stubbing<>(invocation);
+    }
+
+    /**
+     * How many times the method of the call just made on a mock was called, with any arguments:
+     * {@code callsTo(mock.method(arguments))}. The call made to name the method is not counted.
+     */
+    public static long callsTo(Object ignored) {
+        Invocation invocation = takeLastInvocation("callsTo()");
+        return invocation.handler.uncount(invocation);
+    }
+
+    /**
+     * Checks how many times the method called next on the returned mock was called with equal arguments, or with
+     * arguments the matchers match: {@code verify(mock, times(2)).method(arguments)}. The verifying call is not
+     * counted.
+     * <p>
+     * Exact arguments, and matchers that are all {@link #eq(Object)}, are looked up by hash, and matchers that are
+     * all {@link #any()} answer from the count of the method. Other matchers go through every distinct argument list
+     * the method was called with.
+     */
+    public static <T> T verify(T mock, Calls expected) {
+        Objects.requireNonNull(expected);
+        PENDING_VERIFICATION.set(new Verification(handler(mock), expected));
+        return mock;
+    }
+
+    public static <T> T any() {
+        return match(ANY, null);
+    }
+
+    public static int anyInt() {
+        return match(argument -> argument instanceof Integer, 0);
+    }
+
+    public static long anyLong() {
+        return match(argument -> argument instanceof Long, 0L);
+    }
+
+    public static String anyString() {
+        return match(argument -> argument instanceof String, "");
+    }
+
+    public static <T> T eq(T value) {
+        return match(new Equals(value), value);
+    }
+
+    public static int intThat(IntPredicate predicate) {
+        Objects.requireNonNull(predicate);
+        return match(argument -> argument instanceof Integer && predicate.test((Integer) argument), 0);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> T argThat(Predicate<T> predicate) {
+        Objects.requireNonNull(predicate);
+        return match(argument -> {
+            try {
+                return predicate.test((T) argument);
+            }
+            catch (ClassCastException e) {
+                return false;
+            }
+        }, null);
+    }
+
+    private static <T> T match(Predicate<Object> matcher, T placeholder) {
+        PENDING_MATCHERS.get().add(matcher);
+        return placeholder;
+    }
+
+    public static Calls times(long calls) {
+        return new Calls(calls, calls, "times(" + calls + ")");
+    }
+
+    public static Calls never() {
+        return new Calls(0, 0, "never()");
+    }
+
+    public static Calls atLeastOnce() {
+        return new Calls(1, Long.MAX_VALUE, "atLeastOnce()");
+    }
+
+    public static Calls atLeast(long calls) {
+        return new Calls(calls, Long.MAX_VALUE, "atLeast(" + calls + ")");
+    }
+
+    public static Calls atMost(long calls) {
+        return new Calls(0, calls, "atMost(" + calls + ")");
+    }
+
+    public static long calls(Object mock) {
+        AtomicLongArray counts = handler(mock).counts;
+        long calls = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            calls += counts.get(i);
+        }
+        return calls;
+    }
+
+    /**
+     * Forgets all stubs and calls.
+     */
+    public static void reset(Object mock) {
+        Handler handler = handler(mock);
+        for (int i = 0; i < handler.counts.length(); i++) {
+            handler.counts.set(i, 0);
+            handler.argumentCounts.set(i, null);
+            handler.stubs.set(i, null);
+        }
+        if (handler.recentCalls != null) {
+            handler.recentCalls.clear();
+        }
+    }
+
+    private static Handler handler(Object mock) {
+        if (!isMock(mock)) {
+            throw new IllegalArgumentException("Not a proxy mock: " + mock);
+        }
+        return (Handler) Proxy.getInvocationHandler(mock);
+    }
+
+    private static Invocation takeLastInvocation(String caller) {
+        Invocation invocation = LAST_INVOCATION.get();
+        if (invocation == null) {
+            throw new IllegalStateException(caller + " needs a call on a proxy mock as its argument");
+        }
+        LAST_INVOCATION.remove();
+        return invocation;
+    }
+
+    /**
+     * An expected range of call counts.
+     */
+    public static final class Calls {
+
+        private final long min;
+        private final long max;
+        private final String description;
+
+        private Calls(long min, long max, String description) {
+            if (min < 0) {
+                throw new IllegalArgumentException("Negative number of calls: " + min);
+            }
+            this.min = min;
+            this.max = max;
+            this.description = description;
+        }
+
+        boolean matches(long calls) {
+            return calls >= min && calls <= max;
+        }
+
+        @Override
+        public String toString() {
+            return description;
+        }
+    }
+
+    public static class Stubbing<T> {
+
+        private final Invocation invocation;
+
+        private Stubbing(Invocation invocation) {
+            this.invocation = invocation;
+        }
+
+        public Stubbing<T> thenReturn(T value) {
+            Class<?> returnType = invocation.method().getReturnType();
+            if (value == null ? returnType.isPrimitive() : !wrap(returnType).isInstance(value)) {
+                throw new IllegalArgumentException(String.format("%s cannot be returned by %s", value,
+                        invocation.method()));
+            }
+            return thenAnswer(arguments -> value);
+        }
+
+        public Stubbing<T> thenThrow(Throwable throwable) {
+            Objects.requireNonNull(throwable);
+            if (!(throwable instanceof RuntimeException || throwable instanceof Error
+                    || Arrays.stream(invocation.method().getExceptionTypes()).anyMatch(type -> type.isInstance(throwable)))) {
+                throw new IllegalArgumentException(String.format("Checked exception %s is not declared by %s",
+                        throwable.getClass().getName(), invocation.method()));
+            }
+            return thenAnswer(arguments -> {
+                throw throwable;
+            });
+        }
+
+        /**
+         * Adds a stub, so the latest one is the first to be tried. Returns this stubbing so further stubs of the same
+         * call can be chained - each one replaces the previous.
+         */
+        public Stubbing<T> thenAnswer(Answer answer) {
+            Objects.requireNonNull(answer);
+            StubIndex stubs = invocation.handler.stubs(invocation.slot);
+            Object[] equalsValues = invocation.matchers == null ? null : Equals.values(invocation.matchers);
+            if (invocation.matchers == null) {
+                stubs.addExact(invocation.arguments, answer);
+            }
+            else if (equalsValues != null) {
+                stubs.addExact(equalsValues, answer);
+            }
+            else {
+                stubs.addMatching(invocation.matchers, answer);
+            }
+            return this;
+        }
+    }
+
+    private static Class<?> wrap(Class<?> type) {
+        if (!type.isPrimitive()) {
+            return type;
+        }
+        return type == int.class ? Integer.class : type == long.class ? Long.class : type == double.class ? Double.class
+                : type == boolean.class ? Boolean.class : type == char.class ? Character.class
+                : type == byte.class ? Byte.class : type == short.class ? Short.class
+                : type == float.class ? Float.class : Void.class;
+    }
+
+    /**
+     * Everything about a mocked interface that doesn't depend on the mock.
+     */
+    private static class MockType {
+
+        private final Class<?> type;
+        private final Constructor<?> proxyConstructor;
+        private final Map<Method, Integer> slots = new HashMap<>();
+        private final Method[] methods;
+        private final Supplier<?>[] defaults;
+
+        MockType(Class<?> type) {
+            this.type = type;
+            proxyConstructor = proxyConstructor(type);
+            List<Method> mockable = new ArrayList<>();
+            for (Method method : type.getMethods()) {
+                if (!Modifier.isStatic(method.getModifiers())) {
+                    slots.put(method, mockable.size());
+                    mockable.add(method);
+                }
+            }
+            methods = mockable.toArray(new Method[0]);
+            defaults = new Supplier<?>[methods.length];
+            for (int i = 0; i < methods.length; i++) {
+                defaults[i] = EMPTY_VALUES.getOrDefault(methods[i].getReturnType(), NULL);
+            }
+        }
+
+        /**
+         * {@code getProxyClass()} is deprecated since Java 9, as the proxy class of an interface in a named module
+         * can't be instantiated this way. Mocked interfaces come from the class path, though, and holding on to the
+         * constructor spares every new mock the proxy class lookup of {@link Proxy#newProxyInstance}.
+         */
+        @SuppressWarnings("deprecation")
+        private static Constructor<?> proxyConstructor(Class<?> type) {
+            try {
+                return Proxy.getProxyClass(type.getClassLoader(), type).getConstructor(InvocationHandler.class);
+            }
+            catch (NoSuchMethodException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        Object newMock(int recentCalls) {
+            try {
+                return proxyConstructor.newInstance(new Handler(this, recentCalls));
+            }
+            catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+                throw new IllegalStateException("Cannot create a proxy for " + type.getName(), e);
+            }
+        }
+
+        /**
+         * Object's equals, hashCode and toString go through the proxy too, but have no slot.
+         */
+        int slot(Method method) {
+            Integer slot = slots.get(method);
+            return slot == null ? -1 : slot;
+        }
+    }
+
+    private static class Handler implements InvocationHandler {
+
+        private final MockType mockType;
+        private final AtomicLongArray counts;
+        // Created on the first call of each method, so unused methods cost nothing
+        private final AtomicReferenceArray<ArgumentCounts> argumentCounts;
+        private final AtomicReferenceArray<StubIndex> stubs;
+        private final RecentCalls recentCalls;
+
+        Handler(MockType mockType, int recentCalls) {
+            this.mockType = mockType;
+            counts = new AtomicLongArray(mockType.methods.length);
+            argumentCounts = new AtomicReferenceArray<>(mockType.methods.length);
+            stubs = new AtomicReferenceArray<>(mockType.methods.length);
+            this.recentCalls = recentCalls > 0 ? new RecentCalls(recentCalls) : null;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] arguments) throws Throwable {
+            int slot = mockType.slot(method);
+            if (slot < 0) {
+                return objectMethod(proxy, method, arguments);
+            }
+            Predicate<Object>[] matchers = pullMatchers(method, arguments);
+            Verification verification = PENDING_VERIFICATION.get();
+            if (verification != null) {
+                PENDING_VERIFICATION.remove();
+                verification.check(this, slot, arguments, matchers);
+                return mockType.defaults[slot].get();
+            }
+            counts.incrementAndGet(slot);
+            argumentCounts(slot).add(arguments, 1);
+            long recentCall = recentCalls != null ? recentCalls.add(slot, arguments) : -1;
+            LAST_INVOCATION.set(new Invocation(this, slot, arguments, matchers, recentCall));
+            StubIndex slotStubs = stubs.get(slot);
+            Answer answer = slotStubs == null ? null : slotStubs.find(arguments);
+            return answer != null ? answer.answer(arguments) : mockType.defaults[slot].get();
+        }
+
+        @SuppressWarnings("unchecked")
+        private Predicate<Object>[] pullMatchers(Method method, Object[] arguments) {
+            List<Predicate<Object>> pending = PENDING_MATCHERS.get();
+            if (pending.isEmpty()) {
+                return null;
+            }
+            Predicate<Object>[] matchers = (Predicate<Object>[]) pending.toArray(new Predicate<?>[0]);
+            pending.clear();
+            if (arguments == null || matchers.length != arguments.length) {
+                throw new IllegalStateException(String.format("%d matchers for the %d arguments of %s - use matchers "
+                        + "for all arguments or none, e.g. eq(5) instead of 5", matchers.length,
+                        arguments == null ? 0 : arguments.length, method));
+            }
+            return matchers;
+        }
+
+        private Object objectMethod(Object proxy, Method method, Object[] arguments) {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == arguments[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Proxy mock for " + mockType.type.getSimpleName() + ", hashCode: "
+                            + System.identityHashCode(proxy);
+                default:
+                    // Proxies only pass these three of Object's methods to their handler
+                    throw new AssertionError(method);
+            }
+        }
+
+        StubIndex stubs(int slot) {
+            StubIndex slotStubs = stubs.get(slot);
+            if (slotStubs == null) {
+                stubs.compareAndSet(slot, null, new StubIndex());
+                slotStubs = stubs.get(slot);
+            }
+            return slotStubs;
+        }
+
+        /**
+         * Takes back the count of a call made only to name a method, and returns the remaining count.
+         */
+        long uncount(Invocation invocation) {
+            argumentCounts(invocation.slot).add(invocation.arguments, -1);
+            if (recentCalls != null) {
+                // That very call - other threads may have called the mock since
+                recentCalls.remove(invocation.recentCall);
+            }
+            return counts.decrementAndGet(invocation.slot);
+        }
+
+        private ArgumentCounts argumentCounts(int slot) {
+            ArgumentCounts slotCounts = argumentCounts.get(slot);
+            if (slotCounts == null) {
+                argumentCounts.compareAndSet(slot, null, new ArgumentCounts());
+                slotCounts = argumentCounts.get(slot);
+            }
+            return slotCounts;
+        }
+
+        /**
+         * The call as verified, showing the values of eq() matchers and {@code <matcher>} for the other ones.
+         */
+        String describe(int slot, Predicate<Object>[] matchers) {
+            Object[] shown = new Object[matchers.length];
+            for (int i = 0; i < matchers.length; i++) {
+                shown[i] = matchers[i] instanceof Equals ? ((Equals) matchers[i]).value
+                        : matchers[i] == ANY ? "any()" : "<matcher>";
+            }
+            return describe(slot, shown);
+        }
+
+        String describe(int slot, Object[] arguments) {
+            Method method = mockType.methods[slot];
+            StringBuilder description = new StringBuilder(mockType.type.getSimpleName()).append('.')
+                    .append(method.getName()).append('(');
+            if (arguments != null) {
+                for (int i = 0; i < arguments.length; i++) {
+                    // Shows the content of array arguments too
+                    String argument = Arrays.deepToString(new Object[] { arguments[i] });
+                    description.append(i == 0 ? "" : ", ").append(argument, 1, argument.length() - 1);
+                }
+            }
+            return description.append(')').toString();
+        }
+    }
+
+    private static class Verification {
+
+        private final Handler handler;
+        private final Calls expected;
+
+        Verification(Handler handler, Calls expected) {
+            this.handler = handler;
+            this.expected = expected;
+        }
+
+        void check(Handler called, int slot, Object[] arguments, Predicate<Object>[] matchers) {
+            if (called != handler) {
+                throw new IllegalStateException("verify() must be followed by a call on the mock it was given");
+            }
+            long calls = count(slot, arguments, matchers);
+            if (!expected.matches(calls)) {
+                StringBuilder message = new StringBuilder(String.format("%s expected %s, but was called %d times",
+                        matchers == null ? handler.describe(slot, arguments) : handler.describe(slot, matchers),
+                        expected, calls));
+                if (handler.recentCalls != null) {
+                    message.append(handler.recentCalls.describe(handler));
+                }
+                throw new AssertionError(message.toString());
+            }
+        }
+
+        private long count(int slot, Object[] arguments, Predicate<Object>[] matchers) {
+            if (matchers == null) {
+                return handler.argumentCounts(slot).count(arguments);
+            }
+            if (Arrays.stream(matchers).allMatch(matcher -> matcher == ANY)) {
+                return handler.counts.get(slot);
+            }
+            Object[] equalsValues = Equals.values(matchers);
+            return equalsValues != null ? handler.argumentCounts(slot).count(equalsValues)
+                    : handler.argumentCounts(slot).count(matchers);
+        }
+    }
+
+    /**
+     * A ring buffer of the last calls, only holding the method slots and the argument arrays the proxy created anyway.
+     * Calls are numbered, so a call made only to name a method can be taken out wherever it is, leaving a gap.
+     */
+    private static class RecentCalls {
+
+        private static final int REMOVED = -1;
+
+        private final int[] slots;
+        private final Object[][] arguments;
+        // Never reset, so a number always means the same call
+        private long calls;
+
+        RecentCalls(int capacity) {
+            slots = new int[capacity];
+            arguments = new Object[capacity][];
+            Arrays.fill(slots, REMOVED);
+        }
+
+        /**
+         * Adds the call, returning its number.
+         */
+        synchronized long add(int slot, Object[] callArguments) {
+            int index = (int) (calls % slots.length);
+            slots[index] = slot;
+            arguments[index] = callArguments;
+            return calls++;
+        }
+
+        /**
+         * Takes out the call with the number, unless later calls have pushed it out already.
+         */
+        synchronized void remove(long call) {
+            if (call >= calls - slots.length) {
+                int index = (int) (call % slots.length);
+                slots[index] = REMOVED;
+                arguments[index] = null;
+            }
+        }
+
+        synchronized void clear() {
+            Arrays.fill(slots, REMOVED);
+            Arrays.fill(arguments, null);
+        }
+
+        synchronized String describe(Handler handler) {
+            StringBuilder description = new StringBuilder(String.format("%nRecent calls, oldest first:"));
+            for (long call = Math.max(0, calls - slots.length); call < calls; call++) {
+                int index = (int) (call % slots.length);
+                if (slots[index] != REMOVED) {
+                    description.append(String.format("%n    %s", handler.describe(slots[index], arguments[index])));
+                }
+            }
+            return description.toString();
+        }
+    }
+
+    private static class Invocation {
+
+        private final Handler handler;
+        private final int slot;
+        private final Object[] arguments;
+        // Null when the call was made with plain values
+        private final Predicate<Object>[] matchers;
+        // Its number in the handler's recent calls, -1 if it keeps none
+        private final long recentCall;
+
+        Invocation(Handler handler, int slot, Object[] arguments, Predicate<Object>[] matchers, long recentCall) {
+            this.handler = handler;
+            this.slot = slot;
+            this.arguments = arguments;
+            this.matchers = matchers;
+            this.recentCall = recentCall;
+        }
+
+        Method method() {
+            return handler.mockType.methods[slot];
+        }
+    }
+
+    private static class Equals implements Predicate<Object> {
+
+        private final Object value;
+
+        Equals(Object value) {
+            this.value = value;
+        }
+
+        @Override
+        public boolean test(Object argument) {
+            return Objects.deepEquals(value, argument);
+        }
+
+        /**
+         * The values of matchers that are all eq(), which match just like exact arguments - or null.
+         */
+        static Object[] values(Predicate<Object>[] matchers) {
+            Object[] values = new Object[matchers.length];
+            for (int i = 0; i < matchers.length; i++) {
+                if (!(matchers[i] instanceof Equals)) {
+                    return null;
+                }
+                values[i] = ((Equals) matchers[i]).value;
+            }
+            return values;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.att.tlv.training.test.mocks;
+
+import com.att.tlv.training.test.data.Demo;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creating an interface mock and calling it, with {@link ProxyMocks} against Mockito.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProxyMocksBenchmark {
+
+    private Demo proxyMock;
+    private Demo mockitoMock;
+
+    @Setup
+    public void setUp() {
+        proxyMock = ProxyMocks.mock(Demo.class);
+        ProxyMocks.when(proxyMock.getInt()).thenReturn(42);
+        // Stub-only, as ProxyMocks only counts calls - a regular Mockito mock would record every benchmark call
+        mockitoMock = Mockito.mock(Demo.class, Mockito.withSettings().stubOnly());
+        Mockito.when(mockitoMock.getInt()).thenReturn(42);
+    }
+
+    @Benchmark
+    public Demo createProxyMock() {
+        return ProxyMocks.mock(Demo.class);
+    }
+
+    @Benchmark
+    public Demo createMockitoMock() {
+        return Mockito.mock(Demo.class);
+    }
+
+    @Benchmark
+    public int stubbedCallOnProxyMock() {
+        return proxyMock.getInt();
+    }
+
+    @Benchmark
+    public int stubbedCallOnMockitoMock() {
+        return mockitoMock.getInt();
+    }
+
+    @Benchmark
+    public Object defaultCallOnProxyMock() {
+        return proxyMock.getList();
+    }
+
+    @Benchmark
+    public Object defaultCallOnMockitoMock() {
+        return mockitoMock.getList();
+    }
+}
@@ -0,0 +1,160 @@
+package com.att.tlv.training.test.mocks;
+
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatcher;
+import org.mockito.Mockito;
+import org.mockito.internal.matchers.CapturesArguments;
+import org.mockito.internal.util.Primitives;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * An {@link ArgumentCaptor} that doesn't keep the captured values: it counts them, remembers the last one (or the
+ * last few), and optionally hands each one to a consumer or keeps the smallest and largest. Used just the same:
+ * <pre>
+ * StreamingArgumentCaptor&lt;IntPair&gt; pairCaptor = StreamingArgumentCaptor.keepingLast(IntPair.class, 10);
+ * verify(intPairAdder, atLeastOnce()).calculateSum(pairCaptor.capture());
+ * assertThat(pairCaptor.getCount()).isEqualTo(1_000_000);
+ * </pre>
+ * Mockito still records every call of a mock to verify it later. To capture millions of calls without keeping
+ * any of them, capture while stubbing a stub-only mock instead - stubs capture each argument as the call is made:
+ * <pre>
+ * IntPairAdder intPairAdder = mock(IntPairAdder.class, withSettings().stubOnly());
+ * when(intPairAdder.calculateSum(pairCaptor.capture())).thenReturn(8);
+ * </pre>
+ */
+public class StreamingArgumentCaptor<T> implements ArgumentMatcher<T>, CapturesArguments {
+
+    private final Class<? extends T> type;
+    private final Consumer<? super T> consumer;
+    private final Comparator<? super T> comparator;
+
+    // Guarded by this - stubs may capture on several threads at once
+    private final Object[] lastValues;
+    private long count;
+    private T min;
+    private T max;
+
+    private StreamingArgumentCaptor(Class<? extends T> type, int lastValues, Consumer<? super T> consumer,
+            Comparator<? super T> comparator) {
+        this.type = Objects.requireNonNull(type);
+        if (lastValues <= 0) {
+            throw new IllegalArgumentException("Number of values to keep must be positive: " + lastValues);
+        }
+        this.lastValues = new Object[lastValues];
+        this.consumer = consumer;
+        this.comparator = comparator;
+    }
+
+    /**
+     * A captor keeping only the count and the last value.
+     */
+    public static <U, S extends U> StreamingArgumentCaptor<U> forClass(Class<S> type) {
+        return new StreamingArgumentCaptor<>(type, 1, null, null);
+    }
+
+    public static <U, S extends U> StreamingArgumentCaptor<U> keepingLast(Class<S> type, int lastValues) {
+        return new StreamingArgumentCaptor<>(type, lastValues, null, null);
+    }
+
+    /**
+     * A captor handing every value to the consumer as it is captured. The consumer runs on the thread making the
+     * call (when stubbing) or verifying it, while the captor is locked.
+     */
+    public static <U, S extends U> StreamingArgumentCaptor<U> forEach(Class<S> type, Consumer<? super U> consumer) {
+        return new StreamingArgumentCaptor<>(type, 1, Objects.requireNonNull(consumer), null);
+    }
+
+    /**
+     * A captor keeping the smallest and largest values. Null values are counted but not compared.
+     */
+    public static <U, S extends U> StreamingArgumentCaptor<U> keepingMinMax(Class<S> type,
+            Comparator<? super U> comparator) {
+        return new StreamingArgumentCaptor<>(type, 1, null, Objects.requireNonNull(comparator));
+    }
+
+    /**
+     * Use inside verification or stubbing, like {@link ArgumentCaptor#capture()}.
+     */
+    public T capture() {
+        Mockito.argThat(this);
+        return Primitives.defaultValue(type);
+    }
+
+    @Override
+    public boolean matches(T argument) {
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public synchronized void captureFrom(Object argument) {
+        T value = (T) argument;
+        lastValues[(int) (count++ % lastValues.length)] = value;
+        if (comparator != null && value != null) {
+            if (min == null || comparator.compare(value, min) < 0) {
+                min = value;
+            }
+            if (max == null || comparator.compare(value, max) > 0) {
+                max = value;
+            }
+        }
+        if (consumer != null) {
+            consumer.accept(value);
+        }
+    }
+
+    public synchronized long getCount() {
+        return count;
+    }
+
+    /**
+     * The last captured value.
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized T getValue() {
+        if (count == 0) {
+            throw new NoSuchElementException("No argument value was captured");
+        }
+        return (T) lastValues[(int) ((count - 1) % lastValues.length)];
+    }
+
+    /**
+     * The last captured values, oldest first - no more than this captor keeps.
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized List<T> getLastValues() {
+        int size = (int) Math.min(count, lastValues.length);
+        List<T> values = new ArrayList<>(size);
+        for (long i = count - size; i < count; i++) {
+            values.add((T) lastValues[(int) (i % lastValues.length)]);
+        }
+        return values;
+    }
+
+    public synchronized T getMin() {
+        checkComparing();
+        return min;
+    }
+
+    public synchronized T getMax() {
+        checkComparing();
+        return max;
+    }
+
+    private void checkComparing() {
+        if (comparator == null) {
+            throw new IllegalStateException("Create the captor with keepingMinMax() to keep the smallest and largest values");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "<Capturing argument>";
+    }
+}
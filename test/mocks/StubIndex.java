@@ -0,0 +1,88 @@
+package com.att.tlv.training.test.mocks;
+
+import com.att.tlv.training.test.mocks.ArgumentCounts.Arguments;
+import com.att.tlv.training.test.mocks.ProxyMocks.Answer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * The stubs of one method of a {@link ProxyMocks} mock, resolved like Mockito does: the last stub matching the
+ * arguments wins.
+ * <p>
+ * Stubs with exact arguments are kept in a hash table, only the latest one per argument list, so thousands of them
+ * (say, {@code get(i)} for every index of a fixture) resolve in constant time. Stubs with matchers are kept in a list,
+ * latest first. A call takes the exact stub for its arguments, if there is one, and then tries only the matcher stubs
+ * added after it - the first of those that matches is the later stub, and wins.
+ */
+class StubIndex {
+
+    private static final MatcherStub[] NO_MATCHER_STUBS = {};
+
+    private long sequence;
+    private final Map<Arguments, ExactStub> exactStubs = new ConcurrentHashMap<>();
+    // Copied on write - matcher stubs are few, calls are many
+    private volatile MatcherStub[] matcherStubs = NO_MATCHER_STUBS;
+
+    synchronized void addExact(Object[] arguments, Answer answer) {
+        exactStubs.put(new Arguments(arguments), new ExactStub(++sequence, answer));
+    }
+
+    synchronized void addMatching(Predicate<Object>[] matchers, Answer answer) {
+        MatcherStub[] stubs = new MatcherStub[matcherStubs.length + 1];
+        stubs[0] = new MatcherStub(++sequence, matchers, answer);
+        System.arraycopy(matcherStubs, 0, stubs, 1, matcherStubs.length);
+        matcherStubs = stubs;
+    }
+
+    /**
+     * The answer of the latest stub matching the arguments, or null.
+     */
+    Answer find(Object[] arguments) {
+        ExactStub exact = exactStubs.isEmpty() ? null : exactStubs.get(new Arguments(arguments));
+        long exactSequence = exact == null ? 0 : exact.sequence;
+        for (MatcherStub stub : matcherStubs) {
+            if (stub.sequence < exactSequence) {
+                break;
+            }
+            if (stub.matches(arguments)) {
+                return stub.answer;
+            }
+        }
+        return exact == null ? null : exact.answer;
+    }
+
+    private static class ExactStub {
+
+        private final long sequence;
+        private final Answer answer;
+
+        ExactStub(long sequence, Answer answer) {
+            this.sequence = sequence;
+            this.answer = answer;
+        }
+    }
+
+    private static class MatcherStub {
+
+        private final long sequence;
+        private final Predicate<Object>[] matchers;
+        private final Answer answer;
+
+        MatcherStub(long sequence, Predicate<Object>[] matchers, Answer answer) {
+            this.sequence = sequence;
+            this.matchers = matchers;
+            this.answer = answer;
+        }
+
+        boolean matches(Object[] arguments) {
+            for (int i = 0; i < matchers.length; i++) {
+                if (!matchers[i].test(arguments[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.att.tlv.training.test.mocks;
+
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code List.get(int)} stubbed for thousands of exact indices on top of an {@code anyInt()} stub, as in our
+ * fixtures: {@link ProxyMocks}' hashed {@link StubIndex} against Mockito's scan of all stubs, latest first.
+ * <p>
+ * Mockito mocks are stub-only here, so the benchmark calls don't pile up as recorded invocations.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StubLookupBenchmark {
+
+    @Param({"100", "10000"})
+    private int stubs;
+
+    private List<String> proxyMock;
+    private List<String> mockitoMock;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        proxyMock = ProxyMocks.mock(List.class);
+        mockitoMock = Mockito.mock(List.class, Mockito.withSettings().stubOnly());
+        ProxyMocks.when(proxyMock.get(ProxyMocks.anyInt())).thenReturn("any");
+        Mockito.when(mockitoMock.get(Mockito.anyInt())).thenReturn("any");
+        for (int i = 0; i < stubs; i++) {
+            ProxyMocks.when(proxyMock.get(i)).thenReturn("exact " + i);
+            Mockito.when(mockitoMock.get(i)).thenReturn("exact " + i);
+        }
+    }
+
+    @Benchmark
+    public String exactStubOnProxyMock() {
+        return proxyMock.get(ThreadLocalRandom.current().nextInt(stubs));
+    }
+
+    @Benchmark
+    public String exactStubOnMockitoMock() {
+        return mockitoMock.get(ThreadLocalRandom.current().nextInt(stubs));
+    }
+
+    @Benchmark
+    public String matcherFallbackOnProxyMock() {
+        return proxyMock.get(-1);
+    }
+
+    @Benchmark
+    public String matcherFallbackOnMockitoMock() {
+        return mockitoMock.get(-1);
+    }
+}
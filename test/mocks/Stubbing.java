@@ -1,6 +1,8 @@
 package com.att.tlv.training.test.mocks;
 
+import com.att.tlv.training.test.data.NamePool;
 import com.att.tlv.training.test.data.Person;
+import com.att.tlv.training.test.data.PooledPerson;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
@@ -28,6 +30,9 @@ public class Stubbing {
     private List<String> strings;
     @Mock
     private List<Person> persons;
+    private final NamePool names = new NamePool();
+    // Resolved once, so matching a person from the pool is an int comparison
+    private final int johnHandle = names.intern("John");
     
     @Test
     public void basicStubbing() {
@@ -86,6 +91,9 @@ public class Stubbing {
         when(persons.add(argThat(this::isJohn))).thenReturn(true);
         Person john = new Person(123, "John", 30, 1.88);
         assertThat(persons.add(john)).isTrue();
+        // Pooled names are matched without creating a String
+        Person pooledJohn = new PooledPerson(names, 124, "John", 30, 1.88);
+        assertThat(persons.add(pooledJohn)).isTrue();
         
         // Argument matching with more than one argument:
         when(strings.set(5, "a")).thenReturn("b");
@@ -102,7 +110,10 @@ public class Stubbing {
     }
     
     private boolean isJohn(Person person) {
-        return "John".equals(person.getName());
+        if (person instanceof PooledPerson && ((PooledPerson) person).getNamePool() == names) {
+            return ((PooledPerson) person).getNameHandle() == johnHandle;
+        }
+        return person.hasName("John");
     }
     
     @Test
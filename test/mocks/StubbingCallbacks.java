@@ -84,9 +84,3 @@ public class StubbingCallbacks {
         assertThat(dummyClass.dummyMethod()).isSameAs(someList);
     }
 }
-
-class DummyClass {
-    public List<? extends Number> dummyMethod() {
-        return new ArrayList<Integer>();
-    }
-}